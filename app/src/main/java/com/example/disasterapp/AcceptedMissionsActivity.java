@@ -19,7 +19,9 @@ import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class AcceptedMissionsActivity extends AppCompatActivity {
 
@@ -29,13 +31,11 @@ public class AcceptedMissionsActivity extends AppCompatActivity {
     private TextView backButton;
 
     private FirebaseAuth mAuth;
-    private DatabaseReference volunteersRef, emergenciesRef;
+    private DatabaseReference volunteersRef;
     private String userId;
 
     private List<EmergencyRequest> acceptedMissions;
     private EmergencyAdapter adapter;
-    private int totalMissions = 0;
-    private int loadedMissions = 0;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -54,7 +54,6 @@ public class AcceptedMissionsActivity extends AppCompatActivity {
 
         userId = currentUser.getUid();
         volunteersRef = FirebaseDatabase.getInstance().getReference("Volunteers");
-        emergenciesRef = FirebaseDatabase.getInstance().getReference("emergencies"); // Fixed: lowercase
 
         // Initialize views
         missionsRecyclerView = findViewById(R.id.acceptedMissionsRecyclerView);
@@ -92,20 +91,14 @@ public class AcceptedMissionsActivity extends AppCompatActivity {
                             return;
                         }
 
-                        totalMissions = (int) dataSnapshot.getChildrenCount();
-                        loadedMissions = 0;
-
+                        Set<String> emergencyIds = new HashSet<>();
                         for (DataSnapshot missionSnapshot : dataSnapshot.getChildren()) {
                             String emergencyId = missionSnapshot.child("emergencyId").getValue(String.class);
-
-                            // Fetch full emergency details from emergencies node (lowercase)
                             if (emergencyId != null) {
-                                loadFullEmergencyDetails(emergencyId);
-                            } else {
-                                loadedMissions++;
-                                checkIfAllLoaded();
+                                emergencyIds.add(emergencyId);
                             }
                         }
+                        loadFullEmergencyDetails(emergencyIds);
                     }
 
                     @Override
@@ -118,64 +111,39 @@ public class AcceptedMissionsActivity extends AppCompatActivity {
                 });
     }
 
-    private void loadFullEmergencyDetails(String emergencyId) {
-        emergenciesRef.child(emergencyId).addListenerForSingleValueEvent(new ValueEventListener() {
+    private void loadFullEmergencyDetails(Set<String> emergencyIds) {
+        // Picked out of the shared emergencies repository rather than read one by one,
+        // and kept up to date while the screen is open
+        DisasterApp.observeEmergencies(this, new EmergencyRepository.Observer() {
             @Override
-            public void onDataChange(DataSnapshot snapshot) {
-                if (snapshot.exists()) {
-                    // Based on your Firebase structure (from screenshot)
-                    String type = snapshot.child("type").getValue(String.class);
-                    String location = snapshot.child("location").getValue(String.class);
-                    String urgency = snapshot.child("urgency").getValue(String.class);
-                    String description = snapshot.child("description").getValue(String.class);
-                    String volunteers = snapshot.child("volunteers").getValue(String.class);
-                    String requiredSkills = snapshot.child("requiredSkills").getValue(String.class);
-                    String dateTime = snapshot.child("dateTime").getValue(String.class);
-
-                    // Debug logging
-                    android.util.Log.d("AcceptedMissions", "Emergency ID: " + emergencyId);
-                    android.util.Log.d("AcceptedMissions", "Type: " + type);
-                    android.util.Log.d("AcceptedMissions", "Location: " + location);
-                    android.util.Log.d("AcceptedMissions", "Urgency: " + urgency);
-
-                    // Create EmergencyRequest with full details
-                    EmergencyRequest request = new EmergencyRequest();
-                    request.setId(emergencyId);
-                    request.setType(type);
-                    request.setLocation(location);
-                    request.setUrgency(urgency);
-                    request.setDescription(description);
-                    request.setVolunteers(volunteers);
-                    request.setRequiredSkills(requiredSkills);
-                    request.setDateTime(dateTime);
-
-                    acceptedMissions.add(request);
-                } else {
-                    android.util.Log.e("AcceptedMissions", "Emergency not found: " + emergencyId);
+            public void onEmergencies(List<EmergencyRequest> emergencies) {
+                List<EmergencyRequest> missions = new ArrayList<>();
+                for (EmergencyRequest emergency : emergencies) {
+                    if (emergencyIds.contains(emergency.getId())) {
+                        missions.add(emergency);
+                    }
                 }
-
-                loadedMissions++;
-                checkIfAllLoaded();
-            }
-
-            @Override
-            public void onCancelled(DatabaseError error) {
-                android.util.Log.e("AcceptedMissions", "Error loading emergency: " + error.getMessage());
-                loadedMissions++;
-                checkIfAllLoaded();
+                if (missions.size() < emergencyIds.size()) {
+                    android.util.Log.e("AcceptedMissions", (emergencyIds.size() - missions.size())
+                            + " accepted emergencies not found");
+                }
+                DisasterApp.getPipeline().postToUi(() -> {
+                    if (!isDestroyed()) {
+                        showAcceptedMissions(missions);
+                    }
+                });
             }
         });
     }
 
-    private void checkIfAllLoaded() {
-        if (loadedMissions >= totalMissions) {
-            progressBar.setVisibility(View.GONE);
-
-            if (acceptedMissions.isEmpty()) {
-                showEmptyState();
-            } else {
-                showMissions();
-            }
+    private void showAcceptedMissions(List<EmergencyRequest> missions) {
+        progressBar.setVisibility(View.GONE);
+        acceptedMissions.clear();
+        acceptedMissions.addAll(missions);
+        if (acceptedMissions.isEmpty()) {
+            showEmptyState();
+        } else {
+            showMissions();
         }
     }
 
@@ -0,0 +1,19 @@
+package com.example.disasterapp;
+
+import android.util.Log;
+
+/**
+ * Routes matching-core log output to Logcat
+ */
+public class AndroidMatcherLog implements MatcherLog {
+
+    @Override
+    public void debug(String tag, String message) {
+        Log.d(tag, message);
+    }
+
+    @Override
+    public void error(String tag, String message) {
+        Log.e(tag, message);
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.disasterapp;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.Transaction;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Aggregate counts kept next to the data they count, so screens read one
+ * number instead of downloading and scanning children.
+ *
+ * Writers change a counter with increment() in the same multi-path
+ * updateChildren as the data it counts, right away and offline too, so the
+ * two never drift apart. Data written before a counter existed is added to
+ * it separately, once: a reader that finds the counter's seeded flag missing
+ * calls the seed, which counts only the legacy items not yet counted, marks
+ * them and sets the flag in one write. New items are written marked, so the
+ * seed and the writers never count the same item twice; the database rules
+ * reject a seed racing another one.
+ */
+public final class Counters {
+
+    private static final String TAG = "Counters";
+
+    // Volunteers whose isAvailable is true or unset, from the database root
+    public static final String AVAILABLE_VOLUNTEERS = "counters/availableVolunteers";
+    public static final String AVAILABLE_VOLUNTEERS_SEEDED = "counters/availableVolunteersSeeded";
+    // Under Volunteers/{userId}: this volunteer is included in AVAILABLE_VOLUNTEERS
+    public static final String AVAILABLE_COUNTED = "availableCounted";
+
+    // Posts by the volunteer, under Volunteers/{userId}; counted posts carry Update.isCounted()
+    public static final String UPDATES_COUNT = "updatesCount";
+    public static final String UPDATES_COUNT_SEEDED = "updatesCountSeeded";
+
+    // Children of assignedVolunteers, under emergencies/{emergencyId}
+    public static final String ASSIGNED_COUNT = "assignedCount";
+    public static final String ASSIGNED_COUNT_SEEDED = "assignedCountSeeded";
+
+    private Counters() {
+    }
+
+    /**
+     * Value for an updateChildren path that adds delta on the server
+     */
+    public static Object increment(long delta) {
+        return ServerValue.increment(delta);
+    }
+
+    /**
+     * Add the volunteers from before the counter, whose isAvailable is true
+     * or unset, to AVAILABLE_VOLUNTEERS, unless that was done already
+     */
+    public static void seedAvailableVolunteers(DatabaseReference root) {
+        unlessSeeded(root.child(AVAILABLE_VOLUNTEERS_SEEDED), () -> root.child("Volunteers").get()
+                .continueWith(DisasterApp.getPipeline()::execute, task -> {
+                    Map<String, Object> seed = new HashMap<>();
+                    long available = 0;
+                    for (DataSnapshot volunteer : task.getResult().getChildren()) {
+                        if (volunteer.hasChild(AVAILABLE_COUNTED)) {
+                            continue;
+                        }
+                        // Unset means available, as on records from before the toggle
+                        Boolean isAvailable = volunteer.child("isAvailable").getValue(Boolean.class);
+                        if (isAvailable == null || isAvailable) {
+                            available++;
+                        }
+                        seed.put("Volunteers/" + volunteer.getKey() + "/" + AVAILABLE_COUNTED, true);
+                    }
+                    write(root, seed, AVAILABLE_VOLUNTEERS, AVAILABLE_VOLUNTEERS_SEEDED, available);
+                    return null;
+                })
+                .addOnFailureListener(e -> failed(AVAILABLE_VOLUNTEERS, e)));
+    }
+
+    /**
+     * Add the volunteer's posts from before the counter to their
+     * UPDATES_COUNT, unless that was done already: those carrying their
+     * userId, plus older ones without a userId that match their name (both
+     * queries indexed)
+     */
+    public static void seedUpdates(DatabaseReference root, String userId) {
+        String volunteer = "Volunteers/" + userId + "/";
+        unlessSeeded(root.child(volunteer + UPDATES_COUNT_SEEDED), () -> {
+            Query updates = root.child("updates");
+            Task<DataSnapshot> byId = updates.orderByChild("userId").equalTo(userId).get();
+            Task<DataSnapshot> byName = root.child(volunteer + "fullName").get()
+                    .continueWithTask(task -> {
+                        String name = task.getResult().getValue(String.class);
+                        return name != null ? updates.orderByChild("userName").equalTo(name).get()
+                                : Tasks.<DataSnapshot>forResult(null);
+                    });
+            Tasks.whenAllSuccess(byId, byName).addOnSuccessListener(results -> {
+                Map<String, Object> seed = new HashMap<>();
+                markUncounted(byId.getResult(), true, seed);
+                markUncounted(byName.getResult(), false, seed);
+                write(root, seed, volunteer + UPDATES_COUNT, volunteer + UPDATES_COUNT_SEEDED, seed.size());
+            }).addOnFailureListener(e -> failed(UPDATES_COUNT, e));
+        });
+    }
+
+    /**
+     * Set the emergency's ASSIGNED_COUNT to its assigned volunteers, unless
+     * that was done already. Increments made before this are overwritten:
+     * the count includes their assignments.
+     */
+    public static void seedAssigned(DatabaseReference emergency) {
+        unlessSeeded(emergency.child(ASSIGNED_COUNT_SEEDED), () -> emergency.runTransaction(new Transaction.Handler() {
+            @NonNull
+            @Override
+            public Transaction.Result doTransaction(@NonNull MutableData current) {
+                if (current.getValue() == null) {
+                    // Not cached yet; the server sends the real value and this runs again
+                    return Transaction.success(current);
+                }
+                if (current.hasChild(ASSIGNED_COUNT_SEEDED)) {
+                    return Transaction.abort();
+                }
+                current.child(ASSIGNED_COUNT).setValue(current.child("assignedVolunteers").getChildrenCount());
+                current.child(ASSIGNED_COUNT_SEEDED).setValue(true);
+                return Transaction.success(current);
+            }
+
+            @Override
+            public void onComplete(DatabaseError error, boolean committed, DataSnapshot snapshot) {
+                if (error != null) {
+                    failed(ASSIGNED_COUNT, error.toException());
+                }
+            }
+        }));
+    }
+
+    /**
+     * Run seed if the flag isn't set; get() asks the server when online, so a
+     * stale cache doesn't start a seed that was done elsewhere
+     */
+    private static void unlessSeeded(DatabaseReference flag, Runnable seed) {
+        flag.get().addOnSuccessListener(snapshot -> {
+            if (!snapshot.exists()) {
+                seed.run();
+            }
+        }).addOnFailureListener(e -> failed(flag.getKey(), e));
+    }
+
+    /**
+     * Mark the posts not counted yet; by name, only those without a userId
+     */
+    private static void markUncounted(DataSnapshot posts, boolean byId, Map<String, Object> seed) {
+        if (posts == null) {
+            return;
+        }
+        for (DataSnapshot post : posts.getChildren()) {
+            if (!post.hasChild("counted") && (byId || !post.hasChild("userId"))) {
+                seed.put("updates/" + post.getKey() + "/counted", true);
+            }
+        }
+    }
+
+    /**
+     * The seed's markers, the legacy count and the seeded flag in one write,
+     * which the rules reject whole if another seed got there first
+     */
+    private static void write(DatabaseReference root, Map<String, Object> seed,
+                              String counter, String flag, long legacy) {
+        if (legacy != 0) {
+            seed.put(counter, increment(legacy));
+        }
+        seed.put(flag, true);
+        root.updateChildren(seed).addOnFailureListener(e -> failed(counter, e));
+    }
+
+    private static void failed(String counter, Exception e) {
+        Log.e(TAG, "Could not seed " + counter + ": " + e.getMessage());
+    }
+}
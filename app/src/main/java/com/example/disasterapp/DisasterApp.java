@@ -0,0 +1,292 @@
+package com.example.disasterapp;
+
+import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class DisasterApp extends Application {
+
+    private static final String TAG = "DisasterApp";
+
+    // How many volunteers are alerted about a new emergency, and how good a match they must be
+    private static final int ALERT_FAN_OUT = 20;
+    private static final double MIN_ALERT_SCORE = 50.0;
+
+    // Lives as long as the process, so reopening the matches screen reuses scores
+    private static final ScoreCache scoreCache = new ScoreCache();
+
+    // Parsing and matching run here, off the main thread; results come back via the main looper
+    private static final BackgroundPipeline pipeline =
+            new BackgroundPipeline(new Handler(Looper.getMainLooper())::post);
+
+    // The signed-in volunteer's profile as last loaded; main thread only
+    private static Volunteer lastProfile;
+
+    public static ScoreCache getScoreCache() {
+        return scoreCache;
+    }
+
+    /**
+     * Give a freshly loaded profile the version of the last one, bumped if a
+     * scored field changed since, so the score cache misses only after real edits
+     */
+    public static void versionProfile(Volunteer loaded) {
+        Volunteer previous = lastProfile;
+        if (previous != null && Objects.equals(previous.getUserId(), loaded.getUserId())) {
+            loaded.withVersion(previous.sameScoredFields(loaded)
+                    ? previous.version() : previous.version() + 1);
+        }
+        lastProfile = loaded;
+    }
+
+    // One shared /emergencies subscription for every screen; only touched on the pipeline worker
+    private static final EmergencyRepository emergencyRepository =
+            new EmergencyRepository(new FirebaseEmergencySource(pipeline), pipeline::schedule);
+
+    // Whether the database connection is up, null until the first .info/connected event;
+    // writes made while it is down wait in the disk queue
+    private static volatile Boolean connected;
+
+    // Writes whenSaved hasn't reported yet, waiting on the server or a disconnect; main thread only
+    private static final Set<PendingWrite> unreported = new HashSet<>();
+
+    private static DisasterApp instance;
+
+    public static BackgroundPipeline getPipeline() {
+        return pipeline;
+    }
+
+    /**
+     * Observe /emergencies until the owner is destroyed. The observer is
+     * called on the pipeline worker and should post what it shows to the UI.
+     */
+    public static void observeEmergencies(LifecycleOwner owner, EmergencyRepository.Observer observer) {
+        observeEmergencies(observer);
+        owner.getLifecycle().addObserver(new DefaultLifecycleObserver() {
+            @Override
+            public void onDestroy(@NonNull LifecycleOwner source) {
+                stopObservingEmergencies(observer);
+            }
+        });
+    }
+
+    /**
+     * Observe /emergencies until stopObservingEmergencies; called on the pipeline worker
+     */
+    public static void observeEmergencies(EmergencyRepository.Observer observer) {
+        pipeline.execute(() -> emergencyRepository.subscribe(observer));
+    }
+
+    /**
+     * Observe /emergencies for one volunteer: a replay from memory skips
+     * emergencies outside their radius. Called on the pipeline worker.
+     */
+    public static void observeEmergencies(EmergencyRepository.Observer observer, Volunteer near) {
+        pipeline.execute(() -> emergencyRepository.subscribe(observer, near));
+    }
+
+    public static void stopObservingEmergencies(EmergencyRepository.Observer observer) {
+        pipeline.execute(() -> emergencyRepository.unsubscribe(observer));
+    }
+
+    public static boolean isConnected() {
+        return Boolean.TRUE.equals(connected);
+    }
+
+    /**
+     * Report a database write as saved once it can no longer be lost. While
+     * offline that is at once: the write waits in the on-disk queue, survives
+     * a restart and is sent on reconnect. Online, or before the connection
+     * state is known, it is when the server confirms it, or as queued if the
+     * connection turns out to be down first. onSaved is told whether the
+     * write is still queued. Call on the main thread.
+     */
+    public static void whenSaved(Task<Void> write, Consumer<Boolean> onSaved, Consumer<Exception> onFailed) {
+        PendingWrite pending = new PendingWrite(onSaved, onFailed);
+        if (Boolean.FALSE.equals(connected)) {
+            pending.queued();
+        } else {
+            unreported.add(pending);
+        }
+        write.addOnSuccessListener(aVoid -> pending.saved()).addOnFailureListener(pending::failed);
+    }
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        instance = this;
+
+        // Keep everything the app has synced on disk, and queue writes there, so screens
+        // open from the last known data without a network and offline writes survive
+        // process death. Must come before any other use of the database.
+        FirebaseDatabase.getInstance().setPersistenceEnabled(true);
+        watchConnection();
+
+        // The matching core is plain Java; give it Logcat
+        MatcherLog.install(new AndroidMatcherLog());
+
+        listenForScoringRules();
+    }
+
+    private void watchConnection() {
+        FirebaseDatabase.getInstance().getReference(".info/connected")
+                .addValueEventListener(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot snapshot) {
+                        boolean up = Boolean.TRUE.equals(snapshot.getValue(Boolean.class));
+                        connected = up;
+                        Log.d(TAG, up ? "Database connected" : "Database offline");
+                        if (!up) {
+                            // Writes still waiting on the server now wait in the disk queue
+                            for (PendingWrite pending : new ArrayList<>(unreported)) {
+                                pending.queued();
+                            }
+                        }
+                    }
+
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError error) {
+                        Log.e(TAG, "Connection state unavailable: " + error.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * Coordinators can retune scoring by editing /scoringRules; until a valid
+     * set arrives the bundled defaults apply. Removing the node restores them.
+     */
+    private void listenForScoringRules() {
+        FirebaseDatabase.getInstance().getReference("scoringRules")
+                .addValueEventListener(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot snapshot) {
+                        Object value = snapshot.getValue();
+                        if (!(value instanceof Map)) {
+                            ScoringRules.install(null);
+                            return;
+                        }
+                        try {
+                            ScoringRules rules = ScoringRules.fromMap((Map<?, ?>) value);
+                            ScoringRules.install(rules);
+                            Log.d(TAG, "Installed scoring rules version " + rules.getVersion());
+                        } catch (IllegalArgumentException e) {
+                            // Keep scoring with the current rules
+                            Log.e(TAG, "Ignoring invalid scoring rules: " + e.getMessage());
+                        }
+                    }
+
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError error) {
+                        Log.e(TAG, "Scoring rules unavailable: " + error.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * Rank volunteers for a newly submitted emergency and write an alert under
+     * /alerts/{userId}/{emergencyId} for each of the best ones. Reads the
+     * available match profiles once, fresh from the server when online, so
+     * the ranking never runs against a half-loaded or stale set.
+     */
+    public static void alertVolunteers(EmergencyRequest emergency) {
+        FirebaseDatabase.getInstance().getReference(MatchProfiles.PATH)
+                .orderByChild(MatchProfiles.AVAILABLE).equalTo(true)
+                .get()
+                .addOnSuccessListener(profiles -> pipeline.execute(() -> alertVolunteers(emergency, profiles)))
+                .addOnFailureListener(e -> Log.e(TAG, "No volunteers alerted about "
+                        + emergency.getId() + ": " + e.getMessage()));
+    }
+
+    private static void alertVolunteers(EmergencyRequest emergency, DataSnapshot profiles) {
+        List<Volunteer> volunteers = new ArrayList<>();
+        for (DataSnapshot profile : profiles.getChildren()) {
+            Volunteer volunteer = profile.getValue(Volunteer.class);
+            if (volunteer != null) {
+                volunteer.setUserId(profile.getKey());
+                volunteer.locateFromServiceArea();
+                volunteers.add(volunteer);
+            }
+        }
+        // Nobody is alerted about an emergency their weekly windows rule out
+        List<Volunteer> free = AvailabilityIndex.ofVolunteers(volunteers)
+                .availableFor(emergency.timeWindow());
+        VolunteerIndex index = VolunteerIndex.build(free);
+        List<EmergencyMatcher.VolunteerMatch> top = EmergencyMatcher.topVolunteers(
+                emergency, index, ALERT_FAN_OUT, MIN_ALERT_SCORE);
+        Log.d(TAG, "Alerting " + top.size() + " of " + index.size() + " free of "
+                + volunteers.size() + " available volunteers about " + emergency.getId());
+        if (top.isEmpty()) {
+            return;
+        }
+
+        // One multi-path update, so every alert lands or none do
+        Map<String, Object> alerts = new HashMap<>();
+        for (EmergencyMatcher.VolunteerMatch match : top) {
+            alerts.put(match.getVolunteer().getUserId() + "/" + emergency.getId(),
+                    Math.round(match.getScore()));
+        }
+        DatabaseReference alertsRef = FirebaseDatabase.getInstance().getReference("alerts");
+        alertsRef.updateChildren(alerts);
+    }
+
+    /**
+     * One write passed to whenSaved, reported once as saved or queued
+     */
+    private static final class PendingWrite {
+        private final Consumer<Boolean> onSaved;
+        private final Consumer<Exception> onFailed;
+        private boolean queued;
+
+        PendingWrite(Consumer<Boolean> onSaved, Consumer<Exception> onFailed) {
+            this.onSaved = onSaved;
+            this.onFailed = onFailed;
+        }
+
+        void queued() {
+            unreported.remove(this);
+            queued = true;
+            onSaved.accept(true);
+        }
+
+        void saved() {
+            if (unreported.remove(this)) {
+                onSaved.accept(false);
+            }
+        }
+
+        void failed(Exception e) {
+            unreported.remove(this);
+            if (!queued) {
+                onFailed.accept(e);
+                return;
+            }
+            // The screen that made it has moved on and the local copy is already
+            // rolled back, so say so app-wide
+            Log.e(TAG, "Queued write rejected: " + e.getMessage());
+            Toast.makeText(instance, "A change made offline could not be saved: " + e.getMessage(),
+                    Toast.LENGTH_LONG).show();
+        }
+    }
+}
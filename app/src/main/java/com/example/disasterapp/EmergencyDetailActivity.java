@@ -34,7 +34,7 @@ public class EmergencyDetailActivity extends AppCompatActivity {
     private TextView backButton;
 
     private FirebaseAuth mAuth;
-    private DatabaseReference emergenciesRef, volunteersRef;
+    private DatabaseReference rootRef, emergenciesRef, volunteersRef;
     private String emergencyId;
     private String userId;
     private int currentAssigned = 0;
@@ -55,6 +55,7 @@ public class EmergencyDetailActivity extends AppCompatActivity {
         }
 
         userId = currentUser.getUid();
+        rootRef = FirebaseDatabase.getInstance().getReference();
         emergenciesRef = FirebaseDatabase.getInstance().getReference("emergencies"); // Fixed: lowercase
         volunteersRef = FirebaseDatabase.getInstance().getReference("Volunteers");
 
@@ -119,16 +120,15 @@ public class EmergencyDetailActivity extends AppCompatActivity {
 
     private void loadAssignedCount() {
         if (emergencyId != null) {
-            emergenciesRef.child(emergencyId).child("assignedVolunteers")
+            // Accepted before the counter existed; the listener below sees the seed
+            Counters.seedAssigned(emergenciesRef.child(emergencyId));
+            // A single number maintained by accept/unaccept, not the assigned list itself
+            emergenciesRef.child(emergencyId).child(Counters.ASSIGNED_COUNT)
                     .addValueEventListener(new ValueEventListener() {
                         @Override
                         public void onDataChange(DataSnapshot dataSnapshot) {
-                            currentAssigned = 0;
-                            if (dataSnapshot.exists()) {
-                                for (DataSnapshot volunteer : dataSnapshot.getChildren()) {
-                                    currentAssigned++;
-                                }
-                            }
+                            Long count = dataSnapshot.getValue(Long.class);
+                            currentAssigned = count != null ? count.intValue() : 0;
                             assignedTextView.setText("Currently Assigned: " + currentAssigned);
                         }
 
@@ -193,35 +193,25 @@ public class EmergencyDetailActivity extends AppCompatActivity {
         volunteerData.put("userId", userId);
         volunteerData.put("acceptedAt", timestamp);
 
-        // Update volunteer's accepted missions
-        volunteersRef.child(userId).child("acceptedMissions").child(emergencyId)
-                .setValue(missionData)
-                .addOnSuccessListener(aVoid -> {
-                    // Update emergency's assigned volunteers
-                    emergenciesRef.child(emergencyId).child("assignedVolunteers").child(userId)
-                            .setValue(volunteerData)
-                            .addOnSuccessListener(aVoid2 -> {
-                                // Increment mission count
-                                incrementMissionCount();
-
-                                Toast.makeText(this, "Mission accepted successfully!", Toast.LENGTH_SHORT).show();
-                                acceptButton.setText("Unaccept Mission");
-                                acceptButton.setBackgroundTintList(ColorStateList.valueOf(
-                                        getResources().getColor(android.R.color.holo_orange_dark)));
-
-                                // Enable button and change to unaccept functionality
-                                acceptButton.setEnabled(true);
-                                acceptButton.setOnClickListener(v -> unacceptMission());
-                            })
-                            .addOnFailureListener(e -> {
-                                acceptButton.setEnabled(true);
-                                Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                            });
-                })
-                .addOnFailureListener(e -> {
-                    acceptButton.setEnabled(true);
-                    Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                });
+        // One atomic write: both sides of the assignment and the counters that count them.
+        // Offline it is queued on disk and sent on reconnect.
+        Map<String, Object> accept = new HashMap<>();
+        accept.put("Volunteers/" + userId + "/acceptedMissions/" + emergencyId, missionData);
+        accept.put("Volunteers/" + userId + "/missionsCompleted", Counters.increment(1));
+        accept.put("emergencies/" + emergencyId + "/assignedVolunteers/" + userId, volunteerData);
+        accept.put("emergencies/" + emergencyId + "/" + Counters.ASSIGNED_COUNT, Counters.increment(1));
+        // The rules reject it if this volunteer is already assigned, so nothing is counted twice
+        DisasterApp.whenSaved(rootRef.updateChildren(accept), queued -> {
+            Toast.makeText(this, queued ? "Mission accepted, it will sync when back online"
+                    : "Mission accepted successfully!", Toast.LENGTH_SHORT).show();
+            acceptButton.setText("Unaccept Mission");
+            acceptButton.setBackgroundTintList(ColorStateList.valueOf(
+                    getResources().getColor(android.R.color.holo_orange_dark)));
+
+            // Enable button and change to unaccept functionality
+            acceptButton.setEnabled(true);
+            acceptButton.setOnClickListener(v -> unacceptMission());
+        }, this::onWriteFailed);
     }
 
     private void unacceptMission() {
@@ -233,82 +223,33 @@ public class EmergencyDetailActivity extends AppCompatActivity {
         // Disable button to prevent multiple clicks
         acceptButton.setEnabled(false);
 
-        // Remove mission from volunteer's accepted missions
-        volunteersRef.child(userId).child("acceptedMissions").child(emergencyId)
-                .removeValue()
-                .addOnSuccessListener(aVoid -> {
-                    // Remove volunteer from emergency's assigned volunteers
-                    emergenciesRef.child(emergencyId).child("assignedVolunteers").child(userId)
-                            .removeValue()
-                            .addOnSuccessListener(aVoid2 -> {
-                                // Decrement mission count
-                                decrementMissionCount();
-
-                                Toast.makeText(this, "Mission unaccepted successfully!", Toast.LENGTH_SHORT).show();
-
-                                // Reset button to original state
-                                acceptButton.setEnabled(true);
-                                acceptButton.setText("Accept Mission");
-                                acceptButton.setBackgroundTintList(ColorStateList.valueOf(
-                                        getResources().getColor(R.color.button_blue)));
-
-                                // Reset click listener to accept
-                                String emergencyType = getIntent().getStringExtra("emergencyType");
-                                String location = getIntent().getStringExtra("location");
-                                String urgency = getIntent().getStringExtra("urgency");
-                                acceptButton.setOnClickListener(v -> acceptMission(emergencyType, location, urgency));
-                            })
-                            .addOnFailureListener(e -> {
-                                acceptButton.setEnabled(true);
-                                Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                            });
-                })
-                .addOnFailureListener(e -> {
-                    acceptButton.setEnabled(true);
-                    Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                });
-    }
-
-    private void incrementMissionCount() {
-        volunteersRef.child(userId).child("missionsCompleted")
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        int currentCount = 0;
-                        if (dataSnapshot.exists()) {
-                            Long count = dataSnapshot.getValue(Long.class);
-                            currentCount = count != null ? count.intValue() : 0;
-                        }
-                        volunteersRef.child(userId).child("missionsCompleted").setValue(currentCount + 1);
-                    }
-
-                    @Override
-                    public void onCancelled(DatabaseError databaseError) {
-                        // Handle error
-                    }
-                });
+        // One atomic write, mirroring acceptMission; rejected if this volunteer isn't assigned
+        Map<String, Object> unaccept = new HashMap<>();
+        unaccept.put("Volunteers/" + userId + "/acceptedMissions/" + emergencyId, null);
+        unaccept.put("Volunteers/" + userId + "/missionsCompleted", Counters.increment(-1));
+        unaccept.put("emergencies/" + emergencyId + "/assignedVolunteers/" + userId, null);
+        unaccept.put("emergencies/" + emergencyId + "/" + Counters.ASSIGNED_COUNT, Counters.increment(-1));
+        DisasterApp.whenSaved(rootRef.updateChildren(unaccept), queued -> {
+            Toast.makeText(this, queued ? "Mission unaccepted, it will sync when back online"
+                    : "Mission unaccepted successfully!", Toast.LENGTH_SHORT).show();
+
+            // Reset button to original state
+            acceptButton.setEnabled(true);
+            acceptButton.setText("Accept Mission");
+            acceptButton.setBackgroundTintList(ColorStateList.valueOf(
+                    getResources().getColor(R.color.button_blue)));
+
+            // Reset click listener to accept
+            String emergencyType = getIntent().getStringExtra("emergencyType");
+            String location = getIntent().getStringExtra("location");
+            String urgency = getIntent().getStringExtra("urgency");
+            acceptButton.setOnClickListener(v -> acceptMission(emergencyType, location, urgency));
+        }, this::onWriteFailed);
     }
 
-    private void decrementMissionCount() {
-        volunteersRef.child(userId).child("missionsCompleted")
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        int currentCount = 0;
-                        if (dataSnapshot.exists()) {
-                            Long count = dataSnapshot.getValue(Long.class);
-                            currentCount = count != null ? count.intValue() : 0;
-                        }
-                        // Ensure count doesn't go below 0
-                        int newCount = Math.max(0, currentCount - 1);
-                        volunteersRef.child(userId).child("missionsCompleted").setValue(newCount);
-                    }
-
-                    @Override
-                    public void onCancelled(DatabaseError databaseError) {
-                        // Handle error
-                    }
-                });
+    private void onWriteFailed(Exception e) {
+        acceptButton.setEnabled(true);
+        Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_SHORT).show();
     }
 
     private void setUrgencyColor(String urgency) {
@@ -0,0 +1,99 @@
+package com.example.disasterapp;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+
+/**
+ * Feeds /emergencies into the EmergencyRepository. Callbacks arrive on the
+ * main thread and are handed straight to the pipeline worker, which parses
+ * each child and owns the repository.
+ */
+public class FirebaseEmergencySource implements EmergencyRepository.Source {
+
+    private static final String TAG = "EmergencySource";
+
+    private final BackgroundPipeline pipeline;
+    private DatabaseReference emergenciesRef;
+    private ChildEventListener listener;
+
+    public FirebaseEmergencySource(BackgroundPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    @Override
+    public void attach(EmergencyRepository.Sink sink) {
+        if (emergenciesRef == null) {
+            emergenciesRef = FirebaseDatabase.getInstance().getReference("emergencies");
+        }
+        listener = new ChildEventListener() {
+            @Override
+            public void onChildAdded(@NonNull DataSnapshot snapshot, String previousChildName) {
+                pipeline.execute(() -> deliver(sink, snapshot));
+            }
+
+            @Override
+            public void onChildChanged(@NonNull DataSnapshot snapshot, String previousChildName) {
+                pipeline.execute(() -> deliver(sink, snapshot));
+            }
+
+            @Override
+            public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+                pipeline.execute(() -> sink.onChildRemoved(snapshot.getKey()));
+            }
+
+            @Override
+            public void onChildMoved(@NonNull DataSnapshot snapshot, String previousChildName) {
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Log.e(TAG, "Emergencies unavailable: " + error.getMessage());
+            }
+        };
+        emergenciesRef.addChildEventListener(listener);
+
+        // Fires once after the initial children, from the same cached data, so it costs no download
+        emergenciesRef.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                pipeline.execute(sink::onLoaded);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Log.e(TAG, "Emergencies unavailable: " + error.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void detach() {
+        if (listener != null) {
+            emergenciesRef.removeEventListener(listener);
+            listener = null;
+        }
+    }
+
+    /**
+     * Runs on the pipeline worker
+     */
+    private static void deliver(EmergencyRepository.Sink sink, DataSnapshot data) {
+        try {
+            EmergencyRequest emergency = data.getValue(EmergencyRequest.class);
+            if (emergency != null) {
+                emergency.setId(data.getKey());
+                sink.onChildChanged(emergency);
+            }
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Error parsing emergency " + data.getKey() + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.disasterapp;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Asks for the next page once the list is scrolled within a few rows of its end.
+ * Fires on every scroll near the end, so the callback must ignore repeats
+ * (FeedPager.beginOlderPage does).
+ */
+public class LoadMoreScrollListener extends RecyclerView.OnScrollListener {
+
+    private static final int THRESHOLD_ROWS = 5;
+
+    private final LinearLayoutManager layoutManager;
+    private final Runnable loadMore;
+
+    public LoadMoreScrollListener(LinearLayoutManager layoutManager, Runnable loadMore) {
+        this.layoutManager = layoutManager;
+        this.loadMore = loadMore;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        if (dy <= 0) {
+            return;
+        }
+        int lastVisible = layoutManager.findLastVisibleItemPosition();
+        if (lastVisible >= layoutManager.getItemCount() - THRESHOLD_ROWS) {
+            loadMore.run();
+        }
+    }
+}
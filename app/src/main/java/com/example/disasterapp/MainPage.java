@@ -33,14 +33,15 @@ public class MainPage extends AppCompatActivity {
 
     private RecyclerView recyclerView;
     private EmergencyAdapter adapter;
-    private DatabaseReference emergenciesDatabase;
-    private DatabaseReference volunteersDatabase;
+    private DatabaseReference availableCounter;
+    private ValueEventListener availableListener;
     private List<EmergencyRequest> emergencyList;
     private List<EmergencyRequest> originalEmergencyList;
     private EditText searchEditText;
     private TextView activeAlertsCount, volunteersActiveCount;
     private LinearLayout viewMatchedButton; // Changed from Button to LinearLayout
     private String currentSearchQuery = "";
+    private BackgroundPipeline.Channel<List<EmergencyRequest>> emergenciesChannel;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -49,8 +50,7 @@ public class MainPage extends AppCompatActivity {
         setContentView(R.layout.activity_main_page);
 
         // Initialize Firebase
-        emergenciesDatabase = FirebaseDatabase.getInstance().getReference("emergencies");
-        volunteersDatabase = FirebaseDatabase.getInstance().getReference("Volunteers");
+        availableCounter = FirebaseDatabase.getInstance().getReference(Counters.AVAILABLE_VOLUNTEERS);
 
         // Initialize views
         searchEditText = findViewById(R.id.searchEditText);
@@ -81,72 +81,40 @@ public class MainPage extends AppCompatActivity {
     }
 
     private void loadEmergencyRequests() {
-        emergenciesDatabase.addValueEventListener(new ValueEventListener() {
+        // The shared repository already holds the parsed list; the UI only swaps it in
+        emergenciesChannel = DisasterApp.getPipeline().channel(this::showEmergencyRequests);
+        DisasterApp.observeEmergencies(this, new EmergencyRepository.Observer() {
             @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                originalEmergencyList.clear();
-
-                Log.d(TAG, "Total emergencies in Firebase: " + snapshot.getChildrenCount());
-
-                for (DataSnapshot data : snapshot.getChildren()) {
-                    try {
-                        EmergencyRequest request = data.getValue(EmergencyRequest.class);
-                        if (request != null) {
-                            request.setId(data.getKey());
-                            originalEmergencyList.add(request);
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error parsing emergency request: " + e.getMessage());
-                        e.printStackTrace();
-                    }
-                }
+            public void onEmergencies(List<EmergencyRequest> emergencies) {
+                emergenciesChannel.submit(() -> emergencies);
+            }
+        });
+    }
 
-                // Update active alerts count
-                activeAlertsCount.setText(String.valueOf(originalEmergencyList.size()));
+    private void showEmergencyRequests(List<EmergencyRequest> requests) {
+        originalEmergencyList = requests;
 
-                Log.d(TAG, "Loaded " + originalEmergencyList.size() + " emergencies");
+        // Update active alerts count
+        activeAlertsCount.setText(String.valueOf(originalEmergencyList.size()));
 
-                // Apply any existing search filter
-                applySearchFilter();
+        Log.d(TAG, "Loaded " + originalEmergencyList.size() + " emergencies");
 
-                if (originalEmergencyList.isEmpty()) {
-                    Toast.makeText(MainPage.this, "No emergencies found", Toast.LENGTH_SHORT).show();
-                }
-            }
+        // Apply any existing search filter
+        applySearchFilter();
 
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                Log.e(TAG, "Failed to load data: " + error.getMessage());
-                Toast.makeText(MainPage.this, "Failed to load data", Toast.LENGTH_SHORT).show();
-            }
-        });
+        if (originalEmergencyList.isEmpty()) {
+            Toast.makeText(MainPage.this, "No emergencies found", Toast.LENGTH_SHORT).show();
+        }
     }
 
     private void loadVolunteersCount() {
-        volunteersDatabase.addValueEventListener(new ValueEventListener() {
+        // One number kept up to date by signup and the availability toggle,
+        // instead of every volunteer record with its missions
+        availableListener = new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot snapshot) {
-                int availableVolunteers = 0;
-
-                for (DataSnapshot volunteerSnapshot : snapshot.getChildren()) {
-                    // Check if volunteer is available
-                    Boolean isAvailable = volunteerSnapshot.child("isAvailable").getValue(Boolean.class);
-
-                    // Count all volunteers, or only available ones
-                    // Option 1: Count only available volunteers
-                    if (isAvailable != null && isAvailable) {
-                        availableVolunteers++;
-                    } else if (isAvailable == null) {
-                        // If isAvailable is not set, assume available (for backward compatibility)
-                        availableVolunteers++;
-                    }
-
-                    // Option 2: Count all volunteers regardless of availability
-                    // availableVolunteers++;
-                }
-
-                volunteersActiveCount.setText(String.valueOf(availableVolunteers));
-                Log.d(TAG, "Available volunteers: " + availableVolunteers);
+                Long availableVolunteers = snapshot.getValue(Long.class);
+                volunteersActiveCount.setText(String.valueOf(availableVolunteers != null ? availableVolunteers : 0));
             }
 
             @Override
@@ -154,7 +122,22 @@ public class MainPage extends AppCompatActivity {
                 Log.e(TAG, "Failed to load volunteers: " + error.getMessage());
                 volunteersActiveCount.setText("0");
             }
-        });
+        };
+        availableCounter.addValueEventListener(availableListener);
+        // Volunteers from before the counter are added once; the listener sees the seed
+        Counters.seedAvailableVolunteers(availableCounter.getRoot());
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        // Snapshots still being parsed must not touch destroyed views
+        if (emergenciesChannel != null) {
+            emergenciesChannel.close();
+        }
+        if (availableListener != null) {
+            availableCounter.removeEventListener(availableListener);
+        }
     }
 
     private void setupSearch() {
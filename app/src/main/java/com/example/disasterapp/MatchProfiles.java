@@ -0,0 +1,57 @@
+package com.example.disasterapp;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.FirebaseDatabase;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The scoring fields of each volunteer, copied to /matchProfiles/{userId}.
+ *
+ * Finding volunteers to alert reads this node, queried for available ones,
+ * instead of /Volunteers, so a reporter's phone never downloads names,
+ * contact details or accepted missions. Only the volunteer writes their own
+ * profile: in the same write as signup and the availability toggle, and once
+ * from their full record when one of their screens loads it.
+ */
+public final class MatchProfiles {
+
+    public static final String PATH = "matchProfiles";
+    // Indexed in database.rules.json; maps to Volunteer.setAvailable
+    public static final String AVAILABLE = "available";
+
+    private MatchProfiles() {
+    }
+
+    /**
+     * Profile for a new volunteer, for an updateChildren under PATH + "/" + userId
+     */
+    public static Map<String, Object> of(String serviceArea, double radius, List<String> skills,
+                                         List<String> availability, boolean available) {
+        Map<String, Object> profile = new HashMap<>();
+        profile.put("serviceArea", serviceArea);
+        profile.put("radius", radius);
+        profile.put("skills", skills);
+        profile.put("availability", availability);
+        profile.put(AVAILABLE, available);
+        return profile;
+    }
+
+    /**
+     * Rewrite the profile from the volunteer's own /Volunteers record, so
+     * records from before profiles existed can be alerted too
+     */
+    public static void refresh(DataSnapshot volunteer) {
+        Map<String, Object> profile = new HashMap<>();
+        for (String field : new String[]{"serviceArea", "radius", "skills", "availability",
+                "latitude", "longitude"}) {
+            profile.put(field, volunteer.child(field).getValue());
+        }
+        // Stored as "isAvailable"; unset counts as available
+        Boolean isAvailable = volunteer.child("isAvailable").getValue(Boolean.class);
+        profile.put(AVAILABLE, isAvailable == null || isAvailable);
+        FirebaseDatabase.getInstance().getReference(PATH).child(volunteer.getKey()).setValue(profile);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.disasterapp;
 
 import android.os.Bundle;
+import android.util.Log;
 import android.view.View;
 import android.widget.Button; // Added for refresh button logic, if needed
 import android.widget.LinearLayout; // Added for new layout views
@@ -8,7 +9,6 @@ import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView; // Added for CardView imports
 import androidx.recyclerview.widget.LinearLayoutManager;
@@ -16,19 +16,21 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 public class MatchedEmergenciesActivity extends AppCompatActivity {
 
     private static final String TAG = "MatchedEmergencies";
 
+    // Only the best matches are shown, scoring 35% or higher
+    private static final int MAX_MATCHES = 50;
+    private static final double MIN_MATCH_SCORE = 35.0;
+
     private RecyclerView matchedRecyclerView;
     private TextView emptyStateTextView, bestMatchTextView; // Kept existing
     private TextView matchCountTextView; // Kept existing, but logic is simplified below
@@ -41,8 +43,11 @@ public class MatchedEmergenciesActivity extends AppCompatActivity {
 
     private MatchedEmergenciesAdapter adapter;
     private List<EmergencyMatcher.EmergencyMatch> matchedEmergencies;
+    private StreamingMatcher streamingMatcher;
+    private int loadGeneration;
+    private EmergencyRepository.Observer emergenciesObserver;
 
-    private DatabaseReference emergenciesRef, volunteerRef;
+    private DatabaseReference volunteerRef;
     private FirebaseAuth mAuth;
     private String userId;
 
@@ -64,7 +69,6 @@ public class MatchedEmergenciesActivity extends AppCompatActivity {
         }
 
         userId = currentUser.getUid();
-        emergenciesRef = FirebaseDatabase.getInstance().getReference("emergencies");
         volunteerRef = FirebaseDatabase.getInstance().getReference("Volunteers").child(userId);
 
         // Initialize views
@@ -93,9 +97,6 @@ public class MatchedEmergenciesActivity extends AppCompatActivity {
         emptyStateLayout = findViewById(R.id.emptyStateLayout);
 
         matchedRecyclerView.setLayoutManager(new LinearLayoutManager(this));
-        matchedEmergencies = new ArrayList<>();
-        adapter = new MatchedEmergenciesAdapter(this, matchedEmergencies);
-        matchedRecyclerView.setAdapter(adapter);
 
         // Back button click listener
         if (backButton != null) {
@@ -115,79 +116,118 @@ public class MatchedEmergenciesActivity extends AppCompatActivity {
         bestMatchBanner.setVisibility(View.GONE);
 
 
-        volunteerRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                if (snapshot.exists()) {
-                    currentVolunteer = snapshot.getValue(Volunteer.class);
-                    if (currentVolunteer != null) {
-                        currentVolunteer.setUserId(userId);
-
-                        // Check if volunteer has skills
-                        if (currentVolunteer.getSkills() == null || currentVolunteer.getSkills().isEmpty()) {
-                            showError("Please add your skills in your profile to see matched emergencies");
-                            return;
-                        }
-
-                        loadEmergenciesAndMatch();
-                    } else {
-                        showError("Unable to load your profile");
+        // Fresh from the server when online; a single-value listener would take the disk cache,
+        // and matching against a stale profile would also copy it into matchProfiles
+        volunteerRef.get().addOnSuccessListener(snapshot -> {
+            if (snapshot.exists()) {
+                MatchProfiles.refresh(snapshot);
+                currentVolunteer = snapshot.getValue(Volunteer.class);
+                if (currentVolunteer != null) {
+                    currentVolunteer.setUserId(userId);
+                    // Profiles from before signup geocoded the service area get a place here
+                    currentVolunteer.locateFromServiceArea();
+                    DisasterApp.versionProfile(currentVolunteer);
+
+                    // Check if volunteer has skills
+                    if (currentVolunteer.getSkills() == null || currentVolunteer.getSkills().isEmpty()) {
+                        showError("Please add your skills in your profile to see matched emergencies");
+                        return;
                     }
+
+                    loadEmergenciesAndMatch();
                 } else {
-                    showError("Profile not found. Please complete your profile.");
+                    showError("Unable to load your profile");
                 }
+            } else {
+                showError("Profile not found. Please complete your profile.");
             }
-
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                showError("Error loading profile: " + error.getMessage());
-            }
-        });
+        }).addOnFailureListener(e -> showError("Error loading profile: " + e.getMessage()));
     }
 
     private void loadEmergenciesAndMatch() {
-        // Changed to addValueEventListener for real-time updates (like original code)
-        // If you only want a single load, change it to addListenerForSingleValueEvent
-        emergenciesRef.addValueEventListener(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                List<EmergencyRequest> allEmergencies = new ArrayList<>();
-
-                for (DataSnapshot data : snapshot.getChildren()) {
-                    EmergencyRequest emergency = data.getValue(EmergencyRequest.class);
-                    if (emergency != null) {
-                        emergency.setId(data.getKey());
-                        allEmergencies.add(emergency);
+        detachEmergenciesListener();
+
+        // One matcher per load, owned by the pipeline's worker thread: callbacks only hand
+        // it snapshots, and it posts the top matches back as emergencies stream in
+        BackgroundPipeline pipeline = DisasterApp.getPipeline();
+        ScoreCache scoreCache = DisasterApp.getScoreCache();
+        matchedEmergencies = new ArrayList<>();
+        adapter = new MatchedEmergenciesAdapter(this, matchedEmergencies);
+        matchedRecyclerView.setAdapter(adapter);
+        int load = ++loadGeneration;
+        StreamingMatcher matcher = new StreamingMatcher(currentVolunteer, MIN_MATCH_SCORE, MAX_MATCHES,
+                scoreCache, pipeline::schedule,
+                (topMatches, complete) -> pipeline.postToUi(() -> {
+                    // Drop results still in flight from a previous load
+                    if (load == loadGeneration) {
+                        onTopMatches(topMatches, complete);
                     }
-                }
+                }));
+        streamingMatcher = matcher;
 
-                // Perform matching
-                if (!allEmergencies.isEmpty()) {
-                    matchEmergencies(allEmergencies);
-                } else {
-                    showEmptyState("No emergencies available at the moment");
-                }
+        // Child deltas from the shared repository: only the emergency that changed gets rescored
+        emergenciesObserver = new EmergencyRepository.Observer() {
+            private boolean loaded;
+
+            @Override
+            public void onEmergencyChanged(EmergencyRequest emergency) {
+                // Replays keep the version and real edits bump it, so the cache sorts them out
+                matcher.offer(emergency);
             }
 
             @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                showError("Error loading emergencies: " + error.getMessage());
+            public void onEmergencyRemoved(String emergencyId) {
+                scoreCache.invalidateEmergency(emergencyId);
+                matcher.remove(emergencyId);
             }
-        });
+
+            @Override
+            public void onEmergencies(List<EmergencyRequest> emergencies) {
+                if (loaded) {
+                    return; // later changes already arrived one by one
+                }
+                loaded = true;
+                Log.d(TAG, String.format(Locale.US, "Score cache hit rate %.1f%% (%d entries)",
+                        scoreCache.getHitRate() * 100, scoreCache.size()));
+                Log.d(TAG, matcher.getSession().getRadiusFilter().describeStats());
+                matcher.finish();
+                if (emergencies.isEmpty()) {
+                    pipeline.postToUi(() -> {
+                        if (load == loadGeneration) {
+                            showEmptyState("No emergencies available at the moment");
+                        }
+                    });
+                }
+            }
+        };
+        DisasterApp.observeEmergencies(emergenciesObserver, currentVolunteer);
     }
 
-    private void matchEmergencies(List<EmergencyRequest> emergencies) {
-        matchedEmergencies.clear();
-        List<EmergencyMatcher.EmergencyMatch> matches = EmergencyMatcher.matchVolunteerToEmergencies(
-                currentVolunteer, emergencies
-        );
+    private void onTopMatches(List<EmergencyMatcher.EmergencyMatch> topMatches, boolean complete) {
+        matchedEmergencies = topMatches;
+        adapter.setMatches(topMatches);
+        // Show matches as soon as there are any; an empty list only counts once loading is done
+        if (!topMatches.isEmpty() || complete) {
+            showMatches(topMatches);
+        }
+    }
 
-        // Filter by minimum score (35% match or higher)
-        List<EmergencyMatcher.EmergencyMatch> filteredMatches = EmergencyMatcher.filterByMinimumScore(matches, 35.0);
-        matchedEmergencies.addAll(filteredMatches);
+    private void detachEmergenciesListener() {
+        if (streamingMatcher != null) {
+            streamingMatcher.close();
+            streamingMatcher = null;
+            loadGeneration++; // results already posted to the UI are dropped too
+        }
+        if (emergenciesObserver != null) {
+            DisasterApp.stopObservingEmergencies(emergenciesObserver);
+            emergenciesObserver = null;
+        }
+    }
 
-        // Update UI using the new logic for showing matches
-        showMatches(matchedEmergencies);
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        detachEmergenciesListener();
     }
 
     private void showMatches(List<EmergencyMatcher.EmergencyMatch> matches) {
@@ -230,9 +270,7 @@ public class MatchedEmergenciesActivity extends AppCompatActivity {
                 bestMatchBanner.setVisibility(View.GONE);
             }
 
-            // Set up adapter (only notify changes if adapter is already set and data is cleared/added)
-            // Re-setting the adapter is safer if the object itself is used for the list
-            adapter.notifyDataSetChanged();
+            // Adapter rows are kept current by onTopMatches
 
             // Clear out old UI elements if they conflict (from original code)
             matchCountTextView.setVisibility(View.GONE); // Hide original TextView
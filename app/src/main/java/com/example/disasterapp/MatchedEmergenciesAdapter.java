@@ -11,6 +11,7 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.cardview.widget.CardView;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.List;
@@ -25,6 +26,38 @@ public class MatchedEmergenciesAdapter extends RecyclerView.Adapter<MatchedEmerg
         this.matches = matches;
     }
 
+    /**
+     * Swap in a newly published ranking, animating only the rows that changed
+     */
+    public void setMatches(List<EmergencyMatcher.EmergencyMatch> newMatches) {
+        List<EmergencyMatcher.EmergencyMatch> oldMatches = matches;
+        DiffUtil.DiffResult diff = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldMatches.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newMatches.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                String oldId = oldMatches.get(oldPosition).getEmergency().getId();
+                return oldId != null && oldId.equals(newMatches.get(newPosition).getEmergency().getId());
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                // Rescored emergencies arrive as new objects, so identity means unchanged
+                return oldMatches.get(oldPosition) == newMatches.get(newPosition);
+            }
+        });
+        matches = newMatches;
+        diff.dispatchUpdatesTo(this);
+    }
+
     @NonNull
     @Override
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -23,7 +23,9 @@ import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ProfileActivity extends AppCompatActivity {
 
@@ -38,10 +40,11 @@ public class ProfileActivity extends AppCompatActivity {
 
     private FirebaseAuth mAuth;
     private DatabaseReference databaseReference;
-    private DatabaseReference updatesReference;
     private String userId;
-    private String currentUserName;
     private boolean isAvailable = true;
+    private boolean matchProfileRefreshed;
+    private boolean availableCounted; // included in Counters.AVAILABLE_VOLUNTEERS, from the profile snapshot
+    private boolean updatesSeedStarted;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -59,7 +62,6 @@ public class ProfileActivity extends AppCompatActivity {
 
         userId = currentUser.getUid();
         databaseReference = FirebaseDatabase.getInstance().getReference("Volunteers").child(userId);
-        updatesReference = FirebaseDatabase.getInstance().getReference("updates");
 
         initializeViews();
         loadUserData();
@@ -91,7 +93,7 @@ public class ProfileActivity extends AppCompatActivity {
     private void setupAvailabilityToggle() {
         availabilitySwitch.setOnCheckedChangeListener((buttonView, isChecked) -> {
             // Only update if user manually changed it (not from loading data)
-            if (buttonView.isPressed()) {
+            if (buttonView.isPressed() && isChecked != isAvailable) {
                 isAvailable = isChecked;
                 updateAvailabilityStatus(isChecked);
             }
@@ -112,17 +114,30 @@ public class ProfileActivity extends AppCompatActivity {
             availabilityStatusText.setText("Not available for missions");
         }
 
-        // Save to Firebase
-        databaseReference.child("isAvailable").setValue(available)
-                .addOnSuccessListener(aVoid -> {
-                    String message = available ? "You are now available" : "You are now unavailable";
-                    Toast.makeText(ProfileActivity.this, message, Toast.LENGTH_SHORT).show();
-                })
-                .addOnFailureListener(e -> {
-                    Toast.makeText(ProfileActivity.this, "Failed to update status", Toast.LENGTH_SHORT).show();
-                    // Revert switch if failed
-                    availabilitySwitch.setChecked(!available);
-                });
+        // Save to Firebase, moving this volunteer in or out of the global count in the same write
+        Map<String, Object> availability = new HashMap<>();
+        availability.put("Volunteers/" + userId + "/isAvailable", available);
+        if (availableCounted) {
+            availability.put(Counters.AVAILABLE_VOLUNTEERS, Counters.increment(available ? 1 : -1));
+        } else {
+            // Signed up before the counter and not seeded yet: join the count as they are now
+            availability.put("Volunteers/" + userId + "/" + Counters.AVAILABLE_COUNTED, true);
+            if (available) {
+                availability.put(Counters.AVAILABLE_VOLUNTEERS, Counters.increment(1));
+            }
+        }
+        availability.put(MatchProfiles.PATH + "/" + userId + "/" + MatchProfiles.AVAILABLE, available);
+        // Offline the change is queued on disk and sent on reconnect
+        DisasterApp.whenSaved(databaseReference.getRoot().updateChildren(availability), queued -> {
+            String message = available ? "You are now available" : "You are now unavailable";
+            Toast.makeText(ProfileActivity.this, queued ? message + ", it will sync when back online" : message,
+                    Toast.LENGTH_SHORT).show();
+        }, e -> {
+            Toast.makeText(ProfileActivity.this, "Failed to update status", Toast.LENGTH_SHORT).show();
+            // Revert switch if failed
+            isAvailable = !available;
+            availabilitySwitch.setChecked(!available);
+        });
     }
 
     private void setupMissionsClickListener() {
@@ -144,12 +159,16 @@ public class ProfileActivity extends AppCompatActivity {
             @Override
             public void onDataChange(DataSnapshot dataSnapshot) {
                 if (dataSnapshot.exists()) {
+                    if (!matchProfileRefreshed) {
+                        matchProfileRefreshed = true;
+                        MatchProfiles.refresh(dataSnapshot);
+                    }
                     String fullName = dataSnapshot.child("fullName").getValue(String.class);
                     String serviceArea = dataSnapshot.child("serviceArea").getValue(String.class);
                     Integer radius = dataSnapshot.child("radius").getValue(Integer.class);
                     Boolean available = dataSnapshot.child("isAvailable").getValue(Boolean.class);
+                    availableCounted = dataSnapshot.hasChild(Counters.AVAILABLE_COUNTED);
 
-                    currentUserName = fullName;
                     nameTextView.setText(fullName != null ? fullName : "User");
                     serviceAreaTextView.setText(serviceArea != null ? serviceArea : "Not specified");
 
@@ -166,6 +185,7 @@ public class ProfileActivity extends AppCompatActivity {
                         }
                     } else {
                         // Default to available if not set
+                        isAvailable = true;
                         statusTextView.setText("Available Now");
                         availabilityStatusText.setText("Available for missions");
                         availabilitySwitch.setChecked(true);
@@ -178,7 +198,14 @@ public class ProfileActivity extends AppCompatActivity {
                     }
                     missionsTextView.setText(String.valueOf(acceptedCount));
 
-                    loadUpdatesCount();
+                    // Maintained by UpdateActivity; posts from before the counter are added once
+                    Long updatesCount = dataSnapshot.child(Counters.UPDATES_COUNT).getValue(Long.class);
+                    updatesTextView.setText(String.valueOf(updatesCount != null ? updatesCount : 0));
+                    if (!dataSnapshot.hasChild(Counters.UPDATES_COUNT_SEEDED) && !updatesSeedStarted) {
+                        // This listener sees the seeded count
+                        updatesSeedStarted = true;
+                        Counters.seedUpdates(databaseReference.getRoot(), userId);
+                    }
                     loadSkills(dataSnapshot);
                     loadAvailability(dataSnapshot);
                 }
@@ -191,45 +218,6 @@ public class ProfileActivity extends AppCompatActivity {
         });
     }
 
-    private void loadUpdatesCount() {
-        updatesReference.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot snapshot) {
-                int userUpdatesCount = 0;
-
-                for (DataSnapshot data : snapshot.getChildren()) {
-                    try {
-                        Update update = data.getValue(Update.class);
-                        if (update != null) {
-                            boolean isUserUpdate = false;
-
-                            if (update.getUserId() != null && update.getUserId().equals(userId)) {
-                                isUserUpdate = true;
-                            } else if (update.getUserId() == null && currentUserName != null
-                                    && update.getUserName() != null
-                                    && update.getUserName().equals(currentUserName)) {
-                                isUserUpdate = true;
-                            }
-
-                            if (isUserUpdate) {
-                                userUpdatesCount++;
-                            }
-                        }
-                    } catch (Exception e) {
-                        // Ignore parsing errors
-                    }
-                }
-
-                updatesTextView.setText(String.valueOf(userUpdatesCount));
-            }
-
-            @Override
-            public void onCancelled(DatabaseError error) {
-                updatesTextView.setText("0");
-            }
-        });
-    }
-
     private void loadSkills(DataSnapshot dataSnapshot) {
         skillsChipGroup.removeAllViews();
 
@@ -13,6 +13,8 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
 
@@ -145,16 +147,42 @@ public class Request extends AppCompatActivity {
         data.put("requiredSkills", requiredSkills);
         data.put("type", type);
         data.put("urgency", urgencyLevel);
+        // Counted from the start, so Counters.seedAssigned never needs to count it
+        data.put(Counters.ASSIGNED_COUNT, 0);
+        data.put(Counters.ASSIGNED_COUNT_SEEDED, true);
+        // Lets the database rules check that only the reporter alerts volunteers about it
+        FirebaseUser reporter = FirebaseAuth.getInstance().getCurrentUser();
+        if (reporter != null) {
+            data.put("reportedBy", reporter.getUid());
+        }
+        // Sortable twin of dateTime; readers fall back to parsing dateTime when it's missing
+        long timestamp = EmergencyRequest.parseTimestamp(dateTime);
+        if (timestamp > 0) {
+            data.put("timestamp", timestamp);
+        }
+        // Approximate coordinates of the place named, from the bundled gazetteer, so
+        // haversine scoring and the radius filter see this request; unknown places stay text-only
+        LocationKey place = LocationKey.of(location);
+        if (place.hasPlaceCoordinates()) {
+            data.put("latitude", place.getPlaceLatitude());
+            data.put("longitude", place.getPlaceLongitude());
+        }
 
         assert id != null;
-        mDatabase.child(id).setValue(data).addOnCompleteListener(task -> {
-            if (task.isSuccessful()) {
-                Toast.makeText(this, "Emergency Request Submitted", Toast.LENGTH_SHORT).show();
-                clearForm();
-            } else {
-                Toast.makeText(this, "Failed to submit request", Toast.LENGTH_SHORT).show();
-            }
-        });
+        EmergencyRequest submitted = new EmergencyRequest(id, type, location, urgencyLevel,
+                description, volunteers, dateTime, requiredSkills);
+        submitted.setTimestamp(timestamp);
+        if (place.hasPlaceCoordinates()) {
+            submitted.setLatitude(place.getPlaceLatitude());
+            submitted.setLongitude(place.getPlaceLongitude());
+        }
+        // Offline the request and its alerts are queued on disk and sent on reconnect
+        DisasterApp.whenSaved(mDatabase.child(id).setValue(data), queued -> {
+            DisasterApp.alertVolunteers(submitted);
+            Toast.makeText(this, queued ? "Emergency Request saved, it will be sent when back online"
+                    : "Emergency Request Submitted", Toast.LENGTH_SHORT).show();
+            clearForm();
+        }, e -> Toast.makeText(this, "Failed to submit request", Toast.LENGTH_SHORT).show());
     }
 
     private void clearForm() {
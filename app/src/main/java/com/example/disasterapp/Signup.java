@@ -215,8 +215,29 @@ public class Signup extends AppCompatActivity {
         userData.put("radius", selectedRadius);
         userData.put("skills", selectedSkills);
         userData.put("availability", selectedAvailability);
+        // Counted from the start, so neither counter ever seeds this volunteer
+        userData.put(Counters.UPDATES_COUNT, 0L);
+        userData.put(Counters.UPDATES_COUNT_SEEDED, true);
+        userData.put(Counters.AVAILABLE_COUNTED, true);
+        // The service area geocoded through the gazetteer, for distance scoring and the radius filter
+        LocationKey area = LocationKey.of(serviceArea);
+        if (area.hasPlaceCoordinates()) {
+            userData.put("latitude", area.getPlaceLatitude());
+            userData.put("longitude", area.getPlaceLongitude());
+        }
 
-        databaseReference.child(userId).setValue(userData)
+        // New volunteers start out available, so they join the global count in the same write
+        Map<String, Object> signup = new HashMap<>();
+        signup.put("Volunteers/" + userId, userData);
+        signup.put(Counters.AVAILABLE_VOLUNTEERS, Counters.increment(1));
+        Map<String, Object> profile = MatchProfiles.of(serviceArea, selectedRadius,
+                selectedSkills, selectedAvailability, true);
+        if (area.hasPlaceCoordinates()) {
+            profile.put("latitude", area.getPlaceLatitude());
+            profile.put("longitude", area.getPlaceLongitude());
+        }
+        signup.put(MatchProfiles.PATH + "/" + userId, profile);
+        databaseReference.getRoot().updateChildren(signup)
                 .addOnCompleteListener(task -> {
                     if (task.isSuccessful()) {
                         Toast.makeText(this, "Registration successful!", Toast.LENGTH_LONG).show();
@@ -10,6 +10,7 @@ public class Update {
     private String timestamp;
     private long timeMillis;
     private String profileImageUrl;  // ✅ For profile photo
+    private boolean counted;         // included in the author's Counters.UPDATES_COUNT
 
     // ✅ Default constructor required for Firebase
     public Update() {}
@@ -66,6 +67,10 @@ public class Update {
         return profileImageUrl;
     }
 
+    public boolean isCounted() {
+        return counted;
+    }
+
     // ✅ Setters
     public void setId(String id) {
         this.id = id;
@@ -102,4 +107,8 @@ public class Update {
     public void setProfileImageUrl(String profileImageUrl) {
         this.profileImageUrl = profileImageUrl;
     }
+
+    public void setCounted(boolean counted) {
+        this.counted = counted;
+    }
 }
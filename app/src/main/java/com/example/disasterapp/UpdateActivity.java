@@ -24,25 +24,35 @@ import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.Query;
 import com.google.firebase.database.ValueEventListener;
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public class UpdateActivity extends AppCompatActivity {
 
     private static final String TAG = "UpdateActivity";
+    private static final int PAGE_SIZE = 20;
 
     private EditText updateEditText;
     private Button photoButton, sendButton;
     private RecyclerView updatesRecyclerView;
     private UpdateAdapter adapter;
     private List<Update> updateList;
+    private Query feedQuery, newestQuery;
+    private ValueEventListener newestListener;
+    private FeedPager<Update> pager; // only touched on the pipeline worker
+    private BackgroundPipeline.Channel<List<Update>> updatesChannel, olderUpdatesChannel;
 
     private DatabaseReference mDatabase;
     private DatabaseReference userDatabase;
@@ -95,6 +105,7 @@ public class UpdateActivity extends AppCompatActivity {
         updateList = new ArrayList<>();
         adapter = new UpdateAdapter(this, updateList);
         updatesRecyclerView.setAdapter(adapter);
+        updatesRecyclerView.addOnScrollListener(new LoadMoreScrollListener(layoutManager, this::loadOlderUpdates));
 
         Log.d(TAG, "RecyclerView setup complete");
 
@@ -228,73 +239,50 @@ public class UpdateActivity extends AppCompatActivity {
                 currentUserProfileImageUrl
         );
 
-        mDatabase.child(updateId).setValue(update)
-                .addOnSuccessListener(aVoid -> {
-                    Toast.makeText(this, "Update posted successfully", Toast.LENGTH_SHORT).show();
-                    updateEditText.setText("");
-                    selectedImageUri = null;
-                    sendButton.setEnabled(true);
-                    sendButton.setText("Send");
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error posting update: " + e.getMessage());
-                    Toast.makeText(this, "Error posting update", Toast.LENGTH_SHORT).show();
-                    sendButton.setEnabled(true);
-                    sendButton.setText("Send");
-                });
+        // The post and its author's updatesCount go in one write; marked counted so a seed skips it
+        update.setCounted(true);
+        Map<String, Object> post = new HashMap<>();
+        post.put("updates/" + updateId, update);
+        post.put("Volunteers/" + userId + "/" + Counters.UPDATES_COUNT, Counters.increment(1));
+        Consumer<Exception> onFailed = e -> {
+            Log.e(TAG, "Error posting update: " + e.getMessage());
+            Toast.makeText(this, "Error posting update", Toast.LENGTH_SHORT).show();
+            sendButton.setEnabled(true);
+            sendButton.setText("Send");
+        };
+        // Offline the post is queued on disk and sent on reconnect; it shows in the feed right away
+        DisasterApp.whenSaved(mDatabase.getRoot().updateChildren(post), queued -> {
+            Toast.makeText(this, queued ? "Update saved, it will be posted when back online"
+                    : "Update posted successfully", Toast.LENGTH_SHORT).show();
+            updateEditText.setText("");
+            selectedImageUri = null;
+            sendButton.setEnabled(true);
+            sendButton.setText("Send");
+        }, onFailed);
     }
 
     private void loadUpdates() {
         Log.d(TAG, "loadUpdates() called");
 
-        mDatabase.addValueEventListener(new ValueEventListener() {
+        // Newest first by timeMillis (indexed in database.rules.json), ties broken by push key.
+        // Only the newest page is live; older pages are read once as the list scrolls.
+        feedQuery = mDatabase.orderByChild("timeMillis");
+        pager = new FeedPager<>(PAGE_SIZE,
+                Comparator.comparingLong(Update::getTimeMillis).thenComparing(Update::getId), Update::getId);
+
+        // Parsing and paging happen on the pipeline worker; the UI only swaps in the result.
+        // Older pages get their own channel so a new live page never supersedes one.
+        updatesChannel = DisasterApp.getPipeline().channel(this::showUpdates);
+        olderUpdatesChannel = DisasterApp.getPipeline().channel(this::showUpdates);
+        newestQuery = feedQuery.limitToLast(PAGE_SIZE);
+        newestListener = new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot snapshot) {
                 Log.d(TAG, "onDataChange triggered - snapshot exists: " + snapshot.exists());
-                Log.d(TAG, "Total updates in Firebase: " + snapshot.getChildrenCount());
-
-                updateList.clear();
-
-                for (DataSnapshot data : snapshot.getChildren()) {
-                    try {
-                        Log.d(TAG, "Processing update with key: " + data.getKey());
-
-                        Update update = data.getValue(Update.class);
-                        if (update != null) {
-                            update.setId(data.getKey());
-
-                            // Recalculate time ago for each update
-                            if (update.getTimeMillis() > 0) {
-                                update.setTimestamp(getTimeAgo(update.getTimeMillis()));
-                            }
-
-                            updateList.add(update);
-                            Log.d(TAG, "Added update #" + updateList.size() + ": " +
-                                    update.getUserName() + " - " + update.getDescription());
-                        } else {
-                            Log.e(TAG, "Update is null for key: " + data.getKey());
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error parsing update: " + e.getMessage());
-                        e.printStackTrace();
-                    }
-                }
-
-                // Sort by timestamp (most recent first)
-                if (updateList.size() > 1) {
-                    updateList.sort((u1, u2) -> Long.compare(u2.getTimeMillis(), u1.getTimeMillis()));
-                }
-
-                Log.d(TAG, "Final update list size: " + updateList.size());
-                Log.d(TAG, "Calling adapter.notifyDataSetChanged()");
-
-                // Force update the adapter
-                runOnUiThread(() -> {
-                    adapter.notifyDataSetChanged();
-                    Log.d(TAG, "Adapter item count after notify: " + adapter.getItemCount());
+                updatesChannel.submit(() -> {
+                    pager.onNewestPage(parseUpdates(snapshot));
+                    return pager.getItems();
                 });
-
-                Log.d(TAG, "Adapter item count: " + adapter.getItemCount());
             }
 
             @Override
@@ -302,9 +290,81 @@ public class UpdateActivity extends AppCompatActivity {
                 Log.e(TAG, "Failed to load updates: " + error.getMessage());
                 Toast.makeText(UpdateActivity.this, "Failed to load updates", Toast.LENGTH_SHORT).show();
             }
+        };
+        newestQuery.addValueEventListener(newestListener);
+    }
+
+    private void loadOlderUpdates() {
+        DisasterApp.getPipeline().execute(() -> {
+            Update cursor = pager.beginOlderPage();
+            if (cursor == null) {
+                return;
+            }
+            feedQuery.endAt(cursor.getTimeMillis(), cursor.getId()).limitToLast(PAGE_SIZE + 1)
+                    .addListenerForSingleValueEvent(new ValueEventListener() {
+                        @Override
+                        public void onDataChange(@NonNull DataSnapshot snapshot) {
+                            olderUpdatesChannel.submit(() -> {
+                                pager.onOlderPage(parseUpdates(snapshot));
+                                return pager.getItems();
+                            });
+                        }
+
+                        @Override
+                        public void onCancelled(@NonNull DatabaseError error) {
+                            DisasterApp.getPipeline().execute(pager::cancelOlderPage);
+                            Log.e(TAG, "Failed to load older updates: " + error.getMessage());
+                        }
+                    });
         });
     }
 
+    /**
+     * Runs on the pipeline worker
+     */
+    private List<Update> parseUpdates(DataSnapshot snapshot) {
+        List<Update> updates = new ArrayList<>((int) snapshot.getChildrenCount());
+        for (DataSnapshot data : snapshot.getChildren()) {
+            try {
+                Update update = data.getValue(Update.class);
+                if (update != null) {
+                    update.setId(data.getKey());
+
+                    // Recalculate time ago for each update
+                    if (update.getTimeMillis() > 0) {
+                        update.setTimestamp(getTimeAgo(update.getTimeMillis()));
+                    }
+
+                    updates.add(update);
+                } else {
+                    Log.e(TAG, "Update is null for key: " + data.getKey());
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error parsing update: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+        return updates;
+    }
+
+    private void showUpdates(List<Update> updates) {
+        adapter.setUpdates(updates);
+        Log.d(TAG, "Adapter item count after update: " + adapter.getItemCount());
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (newestListener != null) {
+            newestQuery.removeEventListener(newestListener);
+        }
+        // A snapshot still being parsed must not touch destroyed views
+        if (updatesChannel != null) {
+            updatesChannel.close();
+            olderUpdatesChannel.close();
+        }
+    }
+
     private String getTimeAgo(long timeMillis) {
         long currentTime = System.currentTimeMillis();
         long diff = currentTime - timeMillis;
@@ -9,11 +9,14 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 public class UpdateAdapter extends RecyclerView.Adapter<UpdateAdapter.ViewHolder> {
 
@@ -27,6 +30,46 @@ public class UpdateAdapter extends RecyclerView.Adapter<UpdateAdapter.ViewHolder
         Log.d(TAG, "UpdateAdapter created with list size: " + (updateList != null ? updateList.size() : 0));
     }
 
+    /**
+     * Swap in a new page set, rebinding only the rows that changed
+     */
+    public void setUpdates(List<Update> newUpdates) {
+        List<Update> oldUpdates = new ArrayList<>(updateList);
+        DiffUtil.DiffResult diff = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldUpdates.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newUpdates.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                String oldId = oldUpdates.get(oldPosition).getId();
+                return oldId != null && oldId.equals(newUpdates.get(newPosition).getId());
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                // The live page is parsed again on every change, so compare what a row shows
+                Update oldUpdate = oldUpdates.get(oldPosition);
+                Update newUpdate = newUpdates.get(newPosition);
+                return oldUpdate == newUpdate
+                        || (Objects.equals(oldUpdate.getUserName(), newUpdate.getUserName())
+                        && Objects.equals(oldUpdate.getDescription(), newUpdate.getDescription())
+                        && Objects.equals(oldUpdate.getImageUrl(), newUpdate.getImageUrl())
+                        && Objects.equals(oldUpdate.getProfileImageUrl(), newUpdate.getProfileImageUrl())
+                        && Objects.equals(oldUpdate.getTimestamp(), newUpdate.getTimestamp()));
+            }
+        });
+        updateList.clear();
+        updateList.addAll(newUpdates);
+        diff.dispatchUpdatesTo(this);
+    }
+
     @NonNull
     @Override
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
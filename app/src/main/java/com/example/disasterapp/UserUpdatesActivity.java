@@ -17,16 +17,20 @@ import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.Query;
 import com.google.firebase.database.ValueEventListener;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 
 public class UserUpdatesActivity extends AppCompatActivity {
 
+    private static final int PAGE_SIZE = 20;
+
     private RecyclerView updatesRecyclerView;
     private ProgressBar progressBar;
     private View emptyStateView;
@@ -39,6 +43,10 @@ public class UserUpdatesActivity extends AppCompatActivity {
     private String currentUserName;
 
     private List<Update> userUpdatesList;
+    private Query userQuery, newestQuery;
+    private ValueEventListener newestListener;
+    private FeedPager<Update> pager; // only touched on the pipeline worker
+    private BackgroundPipeline.Channel<List<Update>> updatesChannel, olderUpdatesChannel;
     private UpdateAdapter adapter;
 
     @Override
@@ -68,8 +76,10 @@ public class UserUpdatesActivity extends AppCompatActivity {
         // Setup RecyclerView
         userUpdatesList = new ArrayList<>();
         adapter = new UpdateAdapter(this, userUpdatesList);
-        updatesRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        updatesRecyclerView.setLayoutManager(layoutManager);
         updatesRecyclerView.setAdapter(adapter);
+        updatesRecyclerView.addOnScrollListener(new LoadMoreScrollListener(layoutManager, this::loadOlderUpdates));
 
         // Back button
         backButton.setOnClickListener(v -> finish());
@@ -83,39 +93,23 @@ public class UserUpdatesActivity extends AppCompatActivity {
         emptyStateView.setVisibility(View.GONE);
         updatesRecyclerView.setVisibility(View.GONE);
 
-        updatesRef.addValueEventListener(new ValueEventListener() {
+        // Only this user's posts are downloaded (indexed on userId in database.rules.json).
+        // Push keys sort by creation time, so within one userId the query is in posting order.
+        userQuery = updatesRef.orderByChild("userId");
+        pager = new FeedPager<>(PAGE_SIZE, Comparator.comparing(Update::getId), Update::getId);
+
+        // Parsing and paging happen on the pipeline worker; the UI only swaps in the result.
+        // Older pages get their own channel so a new live page never supersedes one.
+        updatesChannel = DisasterApp.getPipeline().channel(this::onUpdatesParsed);
+        olderUpdatesChannel = DisasterApp.getPipeline().channel(this::onUpdatesParsed);
+        newestQuery = userQuery.startAt(userId).endAt(userId).limitToLast(PAGE_SIZE);
+        newestListener = new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot snapshot) {
-                userUpdatesList.clear();
-
-                for (DataSnapshot data : snapshot.getChildren()) {
-                    try {
-                        Update update = data.getValue(Update.class);
-                        if (update != null) {
-                            update.setId(data.getKey());
-
-                            // Only add updates from the current user (filter by userId)
-                            if (update.getUserId() != null && update.getUserId().equals(userId)) {
-                                // Recalculate time ago
-                                if (update.getTimeMillis() > 0) {
-                                    update.setTimestamp(getTimeAgo(update.getTimeMillis()));
-                                }
-
-                                userUpdatesList.add(0, update);
-                            }
-                        }
-                    } catch (Exception e) {
-                        android.util.Log.e("UserUpdates", "Error parsing update: " + e.getMessage());
-                    }
-                }
-
-                progressBar.setVisibility(View.GONE);
-
-                if (userUpdatesList.isEmpty()) {
-                    showEmptyState();
-                } else {
-                    showUpdates();
-                }
+                updatesChannel.submit(() -> {
+                    pager.onNewestPage(parseUserUpdates(snapshot));
+                    return pager.getItems();
+                });
             }
 
             @Override
@@ -125,9 +119,85 @@ public class UserUpdatesActivity extends AppCompatActivity {
                 Toast.makeText(UserUpdatesActivity.this,
                         "Error loading updates", Toast.LENGTH_SHORT).show();
             }
+        };
+        newestQuery.addValueEventListener(newestListener);
+    }
+
+    private void loadOlderUpdates() {
+        DisasterApp.getPipeline().execute(() -> {
+            Update cursor = pager.beginOlderPage();
+            if (cursor == null) {
+                return;
+            }
+            userQuery.startAt(userId).endAt(userId, cursor.getId()).limitToLast(PAGE_SIZE + 1)
+                    .addListenerForSingleValueEvent(new ValueEventListener() {
+                        @Override
+                        public void onDataChange(@NonNull DataSnapshot snapshot) {
+                            olderUpdatesChannel.submit(() -> {
+                                pager.onOlderPage(parseUserUpdates(snapshot));
+                                return pager.getItems();
+                            });
+                        }
+
+                        @Override
+                        public void onCancelled(@NonNull DatabaseError error) {
+                            DisasterApp.getPipeline().execute(pager::cancelOlderPage);
+                            android.util.Log.e("UserUpdates", "Error loading older updates: " + error.getMessage());
+                        }
+                    });
         });
     }
 
+    /**
+     * Runs on the pipeline worker
+     */
+    private List<Update> parseUserUpdates(DataSnapshot snapshot) {
+        List<Update> updates = new ArrayList<>((int) snapshot.getChildrenCount());
+        for (DataSnapshot data : snapshot.getChildren()) {
+            try {
+                Update update = data.getValue(Update.class);
+                if (update != null) {
+                    update.setId(data.getKey());
+
+                    // Recalculate time ago
+                    if (update.getTimeMillis() > 0) {
+                        update.setTimestamp(getTimeAgo(update.getTimeMillis()));
+                    }
+
+                    updates.add(update);
+                }
+            } catch (Exception e) {
+                android.util.Log.e("UserUpdates", "Error parsing update: " + e.getMessage());
+            }
+        }
+        return updates;
+    }
+
+    private void onUpdatesParsed(List<Update> updates) {
+        userUpdatesList.clear();
+        userUpdatesList.addAll(updates);
+        progressBar.setVisibility(View.GONE);
+
+        if (userUpdatesList.isEmpty()) {
+            showEmptyState();
+        } else {
+            showUpdates();
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (newestListener != null) {
+            newestQuery.removeEventListener(newestListener);
+        }
+        // A snapshot still being parsed must not touch destroyed views
+        if (updatesChannel != null) {
+            updatesChannel.close();
+            olderUpdatesChannel.close();
+        }
+    }
+
     private String getTimeAgo(long timeMillis) {
         long currentTime = System.currentTimeMillis();
         long diff = currentTime - timeMillis;
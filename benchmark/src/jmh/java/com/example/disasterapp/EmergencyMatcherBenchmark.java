@@ -0,0 +1,78 @@
+package com.example.disasterapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of EmergencyMatcher over seeded datasets of 100, 10k and 1M emergencies.
+ * Run with ./gradlew :benchmark:jmh; the gc profiler reports allocation rate per op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmergencyMatcherBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int emergencyCount;
+
+    private Volunteer volunteer;
+    private List<EmergencyRequest> emergencies;
+    private List<EmergencyMatcher.EmergencyMatch> matches;
+    private EmergencySnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(MatchingDataset.SEED);
+        volunteer = MatchingDataset.volunteer(random);
+        emergencies = MatchingDataset.emergencies(random, emergencyCount);
+        matches = EmergencyMatcher.matchVolunteerToEmergencies(volunteer, emergencies);
+        snapshot = EmergencySnapshot.of(emergencies);
+    }
+
+    @Benchmark
+    public List<EmergencyMatcher.EmergencyMatch> matchVolunteerToEmergencies() {
+        return EmergencyMatcher.matchVolunteerToEmergencies(volunteer, emergencies);
+    }
+
+    @Benchmark
+    public void calculateSkillScore(Blackhole blackhole) {
+        ScoringRules rules = ScoringRules.active();
+        for (EmergencyRequest emergency : emergencies) {
+            blackhole.consume(EmergencyMatcher.calculateSkillScore(rules, volunteer, emergency));
+        }
+    }
+
+    @Benchmark
+    public void calculateDistanceScore(Blackhole blackhole) {
+        for (EmergencyRequest emergency : emergencies) {
+            blackhole.consume(EmergencyMatcher.calculateDistanceScore(volunteer, emergency));
+        }
+    }
+
+    @Benchmark
+    public List<EmergencyMatcher.EmergencyMatch> topMatchesFromList() {
+        return EmergencyMatcher.topMatches(volunteer, emergencies, 50, 35.0);
+    }
+
+    @Benchmark
+    public List<EmergencyMatcher.EmergencyMatch> topMatchesFromSnapshot() {
+        return EmergencyMatcher.topMatches(volunteer, snapshot, 50, 35.0);
+    }
+
+    @Benchmark
+    public List<EmergencyMatcher.EmergencyMatch> filterByMinimumScore() {
+        return EmergencyMatcher.filterByMinimumScore(matches, 35.0);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.disasterapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded synthetic volunteers and emergencies shaped like production data
+ */
+final class MatchingDataset {
+
+    static final long SEED = 20250503L;
+
+    private static final String[] TYPES = {"Fire", "Flood", "Earthquake", "Medical", "Rescue"};
+
+    // Roughly: most requests are medium/high, few are critical
+    private static final String[] URGENCY_MIX = {
+            "Low", "Low", "Medium", "Medium", "Medium", "High", "High", "High", "Critical", "moderate"
+    };
+
+    private static final String[] PLACES = {
+            "Nairobi", "Nairobi CBD", "Westlands", "Kibera", "Mathare", "Eastleigh", "Kasarani",
+            "Mombasa", "Mombasa Old Town", "Nyali", "Kisumu", "Kisumu Central", "Nakuru",
+            "Nakuru Town", "Eldoret", "Thika", "Machakos", "Garissa", "Lodwar", "Malindi"
+    };
+
+    private static final String[] SKILLS = {
+            "First Aid", "CPR", "Nurse", "Doctor", "Firefighting", "Swimming", "Boat Operation",
+            "Search & Rescue", "Construction", "Engineer", "Logistics", "Distribution",
+            "Coordination", "Communication", "Community Outreach", "Driving", "Cooking",
+            "Counselling", "Emergency Response", "Translation"
+    };
+
+    private MatchingDataset() {
+    }
+
+    static List<EmergencyRequest> emergencies(Random random, int count) {
+        List<EmergencyRequest> emergencies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            emergencies.add(new EmergencyRequest("e" + i,
+                    TYPES[random.nextInt(TYPES.length)],
+                    freeTextLocation(random),
+                    URGENCY_MIX[random.nextInt(URGENCY_MIX.length)],
+                    "Synthetic emergency " + i,
+                    String.valueOf(1 + random.nextInt(10)),
+                    (1 + random.nextInt(28)) + "/" + (1 + random.nextInt(12)) + "/2025 "
+                            + random.nextInt(24) + ":" + random.nextInt(60),
+                    SKILLS[random.nextInt(SKILLS.length)]));
+        }
+        return emergencies;
+    }
+
+    static Volunteer volunteer(Random random) {
+        List<String> skills = new ArrayList<>();
+        int skillCount = 1 + random.nextInt(4);
+        for (int i = 0; i < skillCount; i++) {
+            skills.add(SKILLS[random.nextInt(SKILLS.length)]);
+        }
+        return new Volunteer("v0", "Benchmark Volunteer", "volunteer@example.com", "0700000000",
+                freeTextLocation(random), 1 + random.nextInt(30), skills,
+                new ArrayList<>(Arrays.asList("Weekday Evenings", "Weekend Days")));
+    }
+
+    /**
+     * Location text as typed into the request form: one or two place names,
+     * sometimes with a street or landmark prefix
+     */
+    private static String freeTextLocation(Random random) {
+        String place = PLACES[random.nextInt(PLACES.length)];
+        switch (random.nextInt(4)) {
+            case 0:
+                return place;
+            case 1:
+                return place + " " + PLACES[random.nextInt(PLACES.length)];
+            case 2:
+                return "Near " + place + " market";
+            default:
+                return "Road " + random.nextInt(100) + " " + place;
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package com.example.disasterapp;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Capacity-constrained volunteer assignment on top of a BatchScoringEngine score matrix.
+ *
+ * Each volunteer goes to at most one emergency and each emergency takes at most
+ * as many volunteers as its request asked for, maximizing the total match score.
+ *
+ * Solved as a symmetric auction: every emergency has one priced slot per helper
+ * it needs, an "idle" group offers one slot per volunteer worth 0 to everyone,
+ * and one placeholder bidder per emergency slot (valuing everything at 0) makes
+ * bidders and slots equal in number. The first solve uses epsilon scaling; the
+ * result is within (volunteers + slots) * epsilon of the optimum.
+ *
+ * Prices are kept between solves, so after one volunteer or emergency changes
+ * only the bidders whose choice is no longer near-optimal bid again.
+ */
+public class AssignmentSolver {
+
+    public static final int UNASSIGNED = -1;
+
+    // Final bid increment on the 0-100 score scale
+    private static final double DEFAULT_EPSILON = 0.01;
+
+    // First solve starts with coarse bids and tightens by this factor per phase
+    private static final double START_EPSILON = 10.0;
+    private static final double EPSILON_FACTOR = 8.0;
+
+    // Marks a bidder waiting in the queue
+    private static final int PENDING = -2;
+
+    private final float[] scores; // private copy, edited by the update methods
+    private final int volunteerCount;
+    private final int emergencyCount;
+    private final int idleGroup;
+    private final double epsilon;
+    private double bidEpsilon;
+    private boolean solved;
+
+    // Per group (emergencies, then idle): slot prices as a min-heap and who holds each slot
+    private final double[][] slotPrices;
+    private final int[][] slotHolders;
+
+    // Cheapest slot price per group, flat so the bid scan stays sequential;
+    // groups without slots sit at +infinity and are never chosen
+    private final double[] minPrices;
+
+    // Bidders are the volunteers followed by one placeholder per emergency slot
+    private int bidderCount;
+    private int[] assignment;
+    private int[] queue;
+    private int queueHead, queueSize;
+    private long bidCount;
+
+    public AssignmentSolver(BatchScoringEngine.ScoreMatrix matrix, int[] capacities) {
+        this(matrix, capacities, DEFAULT_EPSILON);
+    }
+
+    public AssignmentSolver(BatchScoringEngine.ScoreMatrix matrix, int[] capacities, double epsilon) {
+        if (capacities.length != matrix.getEmergencyCount()) {
+            throw new IllegalArgumentException("Need one capacity per emergency");
+        }
+        this.scores = matrix.toArray();
+        this.volunteerCount = matrix.getVolunteerCount();
+        this.emergencyCount = matrix.getEmergencyCount();
+        this.idleGroup = emergencyCount;
+        this.epsilon = epsilon;
+        this.bidEpsilon = epsilon;
+
+        slotPrices = new double[emergencyCount + 1][];
+        slotHolders = new int[emergencyCount + 1][];
+        int slotCount = 0;
+        for (int e = 0; e < emergencyCount; e++) {
+            int capacity = Math.max(0, capacities[e]);
+            slotPrices[e] = new double[capacity];
+            slotHolders[e] = emptyHolders(capacity);
+            slotCount += capacity;
+        }
+        slotPrices[idleGroup] = new double[volunteerCount];
+        slotHolders[idleGroup] = emptyHolders(volunteerCount);
+
+        minPrices = new double[emergencyCount + 1];
+        for (int group = 0; group <= emergencyCount; group++) {
+            refreshMinPrice(group);
+        }
+
+        resizeBidders(volunteerCount + slotCount);
+    }
+
+    /**
+     * Read how many helpers a request needs; unparseable values count as one
+     */
+    public static int capacityOf(EmergencyRequest emergency) {
+        String volunteers = emergency.getVolunteers();
+        if (volunteers == null) {
+            return 1;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(volunteers.trim()));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    public static int[] capacitiesOf(List<EmergencyRequest> emergencies) {
+        int[] capacities = new int[emergencies.size()];
+        for (int e = 0; e < capacities.length; e++) {
+            capacities[e] = capacityOf(emergencies.get(e));
+        }
+        return capacities;
+    }
+
+    /**
+     * Run bidding until every bidder holds a slot; returns each volunteer's
+     * emergency index or UNASSIGNED
+     */
+    public int[] solve() {
+        if (!solved) {
+            // Coarse phases settle prices cheaply; each later phase rebids from them
+            for (bidEpsilon = Math.max(START_EPSILON, epsilon); bidEpsilon > epsilon;
+                 bidEpsilon /= EPSILON_FACTOR) {
+                runBids();
+                releaseAll();
+            }
+            bidEpsilon = epsilon;
+            solved = true;
+        }
+        runBids();
+
+        int[] result = new int[volunteerCount];
+        for (int v = 0; v < volunteerCount; v++) {
+            result[v] = getAssignment(v);
+        }
+        return result;
+    }
+
+    /**
+     * Emergency index for a volunteer after solve(), or UNASSIGNED
+     */
+    public int getAssignment(int volunteerIndex) {
+        int group = assignment[volunteerIndex];
+        return group >= 0 && group < emergencyCount ? group : UNASSIGNED;
+    }
+
+    public double totalScore() {
+        double total = 0;
+        for (int v = 0; v < volunteerCount; v++) {
+            int e = getAssignment(v);
+            if (e != UNASSIGNED) {
+                total += scores[v * emergencyCount + e];
+            }
+        }
+        return total;
+    }
+
+    public long getBidCount() {
+        return bidCount;
+    }
+
+    /**
+     * Replace one volunteer's scores; call solve() afterwards
+     */
+    public void updateVolunteer(int volunteerIndex, float[] emergencyScores) {
+        System.arraycopy(emergencyScores, 0, scores, volunteerIndex * emergencyCount, emergencyCount);
+        release(volunteerIndex);
+    }
+
+    /**
+     * Replace one emergency's scores and capacity; call solve() afterwards.
+     * A capacity change reshapes the slots, so everyone rebids from current prices.
+     */
+    public void updateEmergency(int emergencyIndex, float[] volunteerScores, int capacity) {
+        for (int v = 0; v < volunteerCount; v++) {
+            scores[v * emergencyCount + emergencyIndex] = volunteerScores[v];
+        }
+
+        capacity = Math.max(0, capacity);
+        int oldCapacity = slotPrices[emergencyIndex].length;
+        if (capacity != oldCapacity) {
+            double basePrice = oldCapacity > 0 ? slotPrices[emergencyIndex][0] : 0;
+            double[] prices = new double[capacity];
+            Arrays.fill(prices, basePrice);
+            slotPrices[emergencyIndex] = prices;
+            slotHolders[emergencyIndex] = emptyHolders(capacity);
+            refreshMinPrice(emergencyIndex);
+            resizeBidders(bidderCount + capacity - oldCapacity);
+            releaseAll();
+            return;
+        }
+
+        // Holders may now prefer elsewhere; others may now prefer this emergency
+        for (int holder : slotHolders[emergencyIndex].clone()) {
+            if (holder >= 0) {
+                release(holder);
+            }
+        }
+        if (capacity == 0) {
+            return;
+        }
+        double price = slotPrices[emergencyIndex][0];
+        for (int v = 0; v < volunteerCount; v++) {
+            if (assignment[v] != PENDING
+                    && scores[v * emergencyCount + emergencyIndex] - price > heldValue(v) + epsilon) {
+                release(v);
+            }
+        }
+    }
+
+    private void runBids() {
+        while (queueSize > 0) {
+            bid(dequeue());
+        }
+    }
+
+    private void bid(int bidder) {
+        bidCount++;
+        boolean volunteer = bidder < volunteerCount;
+        int offset = volunteer ? bidder * emergencyCount : 0;
+
+        double bestValue = Double.NEGATIVE_INFINITY;
+        double secondValue = Double.NEGATIVE_INFINITY;
+        int best = -1;
+
+        // Placeholders value every slot at 0; the idle group is worth 0 to everyone
+        for (int group = 0; group <= emergencyCount; group++) {
+            double worth = volunteer && group < idleGroup ? scores[offset + group] : 0;
+            double value = worth - minPrices[group];
+            if (value > secondValue) {
+                if (value > bestValue) {
+                    secondValue = bestValue;
+                    bestValue = value;
+                    best = group;
+                } else {
+                    secondValue = value;
+                }
+            }
+        }
+
+        // The next cheapest slot of the same group is an alternative too
+        double[] prices = slotPrices[best];
+        if (prices.length > 1) {
+            double worth = volunteer && best < emergencyCount ? scores[offset + best] : 0;
+            secondValue = Math.max(secondValue, worth - secondMinPrice(prices));
+        }
+        double increment = secondValue == Double.NEGATIVE_INFINITY
+                ? bidEpsilon : bestValue - secondValue + bidEpsilon;
+
+        int[] holders = slotHolders[best];
+        int evicted = holders[0];
+        prices[0] += increment;
+        holders[0] = bidder;
+        siftDown(prices, holders, 0);
+        minPrices[best] = prices[0];
+        assignment[bidder] = best;
+
+        if (evicted >= 0) {
+            assignment[evicted] = PENDING;
+            enqueue(evicted);
+        }
+    }
+
+    /**
+     * Value a volunteer gets from the slot it currently holds
+     */
+    private double heldValue(int v) {
+        int group = assignment[v];
+        int[] holders = slotHolders[group];
+        for (int slot = 0; slot < holders.length; slot++) {
+            if (holders[slot] == v) {
+                double worth = group < emergencyCount ? scores[v * emergencyCount + group] : 0;
+                return worth - slotPrices[group][slot];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Give up a bidder's slot (its price stays) and queue it to bid again
+     */
+    private void release(int bidder) {
+        int group = assignment[bidder];
+        if (group == PENDING) {
+            return;
+        }
+        int[] holders = slotHolders[group];
+        for (int slot = 0; slot < holders.length; slot++) {
+            if (holders[slot] == bidder) {
+                holders[slot] = UNASSIGNED;
+                break;
+            }
+        }
+        assignment[bidder] = PENDING;
+        enqueue(bidder);
+    }
+
+    private void releaseAll() {
+        for (int[] holders : slotHolders) {
+            Arrays.fill(holders, UNASSIGNED);
+        }
+        queueHead = 0;
+        queueSize = 0;
+        for (int b = 0; b < bidderCount; b++) {
+            assignment[b] = PENDING;
+            enqueue(b);
+        }
+    }
+
+    private void resizeBidders(int count) {
+        int[] resized = new int[count];
+        Arrays.fill(resized, PENDING);
+        if (assignment != null) {
+            System.arraycopy(assignment, 0, resized, 0, Math.min(count, bidderCount));
+        }
+        assignment = resized;
+        queue = new int[count];
+        queueHead = 0;
+        queueSize = 0;
+        bidderCount = count;
+        for (int b = 0; b < count; b++) {
+            if (assignment[b] == PENDING) {
+                enqueue(b);
+            }
+        }
+    }
+
+    private void refreshMinPrice(int group) {
+        double[] prices = slotPrices[group];
+        minPrices[group] = prices.length > 0 ? prices[0] : Double.POSITIVE_INFINITY;
+    }
+
+    private static int[] emptyHolders(int capacity) {
+        int[] holders = new int[capacity];
+        Arrays.fill(holders, UNASSIGNED);
+        return holders;
+    }
+
+    private static double secondMinPrice(double[] prices) {
+        double second = prices[1];
+        if (prices.length > 2 && prices[2] < second) {
+            second = prices[2];
+        }
+        return second;
+    }
+
+    private static void siftDown(double[] prices, int[] holders, int pos) {
+        int size = prices.length;
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && prices[child + 1] < prices[child]) {
+                child++;
+            }
+            if (prices[child] >= prices[pos]) {
+                break;
+            }
+            swap(prices, holders, pos, child);
+            pos = child;
+        }
+    }
+
+    private static void swap(double[] prices, int[] holders, int a, int b) {
+        double price = prices[a];
+        prices[a] = prices[b];
+        prices[b] = price;
+        int holder = holders[a];
+        holders[a] = holders[b];
+        holders[b] = holder;
+    }
+
+    private void enqueue(int bidder) {
+        queue[(queueHead + queueSize) % queue.length] = bidder;
+        queueSize++;
+    }
+
+    private int dequeue() {
+        int bidder = queue[queueHead];
+        queueHead = (queueHead + 1) % queue.length;
+        queueSize--;
+        return bidder;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.disasterapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Interval tree over the weekly windows of volunteers or emergencies.
+ *
+ * Answers "who is available for this emergency" and "which emergencies fall
+ * in my windows" in O(log n + k) instead of checking everyone. Items with no
+ * windows (no availability picked, or an unreadable dateTime) can't be placed
+ * in the tree; they are kept apart and returned by getUnscheduled().
+ */
+public final class AvailabilityIndex<T> {
+
+    private final List<T> items;
+    private final IntervalTree tree;
+    private final List<T> unscheduled = new ArrayList<>();
+    private final BitSet unscheduledIds = new BitSet();
+
+    private AvailabilityIndex(List<T> items, Function<T, WeeklyWindows> windowsOf) {
+        this.items = new ArrayList<>(items);
+
+        int capacity = 0;
+        WeeklyWindows[] windows = new WeeklyWindows[this.items.size()];
+        for (int i = 0; i < windows.length; i++) {
+            windows[i] = windowsOf.apply(this.items.get(i));
+            capacity += windows[i].starts.length;
+        }
+
+        int[] starts = new int[capacity];
+        int[] ends = new int[capacity];
+        int[] ids = new int[capacity];
+        int count = 0;
+        for (int i = 0; i < windows.length; i++) {
+            if (windows[i].isEmpty()) {
+                unscheduled.add(this.items.get(i));
+                unscheduledIds.set(i);
+            }
+            for (int w = 0; w < windows[i].starts.length; w++) {
+                starts[count] = windows[i].starts[w];
+                ends[count] = windows[i].ends[w];
+                ids[count] = i;
+                count++;
+            }
+        }
+        this.tree = new IntervalTree(starts, ends, ids, count);
+    }
+
+    public static AvailabilityIndex<Volunteer> ofVolunteers(List<Volunteer> volunteers) {
+        return new AvailabilityIndex<>(volunteers, Volunteer::availabilityWindows);
+    }
+
+    public static AvailabilityIndex<EmergencyRequest> ofEmergencies(List<EmergencyRequest> emergencies) {
+        return new AvailabilityIndex<>(emergencies, EmergencyRequest::timeWindow);
+    }
+
+    /**
+     * Items sharing at least one minute with the windows, each once, in input order.
+     * Pass an emergency's timeWindow() to find volunteers free for it, or a
+     * volunteer's availabilityWindows() to find emergencies they can attend.
+     */
+    public List<T> overlapping(WeeklyWindows windows) {
+        Hits hits = new Hits();
+        for (int w = 0; w < windows.starts.length; w++) {
+            tree.query(windows.starts[w], windows.ends[w], hits);
+        }
+
+        // An item with several windows can be reported more than once
+        Arrays.sort(hits.ids, 0, hits.count);
+        List<T> result = new ArrayList<>(hits.count);
+        for (int i = 0; i < hits.count; i++) {
+            if (i == 0 || hits.ids[i] != hits.ids[i - 1]) {
+                result.add(items.get(hits.ids[i]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Items that can't be ruled out for the windows, in input order: those
+     * overlapping them plus the unscheduled ones. Empty windows (no readable
+     * time) rule nobody out, so every item is returned.
+     */
+    public List<T> availableFor(WeeklyWindows windows) {
+        if (windows.isEmpty()) {
+            return new ArrayList<>(items);
+        }
+        Hits hits = new Hits();
+        for (int w = 0; w < windows.starts.length; w++) {
+            tree.query(windows.starts[w], windows.ends[w], hits);
+        }
+        BitSet ids = (BitSet) unscheduledIds.clone();
+        for (int i = 0; i < hits.count; i++) {
+            ids.set(hits.ids[i]);
+        }
+        List<T> result = new ArrayList<>(ids.cardinality());
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            result.add(items.get(id));
+        }
+        return result;
+    }
+
+    public List<T> getUnscheduled() {
+        return unscheduled;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    private static final class Hits implements IntConsumer {
+        int[] ids = new int[8];
+        int count;
+
+        @Override
+        public void accept(int id) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = id;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.disasterapp;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Single-writer background thread for snapshot parsing, matching and sorting.
+ *
+ * Database callbacks hand their snapshot to the pipeline and return at once.
+ * Every task runs on one dedicated worker thread in submission order, so
+ * state that only the worker touches (a StreamingMatcher, a ScoreCache
+ * session) needs no locking. Results are handed to the UI executor, and
+ * should be immutable so the UI can keep them without copying.
+ *
+ * A Channel delivers only its latest result: a snapshot that is superseded
+ * before the worker reaches it is skipped, and nothing is delivered once the
+ * channel is closed (e.g. the activity was destroyed).
+ */
+public final class BackgroundPipeline {
+
+    private static final String TAG = "BackgroundPipeline";
+
+    private final ScheduledThreadPoolExecutor worker;
+    private final Executor uiExecutor;
+
+    public BackgroundPipeline(Executor uiExecutor) {
+        this.uiExecutor = uiExecutor;
+        this.worker = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "matching-pipeline");
+            thread.setDaemon(true);
+            // Below the UI thread so a long scoring pass never competes with drawing
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+    }
+
+    /**
+     * Run a task on the worker thread, after everything submitted before it
+     */
+    public void execute(Runnable task) {
+        worker.execute(guarded(task));
+    }
+
+    /**
+     * Run a task on the worker thread after a delay; usable as a StreamingMatcher.Scheduler
+     */
+    public void schedule(Runnable task, long delayMillis) {
+        worker.schedule(guarded(task), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Run a task on the UI executor
+     */
+    public void postToUi(Runnable task) {
+        uiExecutor.execute(task);
+    }
+
+    /**
+     * A stream of results computed on the worker and delivered on the UI executor
+     */
+    public <T> Channel<T> channel(Consumer<T> onResult) {
+        return new Channel<>(onResult);
+    }
+
+    /**
+     * Stop the worker; tasks already queued are dropped
+     */
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private static Runnable guarded(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // One bad snapshot must not kill the worker thread for every screen
+                MatcherLog.get().error(TAG, "Background task failed: " + e);
+            }
+        };
+    }
+
+    public final class Channel<T> {
+        private final Consumer<T> onResult;
+        private final AtomicLong generation = new AtomicLong();
+        private volatile boolean closed;
+
+        private Channel(Consumer<T> onResult) {
+            this.onResult = onResult;
+        }
+
+        /**
+         * Compute a result on the worker, replacing any result still pending
+         */
+        public void submit(Callable<T> work) {
+            long submitted = generation.incrementAndGet();
+            execute(() -> {
+                if (closed || generation.get() != submitted) {
+                    return; // superseded before the worker got to it
+                }
+                T result;
+                try {
+                    result = work.call();
+                } catch (Exception e) {
+                    MatcherLog.get().error(TAG, "Background task failed: " + e);
+                    return;
+                }
+                uiExecutor.execute(() -> {
+                    if (!closed && generation.get() == submitted) {
+                        onResult.accept(result);
+                    }
+                });
+            });
+        }
+
+        /**
+         * Drop pending and future results
+         */
+        public void close() {
+            closed = true;
+        }
+    }
+}
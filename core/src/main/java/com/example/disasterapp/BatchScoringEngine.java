@@ -0,0 +1,238 @@
+package com.example.disasterapp;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Scores every volunteer against every emergency for dispatcher views.
+ *
+ * Per-emergency and per-volunteer inputs (type category, urgency, skill
+ * categories, time windows, recency) are resolved once up front, then volunteer rows are split across
+ * a ForkJoinPool and written straight into a row-major float[] matrix, so no
+ * EmergencyMatch objects are created. Cell values equal calculateMatchScore.
+ */
+public class BatchScoringEngine {
+
+    // Aim for roughly this many pairs per fork/join leaf task
+    private static final int PAIRS_PER_TASK = 16 * 1024;
+
+    private final ForkJoinPool pool;
+
+    public BatchScoringEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public BatchScoringEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public ScoreMatrix score(List<Volunteer> volunteers, List<EmergencyRequest> emergencies) {
+        int rows = volunteers.size();
+        int cols = emergencies.size();
+
+        Volunteer[] volunteerArray = volunteers.toArray(new Volunteer[0]);
+        EmergencyRequest[] emergencyArray = emergencies.toArray(new EmergencyRequest[0]);
+
+        // One rule set for the whole matrix, even if another is installed meanwhile
+        ScoringRules rules = ScoringRules.active();
+        SkillRelevanceTable table = rules.getSkillTable();
+
+        // Resolve per-row and per-column inputs once, on the calling thread
+        int[][] skillCategories = new int[rows][];
+        SkillSet[] skillSets = new SkillSet[rows];
+        WeeklyWindows[] availability = new WeeklyWindows[rows];
+        for (int v = 0; v < rows; v++) {
+            skillSets[v] = volunteerArray[v].skillSet();
+            availability[v] = volunteerArray[v].availabilityWindows();
+            int[] categories = volunteerArray[v].skillCategories(table);
+            if (categories.length > 0) {
+                skillCategories[v] = categories;
+            }
+        }
+
+        int[] typeCategories = new int[cols];
+        SkillSet[] requiredSkills = new SkillSet[cols];
+        double[] urgencyScores = new double[cols];
+        WeeklyWindows[] timeWindows = new WeeklyWindows[cols];
+        double[] recencyScores = new double[cols];
+        long now = EmergencyMatcher.clock.getAsLong();
+        for (int e = 0; e < cols; e++) {
+            requiredSkills[e] = emergencyArray[e].requiredSkillSet();
+            timeWindows[e] = emergencyArray[e].timeWindow();
+            typeCategories[e] = emergencyArray[e].typeCategory(table);
+            urgencyScores[e] = EmergencyMatcher.calculateUrgencyScore(rules, emergencyArray[e]);
+            recencyScores[e] = rules.recencyScore(emergencyArray[e].timestampMillis(), now);
+        }
+
+        // A dispatcher-wide matrix can outgrow an int index; fail loudly instead of wrapping
+        float[] scores = new float[Math.multiplyExact(rows, cols)];
+        int rowsPerTask = Math.max(1, PAIRS_PER_TASK / Math.max(1, cols));
+        pool.invoke(new RowTask(rules, volunteerArray, emergencyArray, skillCategories, skillSets,
+                availability, typeCategories, requiredSkills, urgencyScores, timeWindows,
+                recencyScores, scores, 0, rows, rowsPerTask));
+
+        return new ScoreMatrix(scores, rows, cols);
+    }
+
+    /**
+     * Same rules as EmergencyMatcher.calculateSkillScore, on pre-resolved inputs
+     */
+    static double skillScore(ScoringRules rules, SkillSet skills, SkillSet required,
+                             int[] skillCategories, int typeCategory) {
+        if (!required.isEmpty()) {
+            return rules.coverageScore(skills.coverageOf(required));
+        }
+        if (typeCategory < 0) {
+            return 50.0;
+        }
+        if (skillCategories == null) {
+            return 30.0;
+        }
+        double maxScore = 0.0;
+        for (int skillCategory : skillCategories) {
+            double score = rules.getSkillTable().score(skillCategory, typeCategory);
+            if (score > maxScore) {
+                maxScore = score;
+            }
+        }
+        return maxScore;
+    }
+
+    @SuppressWarnings("serial") // never serialized; fork/join only
+    private static class RowTask extends RecursiveAction {
+        private final ScoringRules rules;
+        private final Volunteer[] volunteers;
+        private final EmergencyRequest[] emergencies;
+        private final int[][] skillCategories;
+        private final SkillSet[] skillSets;
+        private final WeeklyWindows[] availability;
+        private final int[] typeCategories;
+        private final SkillSet[] requiredSkills;
+        private final double[] urgencyScores;
+        private final WeeklyWindows[] timeWindows;
+        private final double[] recencyScores;
+        private final float[] scores;
+        private final int from, to, rowsPerTask;
+
+        RowTask(ScoringRules rules, Volunteer[] volunteers, EmergencyRequest[] emergencies,
+                int[][] skillCategories, SkillSet[] skillSets, WeeklyWindows[] availability,
+                int[] typeCategories, SkillSet[] requiredSkills, double[] urgencyScores,
+                WeeklyWindows[] timeWindows, double[] recencyScores, float[] scores,
+                int from, int to, int rowsPerTask) {
+            this.rules = rules;
+            this.volunteers = volunteers;
+            this.emergencies = emergencies;
+            this.skillCategories = skillCategories;
+            this.skillSets = skillSets;
+            this.availability = availability;
+            this.typeCategories = typeCategories;
+            this.requiredSkills = requiredSkills;
+            this.urgencyScores = urgencyScores;
+            this.timeWindows = timeWindows;
+            this.recencyScores = recencyScores;
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+            this.rowsPerTask = rowsPerTask;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > rowsPerTask) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RowTask(rules, volunteers, emergencies, skillCategories, skillSets,
+                                availability, typeCategories, requiredSkills, urgencyScores, timeWindows,
+                                recencyScores, scores, from, mid, rowsPerTask),
+                        new RowTask(rules, volunteers, emergencies, skillCategories, skillSets,
+                                availability, typeCategories, requiredSkills, urgencyScores, timeWindows,
+                                recencyScores, scores, mid, to, rowsPerTask));
+                return;
+            }
+
+            int cols = emergencies.length;
+            for (int v = from; v < to; v++) {
+                Volunteer volunteer = volunteers[v];
+                int[] categories = skillCategories[v];
+                SkillSet skills = skillSets[v];
+                WeeklyWindows available = availability[v];
+                int offset = v * cols;
+                for (int e = 0; e < cols; e++) {
+                    double total = rules.weightedScore(
+                            skillScore(rules, skills, requiredSkills[e], categories, typeCategories[e]),
+                            urgencyScores[e],
+                            EmergencyMatcher.calculateDistanceScore(volunteer, emergencies[e]),
+                            EmergencyMatcher.calculateAvailabilityScore(available, timeWindows[e]),
+                            recencyScores[e]);
+                    scores[offset + e] = (float) total;
+                }
+            }
+        }
+    }
+
+    /**
+     * Immutable row-major volunteer x emergency score matrix with top-K views
+     */
+    public static class ScoreMatrix {
+        private final float[] scores;
+        private final int volunteerCount;
+        private final int emergencyCount;
+
+        ScoreMatrix(float[] scores, int volunteerCount, int emergencyCount) {
+            this.scores = scores;
+            this.volunteerCount = volunteerCount;
+            this.emergencyCount = emergencyCount;
+        }
+
+        public int getVolunteerCount() {
+            return volunteerCount;
+        }
+
+        public int getEmergencyCount() {
+            return emergencyCount;
+        }
+
+        public float get(int volunteerIndex, int emergencyIndex) {
+            return scores[volunteerIndex * emergencyCount + emergencyIndex];
+        }
+
+        /**
+         * Copy of the row-major scores; the matrix itself never changes
+         */
+        float[] toArray() {
+            return scores.clone();
+        }
+
+        /**
+         * Indices of the k best emergencies for a volunteer, best first
+         */
+        public int[] topEmergenciesFor(int volunteerIndex, int k, float minScore) {
+            return topK(volunteerIndex * emergencyCount, 1, emergencyCount, k, minScore);
+        }
+
+        /**
+         * Indices of the k best volunteers for an emergency, best first
+         */
+        public int[] topVolunteersFor(int emergencyIndex, int k, float minScore) {
+            return topK(emergencyIndex, emergencyCount, volunteerCount, k, minScore);
+        }
+
+        /**
+         * Top-K over a strided slice, sharing the matcher's heap; ties keep the lower index
+         */
+        private int[] topK(int offset, int stride, int count, int k, float minScore) {
+            int capacity = Math.max(0, Math.min(k, count));
+            if (capacity == 0) {
+                return new int[0];
+            }
+            EmergencyMatcher.TopK top = new EmergencyMatcher.TopK(capacity);
+            for (int i = 0; i < count; i++) {
+                float score = scores[offset + i * stride];
+                if (score >= minScore) {
+                    top.offer(score, i);
+                }
+            }
+            return top.drainIndices();
+        }
+    }
+}
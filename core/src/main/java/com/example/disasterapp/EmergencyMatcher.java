@@ -0,0 +1,617 @@
+package com.example.disasterapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+public class EmergencyMatcher {
+    // Used when a volunteer has coordinates but never picked a radius
+    private static final double DEFAULT_RADIUS_KM = 8.0;
+
+    // Time recency is measured against; tests pin it
+    static volatile LongSupplier clock = System::currentTimeMillis;
+
+    /**
+     * Match a volunteer to emergencies and return sorted list by match score.
+     * Emergencies outside the volunteer's radius are skipped without scoring,
+     * the same as topMatches.
+     */
+    public static List<EmergencyMatch> matchVolunteerToEmergencies(
+            Volunteer volunteer,
+            List<EmergencyRequest> emergencies) {
+        return matchVolunteerToEmergencies(volunteer, emergencies, RadiusFilter.of(volunteer));
+    }
+
+    /**
+     * Full ranking behind a caller-owned radius filter
+     */
+    public static List<EmergencyMatch> matchVolunteerToEmergencies(
+            Volunteer volunteer,
+            List<EmergencyRequest> emergencies,
+            RadiusFilter radiusFilter) {
+
+        List<EmergencyMatch> matches = new ArrayList<>();
+        ScoringRules rules = ScoringRules.active();
+        long now = clock.getAsLong();
+
+        for (EmergencyRequest emergency : emergencies) {
+            if (!radiusFilter.accepts(emergency)) {
+                continue;
+            }
+            double score = calculateMatchScore(rules, volunteer, emergency, now);
+            matches.add(new EmergencyMatch(emergency, score));
+        }
+
+        // Sort by score (highest first)
+        Collections.sort(matches, (m1, m2) -> Double.compare(m2.getScore(), m1.getScore()));
+
+        return matches;
+    }
+
+    /**
+     * Return the k best matches scoring at least minScore, highest first.
+     * Uses a fixed-size min-heap of (score, index) pairs, so candidates below the
+     * threshold or below the current k-th best never allocate an EmergencyMatch.
+     * Ties keep the input order, same as matchVolunteerToEmergencies.
+     * Emergencies outside the volunteer's radius are skipped without scoring.
+     */
+    public static List<EmergencyMatch> topMatches(
+            Volunteer volunteer,
+            List<EmergencyRequest> emergencies,
+            int k,
+            double minScore) {
+        return topMatches(volunteer, emergencies, k, minScore, RadiusFilter.of(volunteer));
+    }
+
+    /**
+     * Top-K behind a caller-owned radius filter, whose counters then show how
+     * much scoring it saved
+     */
+    public static List<EmergencyMatch> topMatches(
+            Volunteer volunteer,
+            List<EmergencyRequest> emergencies,
+            int k,
+            double minScore,
+            RadiusFilter radiusFilter) {
+
+        if (k <= 0 || emergencies.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        TopK top = new TopK(Math.min(k, emergencies.size()));
+        ScoringRules rules = ScoringRules.active();
+        long now = clock.getAsLong();
+
+        for (int i = 0; i < emergencies.size(); i++) {
+            EmergencyRequest emergency = emergencies.get(i);
+            if (!radiusFilter.accepts(emergency)) {
+                continue;
+            }
+            double score = calculateMatchScore(rules, volunteer, emergency, now);
+            if (score >= minScore) {
+                top.offer(score, i);
+            }
+        }
+
+        return top.drain((i, score) -> new EmergencyMatch(emergencies.get(i), score));
+    }
+
+    /**
+     * Top-K over only the emergencies in grid cells overlapping the volunteer's radius
+     */
+    public static List<EmergencyMatch> topMatches(
+            Volunteer volunteer,
+            GeoGridIndex index,
+            int k,
+            double minScore) {
+        return topMatches(volunteer, index.candidatesFor(volunteer), k, minScore);
+    }
+
+    /**
+     * Top-K straight from a columnar snapshot. The volunteer's skill score for
+     * every type category is worked out once, so each emergency costs a few
+     * array reads plus the distance score. Out-of-radius rows are dropped
+     * from the coordinate columns before any of that.
+     */
+    public static List<EmergencyMatch> topMatches(
+            Volunteer volunteer,
+            EmergencySnapshot snapshot,
+            int k,
+            double minScore) {
+        return topMatches(volunteer, snapshot, k, minScore, RadiusFilter.of(volunteer));
+    }
+
+    /**
+     * Snapshot top-K behind a caller-owned radius filter
+     */
+    public static List<EmergencyMatch> topMatches(
+            Volunteer volunteer,
+            EmergencySnapshot snapshot,
+            int k,
+            double minScore,
+            RadiusFilter radiusFilter) {
+
+        int count = snapshot.size();
+        if (k <= 0 || count == 0) {
+            return new ArrayList<>();
+        }
+
+        ScoringRules rules = snapshot.rules;
+        double[] skillScores = skillScoresByType(rules, volunteer);
+        SkillSet skills = volunteer.skillSet();
+        WeeklyWindows available = volunteer.availabilityWindows();
+        LocationKey area = volunteer.serviceAreaKey();
+        boolean located = GeoUtils.hasCoordinates(volunteer.getLatitude(), volunteer.getLongitude());
+        long now = clock.getAsLong();
+        TopK top = new TopK(Math.min(k, count));
+
+        for (int i = 0; i < count; i++) {
+            if (!radiusFilter.accepts(snapshot.latitude[i], snapshot.longitude[i])) {
+                continue;
+            }
+            double skillScore;
+            if (snapshot.requiresSkills(i)) {
+                skillScore = rules.coverageScore(snapshot.coverage(skills, i));
+            } else {
+                int typeCategory = snapshot.typeCategory[i];
+                skillScore = typeCategory < 0 ? 50.0 : skillScores[typeCategory];
+            }
+            double urgencyScore = snapshot.urgencyScore(i);
+
+            double distanceScore;
+            if (located && snapshot.hasCoordinates(i)) {
+                distanceScore = calculateDistanceScore(GeoUtils.haversineKm(
+                        volunteer.getLatitude(), volunteer.getLongitude(),
+                        snapshot.latitude[i], snapshot.longitude[i]), volunteer.getRadius());
+            } else {
+                distanceScore = calculateLocationScore(area, snapshot.location[i]);
+            }
+
+            double availabilityScore = calculateAvailabilityScore(available, snapshot.timeWindow[i]);
+            double recencyScore = rules.recencyScore(snapshot.timestamp[i], now);
+
+            double score = rules.weightedScore(skillScore, urgencyScore, distanceScore, availabilityScore,
+                    recencyScore);
+            if (MatchTrace.enabled) {
+                MatchTrace.record(snapshot.get(i).getType(), skillScore, urgencyScore, distanceScore,
+                        availabilityScore, recencyScore, score);
+            }
+            if (score >= minScore) {
+                top.offer(score, i);
+            }
+        }
+
+        return top.drain((i, score) -> new EmergencyMatch(snapshot.get(i), score));
+    }
+
+    /**
+     * The reverse query: the n available volunteers best matched to one
+     * emergency, highest first, e.g. to decide who to alert about it. Only
+     * the index's candidates are scored, with the same rules as topMatches.
+     */
+    public static List<VolunteerMatch> topVolunteers(
+            EmergencyRequest emergency,
+            VolunteerIndex index,
+            int n,
+            double minScore) {
+
+        List<Volunteer> candidates = index.candidatesFor(emergency);
+        if (n <= 0 || candidates.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        TopK top = new TopK(Math.min(n, candidates.size()));
+        ScoringRules rules = ScoringRules.active();
+        long now = clock.getAsLong();
+
+        for (int i = 0; i < candidates.size(); i++) {
+            double score = calculateMatchScore(rules, candidates.get(i), emergency, now);
+            if (score >= minScore) {
+                top.offer(score, i);
+            }
+        }
+
+        return top.drain((i, score) -> new VolunteerMatch(candidates.get(i), score));
+    }
+
+    /**
+     * Skill score for each type category, same rules as calculateSkillScore
+     */
+    private static double[] skillScoresByType(ScoringRules rules, Volunteer volunteer) {
+        SkillRelevanceTable table = rules.getSkillTable();
+        double[] scores = new double[table.getTypeCategoryCount()];
+        int[] skillCategories = volunteer.skillCategories(table);
+        if (skillCategories.length == 0) {
+            Arrays.fill(scores, 30.0);
+            return scores;
+        }
+        for (int skillCategory : skillCategories) {
+            for (int type = 0; type < scores.length; type++) {
+                scores[type] = Math.max(scores[type], table.score(skillCategory, type));
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Calculate match score between volunteer and emergency (0-100)
+     */
+    static double calculateMatchScore(Volunteer volunteer, EmergencyRequest emergency) {
+        return calculateMatchScore(ScoringRules.active(), volunteer, emergency);
+    }
+
+    /**
+     * Match score under a specific rule set, so a batch can pin one set throughout
+     */
+    static double calculateMatchScore(ScoringRules rules, Volunteer volunteer, EmergencyRequest emergency) {
+        return calculateMatchScore(rules, volunteer, emergency, clock.getAsLong());
+    }
+
+    /**
+     * Match score as of a given time, so every emergency in a pass ages from the same instant
+     */
+    static double calculateMatchScore(ScoringRules rules, Volunteer volunteer, EmergencyRequest emergency,
+                                      long now) {
+        double skillScore = calculateSkillScore(rules, volunteer, emergency);
+        double urgencyScore = calculateUrgencyScore(rules, emergency);
+        double distanceScore = calculateDistanceScore(volunteer, emergency);
+        double availabilityScore = calculateAvailabilityScore(volunteer.availabilityWindows(),
+                emergency.timeWindow());
+        double recencyScore = rules.recencyScore(emergency.timestampMillis(), now);
+
+        double totalScore = rules.weightedScore(skillScore, urgencyScore, distanceScore, availabilityScore,
+                recencyScore);
+
+        if (MatchTrace.enabled) {
+            MatchTrace.record(emergency.getType(), skillScore, urgencyScore, distanceScore,
+                    availabilityScore, recencyScore, totalScore);
+        }
+
+        return totalScore;
+    }
+
+    /**
+     * Match score without its recency share, which ScoreCache keeps so its
+     * entries don't go stale as emergencies age
+     */
+    static double calculateTimelessScore(ScoringRules rules, Volunteer volunteer, EmergencyRequest emergency) {
+        return rules.timelessScore(
+                calculateSkillScore(rules, volunteer, emergency),
+                calculateUrgencyScore(rules, emergency),
+                calculateDistanceScore(volunteer, emergency),
+                calculateAvailabilityScore(volunteer.availabilityWindows(), emergency.timeWindow()));
+    }
+
+    /**
+     * Calculate skill match score (0-100).
+     * Scored by how many of the emergency's required skills the volunteer covers;
+     * emergencies without recognisable required skills fall back to the type rules.
+     */
+    static double calculateSkillScore(ScoringRules rules, Volunteer volunteer, EmergencyRequest emergency) {
+        SkillSet required = emergency.requiredSkillSet();
+        if (!required.isEmpty()) {
+            return rules.coverageScore(volunteer.skillSet().coverageOf(required));
+        }
+
+        // Map emergency types to relevant skills using the compiled lookup table,
+        // with both sides' categories cached on the records
+        SkillRelevanceTable table = rules.getSkillTable();
+        int typeCategory = emergency.typeCategory(table);
+
+        if (typeCategory < 0) {
+            return 50.0; // Neutral score
+        }
+
+        int[] skillCategories = volunteer.skillCategories(table);
+        if (skillCategories.length == 0) {
+            return 30.0; // Low score but not zero - anyone can help
+        }
+
+        double maxScore = 0.0;
+
+        for (int skillCategory : skillCategories) {
+            double score = table.score(skillCategory, typeCategory);
+            if (score > maxScore) {
+                maxScore = score;
+            }
+        }
+
+        return maxScore;
+    }
+
+    /**
+     * Calculate urgency score (0-100)
+     */
+    static double calculateUrgencyScore(ScoringRules rules, EmergencyRequest emergency) {
+        return rules.urgencyScore(emergency.getUrgency());
+    }
+
+    /**
+     * Calculate availability score (0-100): the share of the emergency's time
+     * window that falls inside the volunteer's weekly availability
+     */
+    static double calculateAvailabilityScore(WeeklyWindows available, WeeklyWindows needed) {
+        if (available.isEmpty() || needed.isEmpty()) {
+            return 50.0; // Neutral if either side gave no times
+        }
+        return 100.0 * available.coverageOf(needed);
+    }
+
+    /**
+     * Calculate distance score (0-100).
+     * Uses haversine distance against the volunteer's radius when both sides have
+     * coordinates, otherwise falls back to comparing the location text.
+     */
+    static double calculateDistanceScore(Volunteer volunteer, EmergencyRequest emergency) {
+        if (GeoUtils.hasCoordinates(volunteer.getLatitude(), volunteer.getLongitude())
+                && GeoUtils.hasCoordinates(emergency.getLatitude(), emergency.getLongitude())) {
+            double distanceKm = GeoUtils.haversineKm(volunteer.getLatitude(), volunteer.getLongitude(),
+                    emergency.getLatitude(), emergency.getLongitude());
+            return calculateDistanceScore(distanceKm, volunteer.getRadius());
+        }
+
+        return calculateLocationScore(volunteer.serviceAreaKey(), emergency.locationKey());
+    }
+
+    /**
+     * Score two tokenized location texts: 100 for the same place, 80 when one
+     * lies within the other, 65 for a shared county or a shared significant
+     * word, 40 otherwise. Only int comparisons; the text was tokenized once.
+     */
+    static double calculateLocationScore(LocationKey area, LocationKey location) {
+        if (area.isEmpty() || location.isEmpty()) {
+            return 50.0; // Neutral if location data missing
+        }
+
+        if (area.sameTokens(location)) {
+            return 100.0;
+        }
+
+        double score = 40.0; // Different locations
+        if (area.containsRun(location) || location.containsRun(area)) {
+            // e.g. "Nairobi CBD" contains "Nairobi"
+            score = 80.0;
+        } else if (area.sharesSignificantToken(location)) {
+            score = 65.0;
+        }
+
+        if (area.placeId >= 0 && location.placeId >= 0) {
+            Gazetteer gazetteer = Gazetteer.get();
+            if (area.placeId == location.placeId) {
+                return 100.0;
+            }
+            if (gazetteer.isWithin(area.placeId, location.placeId)
+                    || gazetteer.isWithin(location.placeId, area.placeId)) {
+                score = Math.max(score, 80.0);
+            } else if (gazetteer.commonAncestor(area.placeId, location.placeId) >= 0) {
+                score = Math.max(score, 65.0);
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Score a known distance: 100 on the spot, 60 at the edge of the radius,
+     * then decaying towards 0 the further outside it the emergency is
+     */
+    static double calculateDistanceScore(double distanceKm, double radiusKm) {
+        if (radiusKm <= 0) {
+            radiusKm = DEFAULT_RADIUS_KM;
+        }
+        if (distanceKm <= radiusKm) {
+            return 100.0 - 40.0 * (distanceKm / radiusKm);
+        }
+        return 60.0 * radiusKm / distanceKm;
+    }
+
+    /**
+     * Filter emergencies by minimum match score
+     */
+    public static List<EmergencyMatch> filterByMinimumScore(
+            List<EmergencyMatch> matches, double minScore) {
+        List<EmergencyMatch> filtered = new ArrayList<>();
+        for (EmergencyMatch match : matches) {
+            if (match.getScore() >= minScore) {
+                filtered.add(match);
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Get the best match (highest score)
+     */
+    public static EmergencyMatch getBestMatch(List<EmergencyMatch> matches) {
+        if (matches == null || matches.isEmpty()) {
+            return null;
+        }
+        return matches.get(0); // Already sorted
+    }
+
+    /**
+     * Builds a result from a TopK entry: the candidate's input index and its score
+     */
+    interface MatchFactory<M> {
+        M create(int index, double score);
+    }
+
+    /**
+     * Fixed-size min-heap of (score, index) pairs, so candidates below the
+     * current k-th best never allocate an EmergencyMatch. Equal scores keep
+     * the earlier index.
+     */
+    static final class TopK {
+        private final double[] scores;
+        private final int[] indices;
+        private int size;
+
+        TopK(int capacity) {
+            scores = new double[capacity];
+            indices = new int[capacity];
+        }
+
+        void offer(double score, int index) {
+            if (size < scores.length) {
+                scores[size] = score;
+                indices[size] = index;
+                siftUp(size);
+                size++;
+            } else if (score > scores[0]) {
+                // Equal scores lose to the earlier candidate already in the heap
+                scores[0] = score;
+                indices[0] = index;
+                siftDown(0, size);
+            }
+        }
+
+        /**
+         * Empty the heap into best-first matches
+         */
+        <M> List<M> drain(MatchFactory<M> matchAt) {
+            // Pop the worst remaining entry each time, then reverse
+            List<M> result = new ArrayList<>(size);
+            for (int last = size - 1; last >= 0; last--) {
+                result.add(matchAt.create(indices[0], scores[0]));
+                scores[0] = scores[last];
+                indices[0] = indices[last];
+                siftDown(0, last);
+            }
+            size = 0;
+
+            Collections.reverse(result);
+            return result;
+        }
+
+        /**
+         * Empty the heap into best-first candidate indices
+         */
+        int[] drainIndices() {
+            int[] result = new int[size];
+            for (int last = size - 1; last >= 0; last--) {
+                result[last] = indices[0];
+                scores[0] = scores[last];
+                indices[0] = indices[last];
+                siftDown(0, last);
+            }
+            size = 0;
+            return result;
+        }
+
+        /**
+         * Heap order: lower score first, and for equal scores the later input first
+         */
+        private boolean before(int a, int b) {
+            if (scores[a] != scores[b]) {
+                return scores[a] < scores[b];
+            }
+            return indices[a] > indices[b];
+        }
+
+        private void siftUp(int pos) {
+            while (pos > 0) {
+                int parent = (pos - 1) >>> 1;
+                if (!before(pos, parent)) {
+                    break;
+                }
+                swap(pos, parent);
+                pos = parent;
+            }
+        }
+
+        private void siftDown(int pos, int size) {
+            while (true) {
+                int left = 2 * pos + 1;
+                if (left >= size) {
+                    break;
+                }
+                int child = left;
+                int right = left + 1;
+                if (right < size && before(right, left)) {
+                    child = right;
+                }
+                if (!before(child, pos)) {
+                    break;
+                }
+                swap(pos, child);
+                pos = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+            int index = indices[a];
+            indices[a] = indices[b];
+            indices[b] = index;
+        }
+    }
+
+    /**
+     * Inner class to hold emergency with its match score
+     */
+    public static class EmergencyMatch {
+        private EmergencyRequest emergency;
+        private double score;
+        private String matchReason;
+
+        public EmergencyMatch(EmergencyRequest emergency, double score) {
+            this.emergency = emergency;
+            this.score = score;
+            this.matchReason = generateMatchReason(score);
+        }
+
+        private String generateMatchReason(double score) {
+            if (score >= 80) {
+                return "Excellent match for your skills!";
+            } else if (score >= 65) {
+                return "Great match - you can help here";
+            } else if (score >= 50) {
+                return "Good match - your skills are needed";
+            } else if (score >= 35) {
+                return "Moderate match - general help needed";
+            } else {
+                return "You can still help make a difference";
+            }
+        }
+
+        public EmergencyRequest getEmergency() {
+            return emergency;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public String getMatchReason() {
+            return matchReason;
+        }
+
+        public String getMatchPercentage() {
+            return String.format("%.0f%% match", score);
+        }
+    }
+
+    /**
+     * A volunteer with their match score for one emergency
+     */
+    public static class VolunteerMatch {
+        private final Volunteer volunteer;
+        private final double score;
+
+        public VolunteerMatch(Volunteer volunteer, double score) {
+            this.volunteer = volunteer;
+            this.score = score;
+        }
+
+        public Volunteer getVolunteer() {
+            return volunteer;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
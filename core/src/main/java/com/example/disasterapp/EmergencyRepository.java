@@ -0,0 +1,328 @@
+package com.example.disasterapp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * App-wide in-memory copy of /emergencies behind one shared subscription.
+ *
+ * Screens subscribe an Observer instead of attaching their own database
+ * listener. The first subscriber attaches the Source; the last one to leave
+ * detaches it after a linger delay, so moving between screens never drops
+ * and re-downloads the node. A late subscriber is replayed the current
+ * emergencies straight from memory. Held emergencies are also kept in a
+ * GeoGridIndex, so a subscriber matching for one volunteer is only replayed
+ * the ones in grid cells their radius reaches; records saved without
+ * coordinates are placed by their location text first (locateFromText).
+ * A delivery that changes a scored field of a held emergency bumps its
+ * version; one that doesn't, like a re-delivery after a re-attach, keeps it.
+ *
+ * When the source is re-attached after a detach, the database delivers every
+ * child again. Those already held are counted as duplicate bytes, and any
+ * held emergency not delivered again by the end of the load was deleted while
+ * detached, so it is removed.
+ *
+ * Not thread-safe: call it, the sink and the scheduler's tasks on one thread,
+ * e.g. the BackgroundPipeline worker. Observers are called on that thread.
+ */
+public final class EmergencyRepository {
+
+    /**
+     * The database side, e.g. a ChildEventListener on /emergencies
+     */
+    public interface Source {
+        /**
+         * Start delivering every child to the sink, then onLoaded() once the
+         * initial children are in, then changes as they happen
+         */
+        void attach(Sink sink);
+
+        void detach();
+    }
+
+    /**
+     * Receives one attachment's children; calls after that attachment ended are ignored
+     */
+    public interface Sink {
+        void onChildChanged(EmergencyRequest emergency);
+
+        void onChildRemoved(String emergencyId);
+
+        void onLoaded();
+    }
+
+    /**
+     * Implement whichever callbacks the screen needs
+     */
+    public interface Observer {
+        /**
+         * An emergency was added or changed
+         */
+        default void onEmergencyChanged(EmergencyRequest emergency) {
+        }
+
+        default void onEmergencyRemoved(String emergencyId) {
+        }
+
+        /**
+         * Every emergency, immutable and in database order: once the initial
+         * load is in (at once for a late subscriber) and after each change since
+         */
+        default void onEmergencies(List<EmergencyRequest> emergencies) {
+        }
+    }
+
+    // Long enough to cover an activity switch from the bottom bar
+    public static final long DEFAULT_LINGER_MS = 5_000;
+
+    private final Source source;
+    private final StreamingMatcher.Scheduler scheduler;
+    private final long lingerMillis;
+
+    private final Map<String, EmergencyRequest> emergencies = new LinkedHashMap<>();
+    private final GeoGridIndex grid = new GeoGridIndex();
+    private final List<Observer> observers = new ArrayList<>();
+    private List<EmergencyRequest> snapshot; // built on demand, dropped on every change
+
+    private AttachedSink attached; // null while detached
+    private boolean loaded;
+    private long detachToken; // bumped to cancel a pending linger detach
+
+    private long attachCount;
+    private long detachCount;
+    private long downloadedBytes;
+    private long duplicateBytes;
+
+    public EmergencyRepository(Source source, StreamingMatcher.Scheduler scheduler) {
+        this(source, scheduler, DEFAULT_LINGER_MS);
+    }
+
+    public EmergencyRepository(Source source, StreamingMatcher.Scheduler scheduler, long lingerMillis) {
+        this.source = source;
+        this.scheduler = scheduler;
+        this.lingerMillis = lingerMillis;
+    }
+
+    /**
+     * Start observing; attaches the source if nobody else is
+     */
+    public void subscribe(Observer observer) {
+        subscribe(observer, null);
+    }
+
+    /**
+     * Start observing for one volunteer: the catch-up replay skips emergencies
+     * in grid cells outside their radius, which the volunteer's RadiusFilter
+     * would drop anyway. Live changes are delivered in full.
+     */
+    public void subscribe(Observer observer, Volunteer near) {
+        if (observers.contains(observer)) {
+            return;
+        }
+        observers.add(observer);
+        detachToken++; // a lingering subscription is picked up again
+
+        if (attached == null) {
+            attached = new AttachedSink();
+            attachCount++;
+            source.attach(attached);
+            return;
+        }
+        // Catch up on whatever has arrived so far, loaded or not
+        Iterable<EmergencyRequest> replay = near != null ? grid.candidatesFor(near) : emergencies.values();
+        for (EmergencyRequest emergency : replay) {
+            observer.onEmergencyChanged(emergency);
+        }
+        if (loaded) {
+            observer.onEmergencies(snapshot());
+        }
+    }
+
+    /**
+     * Stop observing; the last observer out detaches the source after the linger delay
+     */
+    public void unsubscribe(Observer observer) {
+        if (!observers.remove(observer) || !observers.isEmpty() || attached == null) {
+            return;
+        }
+        long token = ++detachToken;
+        if (lingerMillis <= 0) {
+            detach();
+        } else {
+            scheduler.schedule(() -> {
+                if (token == detachToken && observers.isEmpty()) {
+                    detach();
+                }
+            }, lingerMillis);
+        }
+    }
+
+    /**
+     * The held emergency with this id, or null
+     */
+    public EmergencyRequest get(String emergencyId) {
+        return emergencies.get(emergencyId);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean isAttached() {
+        return attached != null;
+    }
+
+    public int getObserverCount() {
+        return observers.size();
+    }
+
+    public long getAttachCount() {
+        return attachCount;
+    }
+
+    public long getDetachCount() {
+        return detachCount;
+    }
+
+    /**
+     * Estimated bytes of every child delivered since the repository was created
+     */
+    public long getDownloadedBytes() {
+        return downloadedBytes;
+    }
+
+    /**
+     * Estimated bytes of children delivered again after a re-attach, which a
+     * subscription kept alive would not have downloaded
+     */
+    public long getDuplicateBytes() {
+        return duplicateBytes;
+    }
+
+    /**
+     * Rough wire size of an emergency: its text fields plus its numbers
+     */
+    static long estimateBytes(EmergencyRequest emergency) {
+        return length(emergency.getId()) + length(emergency.getType()) + length(emergency.getLocation())
+                + length(emergency.getUrgency()) + length(emergency.getDescription())
+                + length(emergency.getVolunteers()) + length(emergency.getDateTime())
+                + length(emergency.getRequiredSkills()) + 4 * Long.BYTES;
+    }
+
+    private static long length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private void detach() {
+        attached.ended = true;
+        attached = null;
+        loaded = false;
+        detachCount++;
+        source.detach();
+    }
+
+    private List<EmergencyRequest> snapshot() {
+        List<EmergencyRequest> current = snapshot;
+        if (current == null) {
+            current = Collections.unmodifiableList(new ArrayList<>(emergencies.values()));
+            snapshot = current;
+        }
+        return current;
+    }
+
+    private void changed(EmergencyRequest emergency) {
+        for (Observer observer : new ArrayList<>(observers)) {
+            observer.onEmergencyChanged(emergency);
+        }
+    }
+
+    private void removed(String emergencyId) {
+        for (Observer observer : new ArrayList<>(observers)) {
+            observer.onEmergencyRemoved(emergencyId);
+        }
+    }
+
+    private void publishSnapshot() {
+        List<EmergencyRequest> current = snapshot();
+        for (Observer observer : new ArrayList<>(observers)) {
+            observer.onEmergencies(current);
+        }
+    }
+
+    private final class AttachedSink implements Sink {
+        // Ids delivered by this attachment before it finished loading
+        private final Set<String> seen = new HashSet<>();
+        boolean ended;
+
+        @Override
+        public void onChildChanged(EmergencyRequest emergency) {
+            if (ended || emergency.getId() == null) {
+                return;
+            }
+            long bytes = estimateBytes(emergency);
+            downloadedBytes += bytes;
+            if (!loaded) {
+                seen.add(emergency.getId());
+                if (emergencies.containsKey(emergency.getId())) {
+                    duplicateBytes += bytes;
+                }
+            }
+            emergency.locateFromText();
+            EmergencyRequest previous = emergencies.put(emergency.getId(), emergency);
+            if (previous != null) {
+                grid.remove(previous);
+                // The database keeps no version, so count real edits here for ScoreCache
+                emergency.withVersion(previous.sameScoredFields(emergency)
+                        ? previous.version() : previous.version() + 1);
+            }
+            grid.add(emergency);
+            snapshot = null;
+            changed(emergency);
+            if (loaded) {
+                publishSnapshot();
+            }
+        }
+
+        @Override
+        public void onChildRemoved(String emergencyId) {
+            EmergencyRequest previous = ended ? null : emergencies.remove(emergencyId);
+            if (previous == null) {
+                return;
+            }
+            grid.remove(previous);
+            seen.remove(emergencyId);
+            snapshot = null;
+            removed(emergencyId);
+            if (loaded) {
+                publishSnapshot();
+            }
+        }
+
+        @Override
+        public void onLoaded() {
+            if (ended || loaded) {
+                return;
+            }
+            // Held from an earlier attachment but not delivered again: deleted meanwhile
+            List<String> stale = new ArrayList<>();
+            for (String emergencyId : emergencies.keySet()) {
+                if (!seen.contains(emergencyId)) {
+                    stale.add(emergencyId);
+                }
+            }
+            for (String emergencyId : stale) {
+                grid.remove(emergencies.remove(emergencyId));
+                snapshot = null;
+                removed(emergencyId);
+            }
+            seen.clear();
+            loaded = true;
+            publishSnapshot();
+        }
+    }
+}
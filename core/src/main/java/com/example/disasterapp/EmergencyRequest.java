@@ -0,0 +1,254 @@
+package com.example.disasterapp;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Objects;
+
+public class EmergencyRequest {
+    private String id;
+    private String type;
+    private String location;
+    private String urgency;
+    private String description;
+    private String volunteers;
+    private String dateTime;
+    private String requiredSkills;
+    private double latitude;
+    private double longitude;
+    private long version; // in-memory edit count, bumped when a scored field changes; not a bean property
+    private long timestamp; // dateTime as epoch millis; 0 on records written before it existed
+    private transient LocationKey locationKey; // tokenized location, built on first score
+    private transient SkillSet requiredSkillSet; // canonical required skills, built on first score
+    private transient SkillRelevanceTable.Resolved typeCategory; // type's category under the last table scored with
+    private transient WeeklyWindows timeWindow; // parsed dateTime, built on first score
+    private transient long parsedTimestamp = -1; // dateTime as epoch millis for legacy records; -1 until parsed
+
+    // Default constructor (required for Firebase)
+    public EmergencyRequest() {
+    }
+
+    // Full constructor
+    public EmergencyRequest(String id, String type, String location, String urgency,
+                            String description, String volunteers, String dateTime, String requiredSkills) {
+        this.id = id;
+        this.type = type;
+        this.location = location;
+        this.urgency = urgency;
+        this.description = description;
+        this.volunteers = volunteers;
+        this.dateTime = dateTime;
+        this.requiredSkills = requiredSkills;
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getUrgency() {
+        return urgency;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getVolunteers() {
+        return volunteers;
+    }
+
+    public String getDateTime() {
+        return dateTime;
+    }
+
+    public String getRequiredSkills() {
+        return requiredSkills;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    LocationKey locationKey() {
+        LocationKey key = locationKey;
+        if (key == null) {
+            key = LocationKey.of(location);
+            locationKey = key;
+        }
+        return key;
+    }
+
+    SkillSet requiredSkillSet() {
+        SkillSet set = requiredSkillSet;
+        if (set == null) {
+            set = SkillVocabulary.get().encode(requiredSkills);
+            requiredSkillSet = set;
+        }
+        return set;
+    }
+
+    /**
+     * Give a record saved without coordinates those of the place its location
+     * names, so older requests still reach the grid and radius filter. False
+     * if it stays unlocated. Kept in memory; nothing is written back.
+     */
+    public boolean locateFromText() {
+        if (GeoUtils.hasCoordinates(latitude, longitude)) {
+            return true;
+        }
+        LocationKey key = locationKey();
+        if (!key.hasPlaceCoordinates()) {
+            return false;
+        }
+        latitude = key.getPlaceLatitude();
+        longitude = key.getPlaceLongitude();
+        return true;
+    }
+
+    /**
+     * Relevance category of the type under the given table, -1 without a type
+     */
+    int typeCategory(SkillRelevanceTable table) {
+        SkillRelevanceTable.Resolved resolved = typeCategory;
+        if (resolved == null || resolved.table != table) {
+            resolved = table.resolveType(type);
+            typeCategory = resolved;
+        }
+        return resolved.categories[0];
+    }
+
+    /**
+     * Weekly window this emergency needs volunteers for, parsed once from dateTime.
+     * Not a bean getter, so Firebase skips it.
+     */
+    public WeeklyWindows timeWindow() {
+        WeeklyWindows window = timeWindow;
+        if (window == null) {
+            window = WeeklyWindows.ofDateTime(dateTime);
+            timeWindow = window;
+        }
+        return window;
+    }
+
+    /**
+     * Whether every field match scores read is equal to the other's, so a
+     * score computed for one holds for the other
+     */
+    boolean sameScoredFields(EmergencyRequest other) {
+        return Objects.equals(type, other.type)
+                && Objects.equals(location, other.location)
+                && Objects.equals(urgency, other.urgency)
+                && Objects.equals(dateTime, other.dateTime)
+                && Objects.equals(requiredSkills, other.requiredSkills)
+                && latitude == other.latitude
+                && longitude == other.longitude;
+    }
+
+    /**
+     * When help is needed, as epoch millis: the stored timestamp, or for legacy
+     * records dateTime read once in the device's time zone. 0 if unknown.
+     * Not a bean getter, so Firebase skips it.
+     */
+    public long timestampMillis() {
+        if (timestamp > 0) {
+            return timestamp;
+        }
+        long parsed = parsedTimestamp;
+        if (parsed < 0) {
+            parsed = parseTimestamp(dateTime);
+            parsedTimestamp = parsed;
+        }
+        return parsed;
+    }
+
+    /**
+     * Epoch millis of a "d/M/yyyy H:m" dateTime in the device's time zone, 0 if unreadable
+     */
+    public static long parseTimestamp(String dateTime) {
+        int[] fields = WeeklyWindows.dateTimeFields(dateTime);
+        if (fields == null) {
+            return 0;
+        }
+        Calendar calendar = new GregorianCalendar(fields[2], fields[1] - 1, fields[0]);
+        if (fields.length == 5) {
+            calendar.set(Calendar.HOUR_OF_DAY, fields[3]);
+            calendar.set(Calendar.MINUTE, fields[4]);
+        }
+        return calendar.getTimeInMillis();
+    }
+
+    // Setters
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+        this.typeCategory = null;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+        this.locationKey = null;
+    }
+
+    public void setUrgency(String urgency) {
+        this.urgency = urgency;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public void setVolunteers(String volunteers) {
+        this.volunteers = volunteers;
+    }
+
+    public void setDateTime(String dateTime) {
+        this.dateTime = dateTime;
+        this.timeWindow = null;
+        this.parsedTimestamp = -1;
+    }
+
+    public void setRequiredSkills(String requiredSkills) {
+        this.requiredSkills = requiredSkills;
+        this.requiredSkillSet = null;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+
+    public EmergencyRequest withVersion(long version) {
+        this.version = version;
+        return this;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+}
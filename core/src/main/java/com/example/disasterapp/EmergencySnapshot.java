@@ -0,0 +1,146 @@
+package com.example.disasterapp;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-per-field copy of the scoring inputs of a list of emergencies.
+ *
+ * Build one per data change; EmergencyMatcher.topMatches(volunteer, snapshot,
+ * ...) then scores from primitive arrays instead of following each
+ * EmergencyRequest's String fields. Type categories and urgency scores are
+ * resolved under the ScoringRules active at build time, which the snapshot
+ * keeps using even if another rule set is installed later.
+ *
+ * The snapshot keeps references to the EmergencyRequests it was built from,
+ * so matches can return them; its columns are held in addition to those
+ * objects, not in place of them.
+ *
+ * Immutable once built, so any number of threads may score against it.
+ */
+public final class EmergencySnapshot {
+
+    final ScoringRules rules;
+    private final EmergencyRequest[] emergencies;
+
+    final int[] typeCategory; // -1 when the type is missing
+    final long[] requiredSkills; // SkillVocabulary IDs below 64
+    final BitSet[] requiredOverflow; // IDs from 64 up; null unless the vocabulary is that large
+    final byte[] urgencyLevel; // index into urgencyLevelScores, read unsigned
+    final double[] urgencyLevelScores;
+    final double[] latitude;
+    final double[] longitude;
+    final LocationKey[] location;
+    final WeeklyWindows[] timeWindow;
+    final long[] timestamp; // epoch millis, 0 when unknown; recency is scored against the time of each pass
+
+    private EmergencySnapshot(ScoringRules rules, EmergencyRequest[] emergencies,
+                              int[] typeCategory, long[] requiredSkills, BitSet[] requiredOverflow,
+                              byte[] urgencyLevel, double[] urgencyLevelScores,
+                              double[] latitude, double[] longitude, LocationKey[] location,
+                              WeeklyWindows[] timeWindow, long[] timestamp) {
+        this.rules = rules;
+        this.emergencies = emergencies;
+        this.typeCategory = typeCategory;
+        this.requiredSkills = requiredSkills;
+        this.requiredOverflow = requiredOverflow;
+        this.urgencyLevel = urgencyLevel;
+        this.urgencyLevelScores = urgencyLevelScores;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.location = location;
+        this.timeWindow = timeWindow;
+        this.timestamp = timestamp;
+    }
+
+    public static EmergencySnapshot of(List<EmergencyRequest> emergencies) {
+        ScoringRules rules = ScoringRules.active();
+        SkillRelevanceTable table = rules.getSkillTable();
+        int count = emergencies.size();
+
+        EmergencyRequest[] emergencyArray = emergencies.toArray(new EmergencyRequest[0]);
+        int[] typeCategory = new int[count];
+        long[] requiredSkills = new long[count];
+        BitSet[] requiredOverflow = SkillVocabulary.get().size() > 64 ? new BitSet[count] : null;
+        byte[] urgencyLevel = new byte[count];
+        double[] latitude = new double[count];
+        double[] longitude = new double[count];
+        LocationKey[] location = new LocationKey[count];
+        WeeklyWindows[] timeWindow = new WeeklyWindows[count];
+        long[] timestamp = new long[count];
+
+        // Few distinct urgency scores exist, so each gets a one-byte level
+        Map<Double, Integer> levels = new HashMap<>();
+        double[] levelScores = new double[256];
+
+        for (int i = 0; i < count; i++) {
+            EmergencyRequest emergency = emergencyArray[i];
+            typeCategory[i] = emergency.typeCategory(table);
+            SkillSet required = emergency.requiredSkillSet();
+            requiredSkills[i] = required.bits;
+            if (requiredOverflow != null) {
+                requiredOverflow[i] = required.overflow;
+            }
+
+            double urgencyScore = EmergencyMatcher.calculateUrgencyScore(rules, emergency);
+            Integer level = levels.get(urgencyScore);
+            if (level == null) {
+                level = levels.size();
+                if (level == levelScores.length) {
+                    throw new IllegalStateException("More than 256 distinct urgency scores");
+                }
+                levels.put(urgencyScore, level);
+                levelScores[level] = urgencyScore;
+            }
+            urgencyLevel[i] = (byte) (int) level;
+
+            latitude[i] = emergency.getLatitude();
+            longitude[i] = emergency.getLongitude();
+            location[i] = emergency.locationKey();
+            timeWindow[i] = emergency.timeWindow();
+            timestamp[i] = emergency.timestampMillis();
+        }
+
+        double[] urgencyLevelScores = new double[levels.size()];
+        System.arraycopy(levelScores, 0, urgencyLevelScores, 0, urgencyLevelScores.length);
+
+        return new EmergencySnapshot(rules, emergencyArray, typeCategory, requiredSkills,
+                requiredOverflow, urgencyLevel, urgencyLevelScores, latitude, longitude, location, timeWindow,
+                timestamp);
+    }
+
+    public int size() {
+        return emergencies.length;
+    }
+
+    /**
+     * The emergency behind row i, for turning scores back into matches
+     */
+    public EmergencyRequest get(int i) {
+        return emergencies[i];
+    }
+
+    boolean requiresSkills(int i) {
+        return requiredSkills[i] != 0L || (requiredOverflow != null && requiredOverflow[i] != null);
+    }
+
+    /**
+     * Fraction (0-1) of row i's required skills that the given skills cover
+     */
+    double coverage(SkillSet skills, int i) {
+        if (requiredOverflow == null || requiredOverflow[i] == null) {
+            return (double) Long.bitCount(skills.bits & requiredSkills[i]) / Long.bitCount(requiredSkills[i]);
+        }
+        return skills.coverageOf(new SkillSet(requiredSkills[i], requiredOverflow[i]));
+    }
+
+    double urgencyScore(int i) {
+        return urgencyLevelScores[urgencyLevel[i] & 0xFF];
+    }
+
+    boolean hasCoordinates(int i) {
+        return GeoUtils.hasCoordinates(latitude[i], longitude[i]);
+    }
+}
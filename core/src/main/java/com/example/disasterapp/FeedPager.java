@@ -0,0 +1,128 @@
+package com.example.disasterapp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Newest-first feed assembled from database pages.
+ *
+ * The newest page comes from a live limitToLast(pageSize) query and replaces
+ * whatever it covers on every change. Older pages are one-shot reads of
+ * limitToLast(pageSize + 1) ending at the oldest item loaded, so the cursor
+ * item comes back too and is dropped. Items that slide out of the live window
+ * when something new is posted stay in the feed as older items.
+ *
+ * Not thread-safe; keep it on one thread, e.g. the BackgroundPipeline worker.
+ */
+public final class FeedPager<T> {
+
+    private final int pageSize;
+    private final Comparator<T> order; // database order, oldest first
+    private final Function<T, String> keyOf;
+
+    private final List<T> items = new ArrayList<>(); // newest first
+    private List<T> snapshot;
+    private boolean loadingOlder;
+    private boolean exhausted;
+
+    public FeedPager(int pageSize, Comparator<T> order, Function<T, String> keyOf) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        this.pageSize = pageSize;
+        this.order = order;
+        this.keyOf = keyOf;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Every item loaded so far, newest first and immutable
+     */
+    public List<T> getItems() {
+        List<T> current = snapshot;
+        if (current == null) {
+            current = Collections.unmodifiableList(new ArrayList<>(items));
+            snapshot = current;
+        }
+        return current;
+    }
+
+    /**
+     * True once an older page came back short: nothing older is left to load
+     */
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    /**
+     * Apply the live newest page, in any order
+     */
+    public void onNewestPage(List<T> page) {
+        if (page.size() < pageSize) {
+            // The live window covers the whole feed
+            items.clear();
+            exhausted = true;
+        } else {
+            T boundary = Collections.min(page, order);
+            items.removeIf(item -> order.compare(item, boundary) >= 0);
+        }
+        items.addAll(page);
+        items.sort(order.reversed());
+        snapshot = null;
+    }
+
+    /**
+     * The item to end the next older page at, or null when no older page
+     * should be requested (one is in flight, the feed is exhausted, or the
+     * newest page has not arrived). Marks an older page as in flight.
+     */
+    public T beginOlderPage() {
+        if (loadingOlder || exhausted || items.isEmpty()) {
+            return null;
+        }
+        loadingOlder = true;
+        return items.get(items.size() - 1);
+    }
+
+    /**
+     * Apply an older page requested at the cursor from beginOlderPage, in any order
+     */
+    public void onOlderPage(List<T> page) {
+        loadingOlder = false;
+        if (page.size() <= pageSize) {
+            exhausted = true;
+        }
+        if (items.isEmpty()) {
+            return;
+        }
+        T oldest = items.get(items.size() - 1);
+        Set<String> held = new HashSet<>();
+        for (T item : items) {
+            held.add(keyOf.apply(item));
+        }
+        List<T> older = new ArrayList<>();
+        for (T item : page) {
+            if (order.compare(item, oldest) < 0 && held.add(keyOf.apply(item))) {
+                older.add(item);
+            }
+        }
+        older.sort(order.reversed());
+        items.addAll(older);
+        snapshot = null;
+    }
+
+    /**
+     * The older page in flight failed; the next beginOlderPage may retry it
+     */
+    public void cancelOlderPage() {
+        loadingOlder = false;
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.disasterapp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bundled place names (counties and the areas within them) in a token trie.
+ *
+ * Names and aliases are stored as paths of LocationKey token IDs, so
+ * resolving a location is a walk over ints from each token position. Each
+ * place knows its parent, which lets distance scoring tell "inside the same
+ * county" from "somewhere else" without coordinates. Places may also carry
+ * approximate coordinates, used to geocode typed locations.
+ */
+final class Gazetteer {
+
+    private static final String RESOURCE = "kenya_gazetteer.txt";
+
+    private static final Gazetteer DEFAULT = load();
+
+    private final String[] names;
+    private final int[] parents;
+    private final int[] depths;
+    private final double[] latitudes; // NaN when the line has no coordinates
+    private final double[] longitudes;
+
+    // Trie edges keyed by (node << 32 | token); node 0 is the root
+    private final Map<Long, Integer> edges;
+    private final int[] nodePlaces;
+
+    private Gazetteer(String[] names, int[] parents, int[] depths, double[] latitudes,
+                      double[] longitudes, Map<Long, Integer> edges, int[] nodePlaces) {
+        this.names = names;
+        this.parents = parents;
+        this.depths = depths;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.edges = edges;
+        this.nodePlaces = nodePlaces;
+    }
+
+    static Gazetteer get() {
+        return DEFAULT;
+    }
+
+    String name(int place) {
+        return names[place];
+    }
+
+    boolean hasCoordinates(int place) {
+        return !Double.isNaN(latitudes[place]);
+    }
+
+    double latitude(int place) {
+        return latitudes[place];
+    }
+
+    double longitude(int place) {
+        return longitudes[place];
+    }
+
+    /**
+     * Most specific place named anywhere in the tokens, or -1.
+     * Deeper places win ("Westlands, Nairobi" is Westlands), then longer names.
+     */
+    int resolve(int[] tokens) {
+        int best = -1;
+        int bestLength = 0;
+        for (int start = 0; start < tokens.length; start++) {
+            int node = 0;
+            for (int i = start; i < tokens.length; i++) {
+                Integer next = edges.get(edgeKey(node, tokens[i]));
+                if (next == null) {
+                    break;
+                }
+                node = next;
+                int place = nodePlaces[node];
+                int length = i - start + 1;
+                if (place >= 0 && (best < 0 || depths[place] > depths[best]
+                        || (depths[place] == depths[best] && length > bestLength))) {
+                    best = place;
+                    bestLength = length;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * True if ancestor is place itself or one of its parents
+     */
+    boolean isWithin(int place, int ancestor) {
+        for (int p = place; p >= 0; p = parents[p]) {
+            if (p == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Deepest place containing both, or -1 if they are in different counties
+     */
+    int commonAncestor(int a, int b) {
+        while (depths[a] > depths[b]) {
+            a = parents[a];
+        }
+        while (depths[b] > depths[a]) {
+            b = parents[b];
+        }
+        while (a != b) {
+            a = parents[a];
+            b = parents[b];
+            if (a < 0 || b < 0) {
+                return -1;
+            }
+        }
+        return a;
+    }
+
+    private static long edgeKey(int node, int token) {
+        return ((long) node << 32) | (token & 0xFFFFFFFFL);
+    }
+
+    private static Gazetteer load() {
+        try (InputStream in = Gazetteer.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing bundled " + RESOURCE);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            List<String> lines = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+            return parse(lines);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + RESOURCE, e);
+        }
+    }
+
+    static Gazetteer parse(List<String> lines) {
+        List<String> names = new ArrayList<>();
+        List<Integer> parents = new ArrayList<>();
+        List<Integer> depths = new ArrayList<>();
+        List<Double> latitudes = new ArrayList<>();
+        List<Double> longitudes = new ArrayList<>();
+        Map<String, Integer> placeByName = new HashMap<>();
+        Map<Long, Integer> edges = new HashMap<>();
+        List<Integer> nodePlaces = new ArrayList<>();
+        nodePlaces.add(-1); // root
+
+        for (String raw : lines) {
+            String line = raw.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\\|", -1);
+            String name = fields[0].trim();
+            String parentName = fields.length > 1 ? fields[1].trim() : "";
+
+            int parent = -1;
+            if (!parentName.isEmpty()) {
+                Integer found = placeByName.get(parentName.toLowerCase());
+                if (found == null) {
+                    throw new IllegalStateException("Unknown parent '" + parentName + "' for " + name);
+                }
+                parent = found;
+            }
+
+            int place = names.size();
+            names.add(name);
+            parents.add(parent);
+            depths.add(parent < 0 ? 0 : depths.get(parent) + 1);
+            placeByName.put(name.toLowerCase(), place);
+
+            double latitude = Double.NaN;
+            double longitude = Double.NaN;
+            if (fields.length > 3 && !fields[3].trim().isEmpty()) {
+                String[] point = fields[3].split(",");
+                if (point.length != 2) {
+                    throw new IllegalStateException("Expected 'latitude, longitude' for " + name);
+                }
+                latitude = Double.parseDouble(point[0].trim());
+                longitude = Double.parseDouble(point[1].trim());
+            }
+            latitudes.add(latitude);
+            longitudes.add(longitude);
+
+            addName(name, place, edges, nodePlaces);
+            if (fields.length > 2) {
+                for (String alias : fields[2].split(",")) {
+                    if (!alias.trim().isEmpty()) {
+                        addName(alias.trim(), place, edges, nodePlaces);
+                    }
+                }
+            }
+        }
+
+        int[] nodePlaceArray = new int[nodePlaces.size()];
+        for (int i = 0; i < nodePlaceArray.length; i++) {
+            nodePlaceArray[i] = nodePlaces.get(i);
+        }
+        return new Gazetteer(names.toArray(new String[0]), toArray(parents), toArray(depths),
+                toDoubleArray(latitudes), toDoubleArray(longitudes), edges, nodePlaceArray);
+    }
+
+    private static void addName(String name, int place, Map<Long, Integer> edges,
+                                List<Integer> nodePlaces) {
+        int[] tokens = LocationKey.tokenIds(name);
+        if (tokens.length == 0) {
+            return;
+        }
+        int node = 0;
+        for (int token : tokens) {
+            Integer next = edges.get(edgeKey(node, token));
+            if (next == null) {
+                next = nodePlaces.size();
+                nodePlaces.add(-1);
+                edges.put(edgeKey(node, token), next);
+            }
+            node = next;
+        }
+        // First definition wins if two places share a name
+        if (nodePlaces.get(node) < 0) {
+            nodePlaces.set(node, place);
+        }
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    private static double[] toDoubleArray(List<Double> values) {
+        double[] array = new double[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
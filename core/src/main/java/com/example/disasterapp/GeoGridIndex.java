@@ -0,0 +1,158 @@
+package com.example.disasterapp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform lat/lon grid over emergencies with coordinates.
+ *
+ * A volunteer's candidate set is every emergency in the cells overlapping the
+ * bounding box of their radius, plus emergencies saved without coordinates
+ * (those can only be scored by their location text).
+ */
+public class GeoGridIndex {
+
+    public static final double DEFAULT_CELL_SIZE_KM = 5.0;
+
+    private final double cellDegrees;
+    private final Map<Long, List<EmergencyRequest>> cells = new HashMap<>();
+    private final List<EmergencyRequest> unlocated = new ArrayList<>();
+    private int size;
+
+    public GeoGridIndex() {
+        this(DEFAULT_CELL_SIZE_KM);
+    }
+
+    public GeoGridIndex(double cellSizeKm) {
+        this.cellDegrees = cellSizeKm / GeoUtils.KM_PER_DEGREE_LAT;
+    }
+
+    public static GeoGridIndex build(List<EmergencyRequest> emergencies, double cellSizeKm) {
+        GeoGridIndex index = new GeoGridIndex(cellSizeKm);
+        for (EmergencyRequest emergency : emergencies) {
+            index.add(emergency);
+        }
+        return index;
+    }
+
+    public void add(EmergencyRequest emergency) {
+        if (GeoUtils.hasCoordinates(emergency.getLatitude(), emergency.getLongitude())) {
+            long key = cellKey(cellOf(emergency.getLatitude()), cellOf(emergency.getLongitude()));
+            List<EmergencyRequest> cell = cells.get(key);
+            if (cell == null) {
+                cell = new ArrayList<>();
+                cells.put(key, cell);
+            }
+            cell.add(emergency);
+        } else {
+            unlocated.add(emergency);
+        }
+        size++;
+    }
+
+    /**
+     * Remove an emergency by id, using its indexed coordinates to find the cell
+     */
+    public boolean remove(EmergencyRequest emergency) {
+        List<EmergencyRequest> bucket;
+        Long key = null;
+        if (GeoUtils.hasCoordinates(emergency.getLatitude(), emergency.getLongitude())) {
+            key = cellKey(cellOf(emergency.getLatitude()), cellOf(emergency.getLongitude()));
+            bucket = cells.get(key);
+        } else {
+            bucket = unlocated;
+        }
+        if (bucket == null) {
+            return false;
+        }
+
+        for (int i = 0; i < bucket.size(); i++) {
+            String id = bucket.get(i).getId();
+            if (id != null && id.equals(emergency.getId())) {
+                bucket.remove(i);
+                if (key != null && bucket.isEmpty()) {
+                    cells.remove(key);
+                }
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Candidates for a volunteer; everything when they have no coordinates or radius
+     */
+    public List<EmergencyRequest> candidatesFor(Volunteer volunteer) {
+        if (!GeoUtils.hasCoordinates(volunteer.getLatitude(), volunteer.getLongitude())
+                || volunteer.getRadius() <= 0) {
+            return all();
+        }
+        return candidates(volunteer.getLatitude(), volunteer.getLongitude(), volunteer.getRadius());
+    }
+
+    /**
+     * Emergencies in cells overlapping the radius bounding box, plus unlocated ones.
+     * Cells are coarse, so some candidates may lie slightly outside the radius.
+     */
+    public List<EmergencyRequest> candidates(double latitude, double longitude, double radiusKm) {
+        double latSpan = radiusKm / GeoUtils.KM_PER_DEGREE_LAT;
+        double cosLat = Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude) + latSpan)));
+        double lonSpan = radiusKm / (GeoUtils.KM_PER_DEGREE_LAT * cosLat);
+        if (lonSpan >= 180.0) {
+            return all();
+        }
+
+        int minLat = cellOf(latitude - latSpan);
+        int maxLat = cellOf(latitude + latSpan);
+        int minLon = cellOf(longitude - lonSpan);
+        int maxLon = cellOf(longitude + lonSpan);
+
+        List<EmergencyRequest> result = new ArrayList<>(unlocated);
+        long cellCount = (long) (maxLat - minLat + 1) * (maxLon - minLon + 1);
+        if (cellCount > cells.size()) {
+            // Query box covers more cells than are occupied: walk the occupied ones instead
+            for (Map.Entry<Long, List<EmergencyRequest>> entry : cells.entrySet()) {
+                int latCell = (int) (entry.getKey() >> 32);
+                int lonCell = (int) (long) entry.getKey();
+                if (latCell >= minLat && latCell <= maxLat && lonCell >= minLon && lonCell <= maxLon) {
+                    result.addAll(entry.getValue());
+                }
+            }
+            return result;
+        }
+
+        for (int latCell = minLat; latCell <= maxLat; latCell++) {
+            for (int lonCell = minLon; lonCell <= maxLon; lonCell++) {
+                List<EmergencyRequest> cell = cells.get(cellKey(latCell, lonCell));
+                if (cell != null) {
+                    result.addAll(cell);
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<EmergencyRequest> all() {
+        List<EmergencyRequest> result = new ArrayList<>(size);
+        result.addAll(unlocated);
+        for (List<EmergencyRequest> cell : cells.values()) {
+            result.addAll(cell);
+        }
+        return result;
+    }
+
+    private int cellOf(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.disasterapp;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Static interval tree over half-open int ranges, each tagged with an int id.
+ *
+ * Ranges are sorted by start and the sorted array is read as an implicit
+ * balanced tree (each node is the middle of its slice), with every node
+ * holding the largest end in its subtree. A stabbing query skips any subtree
+ * that ends before the query starts or starts after it ends, so it costs
+ * O(log n + k) for k reported ranges. Immutable once built.
+ */
+final class IntervalTree {
+
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] ids;
+    private final int[] maxEnds;
+
+    /**
+     * Build from parallel arrays, which are copied
+     */
+    IntervalTree(int[] starts, int[] ends, int[] ids, int count) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(starts[a], starts[b]));
+
+        this.starts = new int[count];
+        this.ends = new int[count];
+        this.ids = new int[count];
+        this.maxEnds = new int[count];
+        for (int i = 0; i < count; i++) {
+            this.starts[i] = starts[order[i]];
+            this.ends[i] = ends[order[i]];
+            this.ids[i] = ids[order[i]];
+        }
+        computeMaxEnds(0, count);
+    }
+
+    int size() {
+        return starts.length;
+    }
+
+    /**
+     * Report the id of every range overlapping [from, to), once per range
+     */
+    void query(int from, int to, IntConsumer consumer) {
+        if (from < to) {
+            query(0, starts.length, from, to, consumer);
+        }
+    }
+
+    private void query(int lo, int hi, int from, int to, IntConsumer consumer) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnds[mid] <= from) {
+                return; // everything in this slice ends before the query
+            }
+            query(lo, mid, from, to, consumer);
+            if (starts[mid] >= to) {
+                return; // this node and everything after it start too late
+            }
+            if (ends[mid] > from) {
+                consumer.accept(ids[mid]);
+            }
+            lo = mid + 1;
+        }
+    }
+
+    private int computeMaxEnds(int lo, int hi) {
+        if (lo >= hi) {
+            return Integer.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        int max = Math.max(ends[mid], Math.max(computeMaxEnds(lo, mid), computeMaxEnds(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.disasterapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A location string tokenized once into interned token IDs and resolved
+ * against the gazetteer, so distance scoring compares ints, not strings.
+ *
+ * Tokens are lower-cased runs of letters and digits; apostrophes are dropped
+ * ("Murang'a" is "muranga") and everything else separates tokens.
+ */
+public final class LocationKey {
+
+    static final LocationKey EMPTY = new LocationKey(new int[0], new int[0], -1);
+
+    // Shorter words ("the", "rd", "st") are too common to count as shared area
+    private static final int MIN_SIGNIFICANT_LENGTH = 4;
+
+    // Interned IDs stop growing past this many distinct words; the bundled
+    // gazetteer is a few hundred, free-text locations make up the rest
+    static final int MAX_INTERNED_TOKENS = 8192;
+
+    private static final Map<String, Integer> tokenIds = new HashMap<>();
+
+    final int[] tokens;
+    final int[] significantTokens; // sorted, distinct
+    final int placeId; // most specific gazetteer place, or -1
+
+    private LocationKey(int[] tokens, int[] significantTokens, int placeId) {
+        this.tokens = tokens;
+        this.significantTokens = significantTokens;
+        this.placeId = placeId;
+    }
+
+    public static LocationKey of(String text) {
+        if (text == null) {
+            return EMPTY;
+        }
+        List<String> words = split(text);
+        if (words.isEmpty()) {
+            return EMPTY;
+        }
+
+        int[] tokens = new int[words.size()];
+        int[] significant = new int[words.size()];
+        int significantCount = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = tokenId(words.get(i));
+            if (words.get(i).length() >= MIN_SIGNIFICANT_LENGTH) {
+                significant[significantCount++] = tokens[i];
+            }
+        }
+        significant = distinctSorted(significant, significantCount);
+
+        return new LocationKey(tokens, significant, Gazetteer.get().resolve(tokens));
+    }
+
+    public boolean isEmpty() {
+        return tokens.length == 0;
+    }
+
+    /**
+     * Name of the resolved gazetteer place, or null if nothing matched
+     */
+    public String getPlaceName() {
+        return placeId >= 0 ? Gazetteer.get().name(placeId) : null;
+    }
+
+    /**
+     * Whether the resolved place has coordinates in the gazetteer
+     */
+    public boolean hasPlaceCoordinates() {
+        return placeId >= 0 && Gazetteer.get().hasCoordinates(placeId);
+    }
+
+    /**
+     * Approximate latitude of the resolved place; check hasPlaceCoordinates() first
+     */
+    public double getPlaceLatitude() {
+        return Gazetteer.get().latitude(placeId);
+    }
+
+    /**
+     * Approximate longitude of the resolved place; check hasPlaceCoordinates() first
+     */
+    public double getPlaceLongitude() {
+        return Gazetteer.get().longitude(placeId);
+    }
+
+    /**
+     * Same tokens in the same order
+     */
+    boolean sameTokens(LocationKey other) {
+        return Arrays.equals(tokens, other.tokens);
+    }
+
+    /**
+     * True if other's tokens appear as a contiguous run in this key
+     */
+    boolean containsRun(LocationKey other) {
+        int[] inner = other.tokens;
+        for (int start = 0; start + inner.length <= tokens.length; start++) {
+            int i = 0;
+            while (i < inner.length && tokens[start + i] == inner[i]) {
+                i++;
+            }
+            if (i == inner.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True if both keys share a word of at least MIN_SIGNIFICANT_LENGTH letters
+     */
+    boolean sharesSignificantToken(LocationKey other) {
+        int[] a = significantTokens;
+        int[] b = other.significantTokens;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                return true;
+            }
+            if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return false;
+    }
+
+    static List<String> split(String text) {
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (c != '\'' && c != '\u2019') {
+                if (word.length() > 0) {
+                    words.add(word.toString());
+                    word.setLength(0);
+                }
+            }
+        }
+        if (word.length() > 0) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    static int[] tokenIds(String text) {
+        List<String> words = split(text);
+        int[] ids = new int[words.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = tokenId(words.get(i));
+        }
+        return ids;
+    }
+
+    /**
+     * Interned ID for a word. Once MAX_INTERNED_TOKENS words are interned, new
+     * words get a negative ID from their hash instead, which never equals an
+     * interned ID; two such words only compare equal on a hash collision.
+     */
+    private static synchronized int tokenId(String word) {
+        Integer id = tokenIds.get(word);
+        if (id != null) {
+            return id;
+        }
+        if (tokenIds.size() >= MAX_INTERNED_TOKENS) {
+            return -1 - (word.hashCode() & Integer.MAX_VALUE);
+        }
+        id = tokenIds.size();
+        tokenIds.put(word, id);
+        return id;
+    }
+
+    static synchronized int internedTokenCount() {
+        return tokenIds.size();
+    }
+
+    private static int[] distinctSorted(int[] values, int count) {
+        int[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+    }
+}
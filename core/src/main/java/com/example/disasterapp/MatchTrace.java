@@ -0,0 +1,101 @@
+package com.example.disasterapp;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Ring buffer of recent score breakdowns from EmergencyMatcher.
+ *
+ * Tracing is off by default. The scoring loop only reads the enabled flag, so
+ * it allocates nothing for tracing unless a debug screen or test turns it on.
+ * When on, each score is written into fixed-size primitive arrays; nothing is
+ * formatted until dump() is called.
+ */
+public final class MatchTrace {
+    private static final String TAG = "EmergencyMatcher";
+
+    public static final int CAPACITY = 256;
+
+    // Read on every score; everything else is only touched while enabled
+    static volatile boolean enabled;
+
+    private static final String[] types = new String[CAPACITY];
+    private static final double[] skillScores = new double[CAPACITY];
+    private static final double[] urgencyScores = new double[CAPACITY];
+    private static final double[] distanceScores = new double[CAPACITY];
+    private static final double[] availabilityScores = new double[CAPACITY];
+    private static final double[] recencyScores = new double[CAPACITY];
+    private static final double[] totalScores = new double[CAPACITY];
+    private static long recorded;
+
+    private MatchTrace() {
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Store one breakdown, overwriting the oldest once the buffer is full
+     */
+    static synchronized void record(String type, double skillScore, double urgencyScore,
+                                    double distanceScore, double availabilityScore, double recencyScore,
+                                    double totalScore) {
+        int slot = (int) (recorded % CAPACITY);
+        types[slot] = type;
+        skillScores[slot] = skillScore;
+        urgencyScores[slot] = urgencyScore;
+        distanceScores[slot] = distanceScore;
+        availabilityScores[slot] = availabilityScore;
+        recencyScores[slot] = recencyScore;
+        totalScores[slot] = totalScore;
+        recorded++;
+    }
+
+    /**
+     * Total breakdowns recorded since the last clear, including overwritten ones
+     */
+    public static synchronized long getRecordedCount() {
+        return recorded;
+    }
+
+    public static synchronized void clear() {
+        recorded = 0;
+        Arrays.fill(types, null);
+    }
+
+    /**
+     * Format the buffered breakdowns, oldest first
+     */
+    public static synchronized String dump() {
+        StringBuilder builder = new StringBuilder();
+        long first = Math.max(0, recorded - CAPACITY);
+        for (long i = first; i < recorded; i++) {
+            int slot = (int) (i % CAPACITY);
+            builder.append(String.format(Locale.US,
+                    "Emergency: %s | Skills: %.1f | Urgency: %.1f | Distance: %.1f | Availability: %.1f"
+                            + " | Recency: %.1f | Total: %.1f%n",
+                    types[slot], skillScores[slot], urgencyScores[slot], distanceScores[slot],
+                    availabilityScores[slot], recencyScores[slot], totalScores[slot]));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Write the buffered breakdowns to the installed MatcherLog
+     */
+    public static void dumpToLog() {
+        String dump = dump();
+        if (dump.isEmpty()) {
+            return;
+        }
+        MatcherLog log = MatcherLog.get();
+        for (String line : dump.split("\n")) {
+            log.debug(TAG, line);
+        }
+    }
+}
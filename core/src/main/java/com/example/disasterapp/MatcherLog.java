@@ -0,0 +1,40 @@
+package com.example.disasterapp;
+
+/**
+ * Logging hook for the matching core, which cannot depend on android.util.Log.
+ * The app installs an implementation at startup; the default drops everything.
+ */
+public interface MatcherLog {
+
+    MatcherLog NONE = new MatcherLog() {
+        @Override
+        public void debug(String tag, String message) {
+        }
+
+        @Override
+        public void error(String tag, String message) {
+        }
+    };
+
+    void debug(String tag, String message);
+
+    void error(String tag, String message);
+
+    /**
+     * Currently installed logger
+     */
+    static MatcherLog get() {
+        return Holder.log;
+    }
+
+    static void install(MatcherLog log) {
+        Holder.log = log != null ? log : NONE;
+    }
+
+    final class Holder {
+        private static volatile MatcherLog log = NONE;
+
+        private Holder() {
+        }
+    }
+}
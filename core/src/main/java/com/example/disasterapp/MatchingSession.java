@@ -0,0 +1,301 @@
+package com.example.disasterapp;
+
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Incrementally maintained ranking of emergencies for one volunteer.
+ *
+ * Emergencies are fed one at a time (e.g. from a ChildEventListener); only the
+ * emergency that changed is rescored. Matches are kept in an order-statistic
+ * treap so insert, update, remove and position lookups are all O(log n), and
+ * a change count tells the caller whether the visible top changed at all.
+ *
+ * Not thread-safe: call it from a single thread, e.g. the BackgroundPipeline
+ * worker that runs its StreamingMatcher.
+ */
+public class MatchingSession {
+
+    private final Volunteer volunteer;
+    private final double minScore;
+    private final int visibleLimit;
+    private final ScoreCache scoreCache;
+    private final RadiusFilter radiusFilter;
+    private final Map<String, Node> nodesById = new HashMap<>();
+    private final Random priorities = new Random(0x5EED);
+    private Node root;
+    private long nextSequence;
+    private long visibleChangeCount;
+
+    public MatchingSession(Volunteer volunteer, double minScore, int visibleLimit) {
+        this(volunteer, minScore, visibleLimit, null);
+    }
+
+    /**
+     * Scores through the given cache, so reopening a session only rescores what changed
+     */
+    public MatchingSession(Volunteer volunteer, double minScore, int visibleLimit,
+                           ScoreCache scoreCache) {
+        this.volunteer = volunteer;
+        this.minScore = minScore;
+        this.visibleLimit = visibleLimit;
+        this.scoreCache = scoreCache;
+        this.radiusFilter = RadiusFilter.of(volunteer);
+    }
+
+    /**
+     * Add or rescore an emergency. Emergencies outside the volunteer's radius
+     * or scoring below minScore are left out.
+     */
+    public void put(EmergencyRequest emergency) {
+        double score;
+        if (!radiusFilter.accepts(emergency)) {
+            score = Double.NEGATIVE_INFINITY; // out of reach: never scored, dropped like a low score
+        } else if (scoreCache != null) {
+            score = scoreCache.score(volunteer, emergency);
+        } else {
+            score = EmergencyMatcher.calculateMatchScore(volunteer, emergency);
+        }
+        Node existing = nodesById.get(emergency.getId());
+
+        if (existing == null) {
+            if (score >= minScore) {
+                Node node = new Node(new EmergencyMatcher.EmergencyMatch(emergency, score),
+                        nextSequence++, priorities.nextInt());
+                insertNode(node);
+            }
+            return;
+        }
+
+        int oldPosition = removeNode(existing);
+        if (score < minScore) {
+            countIfVisible(oldPosition);
+            return;
+        }
+
+        // Keep the original sequence so ties stay in arrival order
+        Node node = new Node(new EmergencyMatcher.EmergencyMatch(emergency, score),
+                existing.sequence, existing.priority);
+        root = insert(root, node);
+        nodesById.put(emergency.getId(), node);
+        countIfVisible(Math.min(oldPosition, rank(node)));
+    }
+
+    /**
+     * Remove an emergency from the ranking if present
+     */
+    public void remove(String emergencyId) {
+        Node existing = nodesById.get(emergencyId);
+        if (existing != null) {
+            countIfVisible(removeNode(existing));
+        }
+    }
+
+    /**
+     * Drop every match; not counted as a visible change
+     */
+    public void clear() {
+        root = null;
+        nodesById.clear();
+    }
+
+    /**
+     * Prefilter in front of scoring, for its rejection counters
+     */
+    public RadiusFilter getRadiusFilter() {
+        return radiusFilter;
+    }
+
+    /**
+     * Number of matches at or above the minimum score, including hidden ones
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Number of times an insert, update or removal touched the visible
+     * matches; unchanged means visibleMatches() shows the same matches
+     */
+    public long getVisibleChangeCount() {
+        return visibleChangeCount;
+    }
+
+    /**
+     * Number of matches exposed to the UI
+     */
+    public int visibleSize() {
+        return Math.min(size(), visibleLimit);
+    }
+
+    public EmergencyMatcher.EmergencyMatch get(int position) {
+        if (position < 0 || position >= size()) {
+            throw new IndexOutOfBoundsException("position " + position + ", size " + size());
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (position < leftSize) {
+                node = node.left;
+            } else if (position == leftSize) {
+                return node.match;
+            } else {
+                position -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Read-only view of the visible matches, suitable for backing an adapter
+     */
+    public List<EmergencyMatcher.EmergencyMatch> visibleMatches() {
+        return new AbstractList<EmergencyMatcher.EmergencyMatch>() {
+            @Override
+            public EmergencyMatcher.EmergencyMatch get(int index) {
+                return MatchingSession.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return visibleSize();
+            }
+        };
+    }
+
+    private void insertNode(Node node) {
+        root = insert(root, node);
+        nodesById.put(node.match.getEmergency().getId(), node);
+        countIfVisible(rank(node));
+    }
+
+    private int removeNode(Node node) {
+        int position = rank(node);
+        root = remove(root, node);
+        nodesById.remove(node.match.getEmergency().getId());
+        return position;
+    }
+
+    // A change at or above the last visible position changes the window:
+    // matches below it shift up or down, the rest stay hidden.
+    private void countIfVisible(int position) {
+        if (position < visibleLimit) {
+            visibleChangeCount++;
+        }
+    }
+
+    // Treap ordered by score (highest first), then arrival sequence
+
+    private static int compare(Node a, Node b) {
+        int byScore = Double.compare(b.match.getScore(), a.match.getScore());
+        return byScore != 0 ? byScore : Long.compare(a.sequence, b.sequence);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private int rank(Node target) {
+        int position = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(target, node);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                position += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return position + size(node.left);
+            }
+        }
+        throw new IllegalStateException("Match not in session");
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            added.left = null;
+            added.right = null;
+            added.size = 1;
+            return added;
+        }
+        if (compare(added, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node remove(Node node, Node removed) {
+        int cmp = compare(removed, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, removed);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, removed);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static class Node {
+        final EmergencyMatcher.EmergencyMatch match;
+        final long sequence;
+        final int priority;
+        Node left, right;
+        int size = 1;
+
+        Node(EmergencyMatcher.EmergencyMatch match, long sequence, int priority) {
+            this.match = match;
+            this.sequence = sequence;
+            this.priority = priority;
+        }
+    }
+}
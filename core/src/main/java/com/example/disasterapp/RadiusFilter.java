@@ -0,0 +1,160 @@
+package com.example.disasterapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Drops emergencies outside a volunteer's radius before they are scored.
+ *
+ * Two stages, cheapest first: a latitude/longitude bounding box rejects most
+ * far-away emergencies with a few comparisons, and an exact haversine check
+ * settles the ones inside the box but outside the circle. Nothing reaches the
+ * string or skill work of calculateMatchScore unless both stages pass.
+ *
+ * Records saved without coordinates are placed at the gazetteer place their
+ * text names (locateFromText, locateFromServiceArea) before they get here.
+ * Emergencies still without coordinates always pass, since they can only be
+ * scored on their location text. A volunteer without coordinates or radius
+ * gets a filter that passes everything. Each stage keeps a counter of what it
+ * rejected. Not thread-safe; use one filter per volunteer and thread.
+ */
+public final class RadiusFilter {
+
+    // Widen the box slightly so rounding never rejects an emergency on the circle
+    private static final double BOX_SLACK = 1.01;
+
+    private final boolean enabled;
+    private final double latitude;
+    private final double longitude;
+    private final double radiusKm;
+    private final double latSpan;
+    private final double lonSpan; // Double.POSITIVE_INFINITY when the box spans a pole
+
+    private long checked;
+    private long unlocated;
+    private long boxRejected;
+    private long distanceRejected;
+
+    public RadiusFilter(double latitude, double longitude, double radiusKm) {
+        this.enabled = GeoUtils.hasCoordinates(latitude, longitude) && radiusKm > 0;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.radiusKm = radiusKm;
+        this.latSpan = Math.toDegrees(radiusKm / GeoUtils.EARTH_RADIUS_KM) * BOX_SLACK;
+        double maxLat = Math.abs(latitude) + latSpan;
+        this.lonSpan = maxLat >= 90.0 ? Double.POSITIVE_INFINITY
+                : latSpan / Math.cos(Math.toRadians(maxLat));
+    }
+
+    /**
+     * Filter for the volunteer's own coordinates and radius
+     */
+    public static RadiusFilter of(Volunteer volunteer) {
+        return new RadiusFilter(volunteer.getLatitude(), volunteer.getLongitude(), volunteer.getRadius());
+    }
+
+    /**
+     * False if the filter is a pass-through (volunteer has no coordinates or radius)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean accepts(EmergencyRequest emergency) {
+        return accepts(emergency.getLatitude(), emergency.getLongitude());
+    }
+
+    /**
+     * Same as accepts(emergency), for scorers that hold coordinates in columns
+     */
+    boolean accepts(double emergencyLatitude, double emergencyLongitude) {
+        if (!enabled) {
+            return true;
+        }
+        checked++;
+        if (!GeoUtils.hasCoordinates(emergencyLatitude, emergencyLongitude)) {
+            unlocated++;
+            return true;
+        }
+
+        // Stage 1: bounding box
+        if (Math.abs(emergencyLatitude - latitude) > latSpan) {
+            boxRejected++;
+            return false;
+        }
+        double lonDelta = Math.abs(emergencyLongitude - longitude);
+        if (lonDelta > 180.0) {
+            lonDelta = 360.0 - lonDelta;
+        }
+        if (lonDelta > lonSpan) {
+            boxRejected++;
+            return false;
+        }
+
+        // Stage 2: exact distance
+        if (GeoUtils.haversineKm(latitude, longitude, emergencyLatitude, emergencyLongitude) > radiusKm) {
+            distanceRejected++;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * The emergencies that pass, in input order
+     */
+    public List<EmergencyRequest> filter(List<EmergencyRequest> emergencies) {
+        if (!enabled) {
+            return emergencies;
+        }
+        List<EmergencyRequest> result = new ArrayList<>();
+        for (EmergencyRequest emergency : emergencies) {
+            if (accepts(emergency)) {
+                result.add(emergency);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Emergencies checked since the last reset; pass-through filters count nothing
+     */
+    public long getCheckedCount() {
+        return checked;
+    }
+
+    /**
+     * Emergencies passed without a check because they have no coordinates
+     */
+    public long getUnlocatedCount() {
+        return unlocated;
+    }
+
+    public long getBoxRejectedCount() {
+        return boxRejected;
+    }
+
+    public long getDistanceRejectedCount() {
+        return distanceRejected;
+    }
+
+    public long getPassedCount() {
+        return checked - boxRejected - distanceRejected;
+    }
+
+    public void resetStats() {
+        checked = 0;
+        unlocated = 0;
+        boxRejected = 0;
+        distanceRejected = 0;
+    }
+
+    /**
+     * One-line counter summary for logging
+     */
+    public String describeStats() {
+        return String.format(Locale.US,
+                "Radius filter: %d checked, %d rejected by box, %d by distance, %d passed (%d unlocated)",
+                checked, boxRejected, distanceRejected, getPassedCount(), unlocated);
+    }
+}
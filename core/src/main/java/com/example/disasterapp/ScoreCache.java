@@ -0,0 +1,200 @@
+package com.example.disasterapp;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded LRU cache of match scores.
+ *
+ * Entries are keyed by (volunteer, emergency id) and remember the profile and
+ * emergency versions and the ScoringRules they were scored with, so a version
+ * bump on either side or a rules swap is a miss that replaces the stale entry.
+ * They hold the score without its recency share, which is added back on every
+ * lookup, so an entry stays valid however long ago it was stored.
+ * Versions live in memory, not the database: EmergencyRepository bumps an
+ * emergency's when a delivery changes a scored field, and the app does the
+ * same for each profile it reloads. Code that edits a scored field in place
+ * must bump the version itself.
+ *
+ * Thread-safe; every method locks the cache.
+ */
+public class ScoreCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 4096;
+
+    private final int maxEntries;
+    private final LinkedHashMap<Key, CachedScore> entries;
+    // The keys of entries, by emergency id, so dropping one emergency skips the rest
+    private final Map<String, Set<Key>> keysByEmergency = new HashMap<>();
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ScoreCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public ScoreCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        // Access order makes iteration run least recently used first
+        this.entries = new LinkedHashMap<Key, CachedScore>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedScore> eldest) {
+                if (size() > ScoreCache.this.maxEntries) {
+                    evictions++;
+                    unindex(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Cached score for the pair, computing and storing it on a miss
+     */
+    public synchronized double score(Volunteer volunteer, EmergencyRequest emergency) {
+        ScoringRules rules = ScoringRules.active();
+        String emergencyId = emergency.getId();
+        if (emergencyId == null) {
+            // Nothing stable to key on
+            misses++;
+            return EmergencyMatcher.calculateMatchScore(rules, volunteer, emergency);
+        }
+        double recencyTerm = rules.recencyTerm(
+                rules.recencyScore(emergency.timestampMillis(), EmergencyMatcher.clock.getAsLong()));
+
+        Key key = new Key(volunteer.getUserId(), emergencyId);
+        CachedScore entry = entries.get(key);
+        if (entry != null
+                && entry.rules == rules
+                && entry.volunteerVersion == volunteer.version()
+                && entry.emergencyVersion == emergency.version()) {
+            hits++;
+            return entry.score + recencyTerm;
+        }
+
+        misses++;
+        double score = EmergencyMatcher.calculateTimelessScore(rules, volunteer, emergency);
+        if (entry == null) {
+            keysByEmergency.computeIfAbsent(emergencyId, id -> new HashSet<>()).add(key);
+        }
+        entries.put(key, new CachedScore(rules, volunteer.version(), emergency.version(), score));
+        return score + recencyTerm;
+    }
+
+    /**
+     * Drop every score for an emergency, e.g. after it was edited or deleted
+     */
+    public synchronized void invalidateEmergency(String emergencyId) {
+        Set<Key> keys = keysByEmergency.remove(emergencyId);
+        if (keys != null) {
+            entries.keySet().removeAll(keys);
+        }
+    }
+
+    /**
+     * Drop every score for a volunteer, e.g. after a profile edit
+     */
+    public synchronized void invalidateVolunteer(String volunteerId) {
+        Iterator<Key> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            Key key = keys.next();
+            if (equal(key.volunteerId, volunteerId)) {
+                keys.remove();
+                unindex(key);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        keysByEmergency.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Fraction of lookups served from the cache, 0 before the first lookup
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    public synchronized void resetStats() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    private void unindex(Key key) {
+        Set<Key> keys = keysByEmergency.get(key.emergencyId);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            keysByEmergency.remove(key.emergencyId);
+        }
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static final class Key {
+        final String volunteerId;
+        final String emergencyId;
+
+        Key(String volunteerId, String emergencyId) {
+            this.volunteerId = volunteerId;
+            this.emergencyId = emergencyId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return emergencyId.equals(other.emergencyId) && equal(volunteerId, other.volunteerId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * emergencyId.hashCode() + (volunteerId != null ? volunteerId.hashCode() : 0);
+        }
+    }
+
+    private static final class CachedScore {
+        final ScoringRules rules;
+        final long volunteerVersion;
+        final long emergencyVersion;
+        final double score; // without the recency share
+
+        CachedScore(ScoringRules rules, long volunteerVersion, long emergencyVersion, double score) {
+            this.rules = rules;
+            this.volunteerVersion = volunteerVersion;
+            this.emergencyVersion = emergencyVersion;
+            this.score = score;
+        }
+    }
+}
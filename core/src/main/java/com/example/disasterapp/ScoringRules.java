@@ -0,0 +1,382 @@
+package com.example.disasterapp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data-driven scoring weights, urgency scores and skill relevance rules.
+ *
+ * A rule set is parsed from JSON (bundled defaults, or a Firebase snapshot via
+ * fromMap) and compiled once: keywords that always appear together in the
+ * rules collapse into one group bit, and the skill rules become a
+ * SkillRelevanceTable. Instances, tables included, are immutable, so
+ * install() swaps the active set with one volatile write and scorers that
+ * already captured the old set finish with it undisturbed.
+ *
+ * Format:
+ * <pre>
+ * {
+ *   "version": 1,
+ *   "weights": {"skill": 40, "urgency": 35, "distance": 25, "availability": 20, "recency": 15},
+ *   "urgency": {"scores": {"critical": 100, "low": 35}, "default": 50},
+ *   "recency": {"halfLifeHours": 48},
+ *   "skills": {
+ *     "default": 30,
+ *     "coverageFloor": 30,
+ *     "rules": [{"types": ["fire"], "skills": ["fire"], "score": 100}, ...]
+ *   }
+ * }
+ * </pre>
+ * Skill rules are tried in order and the first match wins; a rule without
+ * "types" applies to every emergency type. They are only used when an
+ * emergency lists no recognisable required skills; otherwise the skill score
+ * runs from coverageFloor (none covered) to 100 (all covered). The
+ * availability and recency weights are optional and count as 0 when left
+ * out, so rule sets written before them keep their earlier scores. The
+ * recency score halves every halfLifeHours after the emergency's time.
+ */
+public final class ScoringRules {
+
+    private static final String DEFAULTS_RESOURCE = "default_scoring_rules.json";
+
+    // Skill score when a volunteer covers none of the required skills
+    private static final double DEFAULT_COVERAGE_FLOOR = 30.0;
+
+    private static final double DEFAULT_HALF_LIFE_HOURS = 48.0;
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+
+    private static final ScoringRules DEFAULTS = loadDefaults();
+    private static volatile ScoringRules active = DEFAULTS;
+
+    private final long version;
+    private final double skillWeight;
+    private final double urgencyWeight;
+    private final double distanceWeight;
+    private final double availabilityWeight;
+    private final double recencyWeight;
+    private final double weightTotal;
+    private final Map<String, Double> urgencyScores;
+    private final double defaultUrgencyScore;
+    private final SkillRelevanceTable skillTable;
+    private final double coverageFloor;
+    private final double halfLifeMillis;
+
+    private ScoringRules(long version, double skillWeight, double urgencyWeight,
+                         double distanceWeight, double availabilityWeight, double recencyWeight,
+                         Map<String, Double> urgencyScores, double defaultUrgencyScore,
+                         SkillRelevanceTable skillTable, double coverageFloor, double halfLifeMillis) {
+        this.version = version;
+        this.skillWeight = skillWeight;
+        this.urgencyWeight = urgencyWeight;
+        this.distanceWeight = distanceWeight;
+        this.availabilityWeight = availabilityWeight;
+        this.recencyWeight = recencyWeight;
+        this.weightTotal = skillWeight + urgencyWeight + distanceWeight + availabilityWeight + recencyWeight;
+        this.urgencyScores = urgencyScores;
+        this.defaultUrgencyScore = defaultUrgencyScore;
+        this.skillTable = skillTable;
+        this.coverageFloor = coverageFloor;
+        this.halfLifeMillis = halfLifeMillis;
+    }
+
+    /**
+     * Rule set used by EmergencyMatcher and BatchScoringEngine right now
+     */
+    public static ScoringRules active() {
+        return active;
+    }
+
+    /**
+     * Atomically replace the active rule set; null restores the bundled defaults
+     */
+    public static void install(ScoringRules rules) {
+        active = rules != null ? rules : DEFAULTS;
+    }
+
+    public static ScoringRules defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Compile a JSON rule file
+     *
+     * @throws IllegalArgumentException if the JSON or the rules are malformed
+     */
+    public static ScoringRules parse(String json) {
+        Object root = RulesJson.parse(json);
+        if (!(root instanceof Map)) {
+            throw new IllegalArgumentException("Scoring rules must be a JSON object");
+        }
+        return fromMap((Map<?, ?>) root);
+    }
+
+    /**
+     * Compile rules from parsed JSON, e.g. the value of a Firebase snapshot
+     *
+     * @throws IllegalArgumentException if the rules are malformed
+     */
+    public static ScoringRules fromMap(Map<?, ?> root) {
+        long version = root.get("version") != null ? (long) number(root.get("version"), "version") : 0;
+
+        Map<?, ?> weights = map(root.get("weights"), "weights");
+        double skillWeight = weight(weights, "skill");
+        double urgencyWeight = weight(weights, "urgency");
+        double distanceWeight = weight(weights, "distance");
+        double availabilityWeight = weights.get("availability") != null ? weight(weights, "availability") : 0;
+        double recencyWeight = weights.get("recency") != null ? weight(weights, "recency") : 0;
+        if (skillWeight + urgencyWeight + distanceWeight + availabilityWeight + recencyWeight <= 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+
+        Map<?, ?> urgency = map(root.get("urgency"), "urgency");
+        Map<String, Double> urgencyScores = new HashMap<>();
+        for (Map.Entry<?, ?> entry : map(urgency.get("scores"), "urgency.scores").entrySet()) {
+            String label = String.valueOf(entry.getKey()).toLowerCase();
+            urgencyScores.put(label, score(entry.getValue(), "urgency.scores." + label));
+        }
+        double defaultUrgencyScore = score(urgency.get("default"), "urgency.default");
+
+        Map<?, ?> skills = map(root.get("skills"), "skills");
+        SkillRelevanceTable skillTable = compileSkillRules(
+                list(skills.get("rules"), "skills.rules"),
+                score(skills.get("default"), "skills.default"));
+        double coverageFloor = skills.get("coverageFloor") != null
+                ? score(skills.get("coverageFloor"), "skills.coverageFloor") : DEFAULT_COVERAGE_FLOOR;
+
+        double halfLifeHours = DEFAULT_HALF_LIFE_HOURS;
+        if (root.get("recency") != null) {
+            Map<?, ?> recency = map(root.get("recency"), "recency");
+            halfLifeHours = number(recency.get("halfLifeHours"), "recency.halfLifeHours");
+            if (halfLifeHours <= 0) {
+                throw new IllegalArgumentException("recency.halfLifeHours must be positive");
+            }
+        }
+
+        return new ScoringRules(version, skillWeight, urgencyWeight, distanceWeight, availabilityWeight,
+                recencyWeight, urgencyScores, defaultUrgencyScore, skillTable, coverageFloor,
+                halfLifeHours * MILLIS_PER_HOUR);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public SkillRelevanceTable getSkillTable() {
+        return skillTable;
+    }
+
+    /**
+     * Weighted total of the component scores (0-100)
+     */
+    double weightedScore(double skillScore, double urgencyScore, double distanceScore,
+                         double availabilityScore, double recencyScore) {
+        return timelessScore(skillScore, urgencyScore, distanceScore, availabilityScore)
+                + recencyTerm(recencyScore);
+    }
+
+    /**
+     * The weighted total without its recency share, which is the only part
+     * that changes as time passes; add recencyTerm() to complete it
+     */
+    double timelessScore(double skillScore, double urgencyScore, double distanceScore,
+                         double availabilityScore) {
+        return (skillScore * skillWeight +
+                urgencyScore * urgencyWeight +
+                distanceScore * distanceWeight +
+                availabilityScore * availabilityWeight) / weightTotal;
+    }
+
+    double recencyTerm(double recencyScore) {
+        return recencyScore * recencyWeight / weightTotal;
+    }
+
+    /**
+     * Recency score (0-100): 100 up to the emergency's time, then halving
+     * every half-life; 50 when the time is unknown
+     */
+    double recencyScore(long timestampMillis, long nowMillis) {
+        if (timestampMillis <= 0) {
+            return 50.0;
+        }
+        long age = nowMillis - timestampMillis;
+        if (age <= 0) {
+            return 100.0;
+        }
+        return 100.0 * Math.pow(0.5, age / halfLifeMillis);
+    }
+
+    /**
+     * Skill score (0-100) for the fraction (0-1) of required skills covered
+     */
+    double coverageScore(double coverage) {
+        return coverageFloor + (100.0 - coverageFloor) * coverage;
+    }
+
+    /**
+     * Score (0-100) for an urgency label, case-insensitive
+     */
+    double urgencyScore(String urgency) {
+        if (urgency == null) {
+            return defaultUrgencyScore;
+        }
+        Double score = urgencyScores.get(urgency.toLowerCase());
+        return score != null ? score : defaultUrgencyScore;
+    }
+
+    /**
+     * Collapse rule keywords into groups and build the relevance table.
+     * Keywords that appear in exactly the same rules are interchangeable, so
+     * they share one bit; that keeps the table small however many synonyms
+     * the rules list.
+     */
+    private static SkillRelevanceTable compileSkillRules(List<?> rules, double defaultScore) {
+        int ruleCount = rules.size();
+        List<List<String>> ruleTypes = new ArrayList<>(ruleCount);
+        List<List<String>> ruleSkills = new ArrayList<>(ruleCount);
+        double[] ruleScores = new double[ruleCount];
+
+        for (int i = 0; i < ruleCount; i++) {
+            String name = "skills.rules[" + i + "]";
+            Map<?, ?> rule = map(rules.get(i), name);
+            ruleTypes.add(rule.get("types") != null
+                    ? keywords(rule.get("types"), name + ".types") : new ArrayList<>());
+            List<String> skillKeywords = keywords(rule.get("skills"), name + ".skills");
+            if (skillKeywords.isEmpty()) {
+                throw new IllegalArgumentException(name + ".skills must not be empty");
+            }
+            ruleSkills.add(skillKeywords);
+            ruleScores[i] = score(rule.get("score"), name + ".score");
+        }
+
+        Map<String, Integer> typeGroupOf = new HashMap<>();
+        String[][] typeGroups = groupKeywords(ruleTypes, typeGroupOf);
+        Map<String, Integer> skillGroupOf = new HashMap<>();
+        String[][] skillGroups = groupKeywords(ruleSkills, skillGroupOf);
+
+        int[] ruleTypeMasks = new int[ruleCount];
+        int[] ruleSkillMasks = new int[ruleCount];
+        for (int i = 0; i < ruleCount; i++) {
+            for (String keyword : ruleTypes.get(i)) {
+                ruleTypeMasks[i] |= 1 << typeGroupOf.get(keyword);
+            }
+            for (String keyword : ruleSkills.get(i)) {
+                ruleSkillMasks[i] |= 1 << skillGroupOf.get(keyword);
+            }
+        }
+
+        return new SkillRelevanceTable(typeGroups, skillGroups,
+                ruleTypeMasks, ruleSkillMasks, ruleScores, defaultScore);
+    }
+
+    private static String[][] groupKeywords(List<List<String>> ruleKeywords,
+                                            Map<String, Integer> groupOf) {
+        // Which rules mention each keyword, in first-seen order
+        Map<String, BitSet> rulesByKeyword = new LinkedHashMap<>();
+        for (int i = 0; i < ruleKeywords.size(); i++) {
+            for (String keyword : ruleKeywords.get(i)) {
+                BitSet rules = rulesByKeyword.get(keyword);
+                if (rules == null) {
+                    rules = new BitSet();
+                    rulesByKeyword.put(keyword, rules);
+                }
+                rules.set(i);
+            }
+        }
+
+        Map<BitSet, List<String>> groups = new LinkedHashMap<>();
+        for (Map.Entry<String, BitSet> entry : rulesByKeyword.entrySet()) {
+            List<String> group = groups.get(entry.getValue());
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(entry.getValue(), group);
+            }
+            group.add(entry.getKey());
+        }
+
+        String[][] result = new String[groups.size()][];
+        int index = 0;
+        for (List<String> group : groups.values()) {
+            for (String keyword : group) {
+                groupOf.put(keyword, index);
+            }
+            result[index++] = group.toArray(new String[0]);
+        }
+        return result;
+    }
+
+    private static ScoringRules loadDefaults() {
+        try (InputStream in = ScoringRules.class.getResourceAsStream(DEFAULTS_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing bundled " + DEFAULTS_RESOURCE);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return parse(new String(out.toByteArray(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + DEFAULTS_RESOURCE, e);
+        }
+    }
+
+    private static Map<?, ?> map(Object value, String name) {
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException(name + " must be an object");
+        }
+        return (Map<?, ?>) value;
+    }
+
+    private static List<?> list(Object value, String name) {
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException(name + " must be an array");
+        }
+        return (List<?>) value;
+    }
+
+    private static List<String> keywords(Object value, String name) {
+        List<String> keywords = new ArrayList<>();
+        for (Object keyword : list(value, name)) {
+            if (!(keyword instanceof String) || ((String) keyword).isEmpty()) {
+                throw new IllegalArgumentException(name + " must hold non-empty strings");
+            }
+            String lower = ((String) keyword).toLowerCase();
+            if (!keywords.contains(lower)) {
+                keywords.add(lower);
+            }
+        }
+        return keywords;
+    }
+
+    private static double number(Object value, String name) {
+        if (!(value instanceof Number)) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+        return ((Number) value).doubleValue();
+    }
+
+    private static double weight(Map<?, ?> weights, String key) {
+        double weight = number(weights.get(key), "weights." + key);
+        if (weight < 0) {
+            throw new IllegalArgumentException("weights." + key + " must not be negative");
+        }
+        return weight;
+    }
+
+    private static double score(Object value, String name) {
+        double score = number(value, name);
+        if (score < 0 || score > 100) {
+            throw new IllegalArgumentException(name + " must be between 0 and 100");
+        }
+        return score;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.disasterapp;
+
+import java.util.List;
+
+/**
+ * Compiled form of the skill relevance rules in a ScoringRules set.
+ *
+ * Emergency types and skills are reduced to the keyword groups the rules
+ * look at, and a category ID is the bit mask of those groups. For every skill
+ * group and type category the table stores the first rule that matches, so
+ * scoring a (skill, emergency) pair is a few array lookups instead of walking
+ * the rules with contains() calls. Everything is computed when the rules are
+ * loaded; the table never changes afterwards and needs no locking.
+ */
+public final class SkillRelevanceTable {
+
+    // Type categories are dense masks, so each table row has 1 << groups entries
+    static final int MAX_TYPE_GROUPS = 10;
+    static final int MAX_SKILL_GROUPS = 31;
+
+    private final String[][] typeKeywords;
+    private final String[][] skillKeywords;
+    private final int typeCategoryCount;
+
+    // firstRule[skillGroup][typeCategory]: index into ruleScores, ruleCount when no rule matches
+    private final int[][] firstRule;
+    // Rule scores followed by the default score
+    private final double[] ruleScores;
+
+    /**
+     * Rules are tried in order and the first match wins. A rule matches when the
+     * type has one of its type groups (or the rule has none) and the skill has
+     * one of its skill groups.
+     */
+    SkillRelevanceTable(String[][] typeKeywords, String[][] skillKeywords,
+                        int[] ruleTypeMasks, int[] ruleSkillMasks, double[] ruleScores,
+                        double defaultScore) {
+        if (typeKeywords.length > MAX_TYPE_GROUPS) {
+            throw new IllegalArgumentException("Too many distinct emergency type keyword groups: "
+                    + typeKeywords.length + " (max " + MAX_TYPE_GROUPS + ")");
+        }
+        if (skillKeywords.length > MAX_SKILL_GROUPS) {
+            throw new IllegalArgumentException("Too many distinct skill keyword groups: "
+                    + skillKeywords.length + " (max " + MAX_SKILL_GROUPS + ")");
+        }
+        this.typeKeywords = typeKeywords;
+        this.skillKeywords = skillKeywords;
+        this.typeCategoryCount = 1 << typeKeywords.length;
+
+        int ruleCount = ruleScores.length;
+        this.ruleScores = new double[ruleCount + 1];
+        System.arraycopy(ruleScores, 0, this.ruleScores, 0, ruleCount);
+        this.ruleScores[ruleCount] = defaultScore;
+
+        this.firstRule = new int[skillKeywords.length][typeCategoryCount];
+        for (int group = 0; group < skillKeywords.length; group++) {
+            for (int typeMask = 0; typeMask < typeCategoryCount; typeMask++) {
+                int rule = 0;
+                while (rule < ruleCount
+                        && !((ruleTypeMasks[rule] == 0 || (ruleTypeMasks[rule] & typeMask) != 0)
+                        && (ruleSkillMasks[rule] & (1 << group)) != 0)) {
+                    rule++;
+                }
+                firstRule[group][typeMask] = rule;
+            }
+        }
+    }
+
+    /**
+     * Get the category ID for an emergency type (0 until getTypeCategoryCount())
+     */
+    public int typeCategory(String emergencyType) {
+        return keywordMask(emergencyType.toLowerCase(), typeKeywords);
+    }
+
+    /**
+     * Get the category ID for a skill; skills with the same keyword groups share one
+     */
+    public int skillCategory(String skill) {
+        return skill != null ? keywordMask(skill.toLowerCase(), skillKeywords) : 0;
+    }
+
+    /**
+     * Categories of every skill in the list, for a volunteer to cache
+     */
+    Resolved resolveSkills(List<String> skills) {
+        int[] categories = new int[skills != null ? skills.size() : 0];
+        for (int i = 0; i < categories.length; i++) {
+            categories[i] = skillCategory(skills.get(i));
+        }
+        return new Resolved(this, categories);
+    }
+
+    /**
+     * Category of an emergency type, -1 when it is missing, for an emergency to cache
+     */
+    Resolved resolveType(String emergencyType) {
+        int category = emergencyType == null || emergencyType.isEmpty() ? -1 : typeCategory(emergencyType);
+        return new Resolved(this, new int[]{category});
+    }
+
+    /**
+     * Get relevance score (0-100) for skill and type categories
+     */
+    public double score(int skillCategory, int typeCategory) {
+        // The earliest rule reached through any of the skill's groups wins
+        int rule = ruleScores.length - 1;
+        for (int groups = skillCategory; groups != 0; groups &= groups - 1) {
+            rule = Math.min(rule, firstRule[Integer.numberOfTrailingZeros(groups)][typeCategory]);
+        }
+        return ruleScores[rule];
+    }
+
+    public int getTypeCategoryCount() {
+        return typeCategoryCount;
+    }
+
+    private static int keywordMask(String text, String[][] groups) {
+        int mask = 0;
+        for (int i = 0; i < groups.length; i++) {
+            for (String keyword : groups[i]) {
+                if (text.contains(keyword)) {
+                    mask |= 1 << i;
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Category IDs resolved against one table. A record keeps these until its
+     * field changes or it is scored under another installed rule set.
+     */
+    static final class Resolved {
+        final SkillRelevanceTable table;
+        final int[] categories;
+
+        Resolved(SkillRelevanceTable table, int[] categories) {
+            this.table = table;
+            this.categories = categories;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.disasterapp;
+
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * A set of canonical SkillVocabulary IDs as a long bitmask.
+ *
+ * IDs below 64 live in the long, so overlap and coverage are an AND and a
+ * popcount. Only vocabularies grown past 64 skills use the overflow BitSet.
+ */
+public final class SkillSet {
+
+    static final SkillSet EMPTY = new SkillSet(0L, null);
+
+    final long bits;
+    final BitSet overflow; // IDs from 64 up, shifted down by 64; null when empty
+
+    SkillSet(long bits, BitSet overflow) {
+        this.bits = bits;
+        this.overflow = overflow != null && !overflow.isEmpty() ? overflow : null;
+    }
+
+    public boolean isEmpty() {
+        return bits == 0L && overflow == null;
+    }
+
+    public int size() {
+        return Long.bitCount(bits) + (overflow != null ? overflow.cardinality() : 0);
+    }
+
+    public boolean contains(int skillId) {
+        if (skillId < 64) {
+            return (bits & (1L << skillId)) != 0;
+        }
+        return overflow != null && overflow.get(skillId - 64);
+    }
+
+    /**
+     * Number of skills present in both sets
+     */
+    public int overlap(SkillSet other) {
+        int count = Long.bitCount(bits & other.bits);
+        if (overflow != null && other.overflow != null) {
+            BitSet shared = (BitSet) overflow.clone();
+            shared.and(other.overflow);
+            count += shared.cardinality();
+        }
+        return count;
+    }
+
+    /**
+     * Fraction (0-1) of the required skills this set covers; 1 if nothing is required
+     */
+    public double coverageOf(SkillSet required) {
+        if (required.overflow == null) {
+            int needed = Long.bitCount(required.bits);
+            return needed == 0 ? 1.0 : (double) Long.bitCount(bits & required.bits) / needed;
+        }
+        return (double) overlap(required) / required.size();
+    }
+
+    /**
+     * Visit each skill ID in ascending order
+     */
+    public void forEach(IntConsumer action) {
+        for (long rest = bits; rest != 0; rest &= rest - 1) {
+            action.accept(Long.numberOfTrailingZeros(rest));
+        }
+        if (overflow != null) {
+            for (int i = overflow.nextSetBit(0); i >= 0; i = overflow.nextSetBit(i + 1)) {
+                action.accept(64 + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.disasterapp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Canonical skills that volunteer skills and emergency requiredSkills are
+ * both mapped onto, so the two sides can be compared as SkillSets.
+ *
+ * Free text is matched by keyword on word boundaries: "First Aid,
+ * Construction" sets First Aid and Construction, and "Search & Rescue" or
+ * "rescue diver" both set Search & Rescue, but "district" is not read as
+ * "ict". A keyword ending in '*' matches any word it starts. Longer keywords
+ * claim their words first, so "Water Rescue" does not also count as "rescue".
+ */
+public final class SkillVocabulary {
+
+    private static final String RESOURCE = "skill_vocabulary.txt";
+
+    private static final SkillVocabulary DEFAULT = load();
+
+    private final String[] names;
+
+    // Every skill's keywords, longest first, with the '*' stripped
+    private final String[] keywordText;
+    private final int[] keywordSkill;
+    private final boolean[] keywordPrefix;
+
+    SkillVocabulary(String[] names, String[][] keywords) {
+        this.names = names;
+
+        List<String> texts = new ArrayList<>();
+        List<Integer> skills = new ArrayList<>();
+        for (int id = 0; id < keywords.length; id++) {
+            for (String keyword : keywords[id]) {
+                texts.add(keyword);
+                skills.add(id);
+            }
+        }
+        Integer[] order = new Integer[texts.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(texts.get(b).length(), texts.get(a).length()));
+
+        keywordText = new String[order.length];
+        keywordSkill = new int[order.length];
+        keywordPrefix = new boolean[order.length];
+        for (int i = 0; i < order.length; i++) {
+            String keyword = texts.get(order[i]);
+            keywordPrefix[i] = keyword.endsWith("*");
+            keywordText[i] = keywordPrefix[i] ? keyword.substring(0, keyword.length() - 1) : keyword;
+            keywordSkill[i] = skills.get(order[i]);
+        }
+    }
+
+    public static SkillVocabulary get() {
+        return DEFAULT;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String name(int skillId) {
+        return names[skillId];
+    }
+
+    /**
+     * Canonical skills mentioned anywhere in the text
+     */
+    public SkillSet encode(String text) {
+        if (text == null || text.isEmpty()) {
+            return SkillSet.EMPTY;
+        }
+        String lower = text.toLowerCase();
+        boolean[] claimed = new boolean[lower.length()];
+        long bits = 0L;
+        BitSet overflow = null;
+        for (int k = 0; k < keywordText.length; k++) {
+            if (!claimWord(lower, claimed, keywordText[k], keywordPrefix[k])) {
+                continue;
+            }
+            int id = keywordSkill[k];
+            if (id < 64) {
+                bits |= 1L << id;
+            } else {
+                if (overflow == null) {
+                    overflow = new BitSet();
+                }
+                overflow.set(id - 64);
+            }
+        }
+        return bits == 0L && overflow == null ? SkillSet.EMPTY : new SkillSet(bits, overflow);
+    }
+
+    /**
+     * Union of the canonical skills of every entry
+     */
+    public SkillSet encode(List<String> skills) {
+        if (skills == null || skills.isEmpty()) {
+            return SkillSet.EMPTY;
+        }
+        long bits = 0L;
+        BitSet overflow = null;
+        for (String skill : skills) {
+            SkillSet encoded = encode(skill);
+            bits |= encoded.bits;
+            if (encoded.overflow != null) {
+                if (overflow == null) {
+                    overflow = new BitSet();
+                }
+                overflow.or(encoded.overflow);
+            }
+        }
+        return bits == 0L && overflow == null ? SkillSet.EMPTY : new SkillSet(bits, overflow);
+    }
+
+    /**
+     * Mark every unclaimed whole-word occurrence of the keyword (or, for a
+     * prefix, every word it starts) as claimed; true if there was one
+     */
+    private static boolean claimWord(String text, boolean[] claimed, String keyword, boolean prefix) {
+        boolean found = false;
+        int from = 0;
+        int at;
+        while ((at = text.indexOf(keyword, from)) >= 0) {
+            from = at + 1;
+            int end = at + keyword.length();
+            if (at > 0 && Character.isLetterOrDigit(text.charAt(at - 1))) {
+                continue;
+            }
+            if (prefix) {
+                while (end < text.length() && Character.isLetterOrDigit(text.charAt(end))) {
+                    end++;
+                }
+            } else if (end < text.length() && Character.isLetterOrDigit(text.charAt(end))) {
+                continue;
+            }
+            if (isClaimed(claimed, at, end)) {
+                continue;
+            }
+            Arrays.fill(claimed, at, end, true);
+            found = true;
+        }
+        return found;
+    }
+
+    private static boolean isClaimed(boolean[] claimed, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (claimed[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static SkillVocabulary load() {
+        try (InputStream in = SkillVocabulary.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing bundled " + RESOURCE);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            List<String> lines = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+            return parse(lines);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + RESOURCE, e);
+        }
+    }
+
+    static SkillVocabulary parse(List<String> lines) {
+        List<String> names = new ArrayList<>();
+        List<String[]> keywords = new ArrayList<>();
+        for (String raw : lines) {
+            String line = raw.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\\|", -1);
+            String name = fields[0].trim();
+            List<String> words = new ArrayList<>();
+            words.add(name.toLowerCase());
+            if (fields.length > 1) {
+                for (String keyword : fields[1].split(",")) {
+                    if (!keyword.trim().isEmpty()) {
+                        words.add(keyword.trim().toLowerCase());
+                    }
+                }
+            }
+            names.add(name);
+            keywords.add(words.toArray(new String[0]));
+        }
+        return new SkillVocabulary(names.toArray(new String[0]), keywords.toArray(new String[0][]));
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.disasterapp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Matches emergencies as they arrive and publishes the top K at a bounded rate.
+ *
+ * Feed it one emergency at a time from child events, or a page at a time from
+ * a paged query; each one is scored on arrival into a MatchingSession. The
+ * first change to the top K is published straight away, so the first matches
+ * show within a frame of arriving. Later changes are coalesced: at most one
+ * publish per minimum interval, with a deferred publish scheduled so the last
+ * change of a burst is never lost. finish() marks the initial load as done
+ * and publishes immediately, even if nothing matched.
+ *
+ * Not thread-safe: call it, and run the scheduler's tasks, on one thread.
+ * Only close() may be called from another thread.
+ */
+public class StreamingMatcher {
+
+    /**
+     * Receives an immutable copy of the current top K, best first
+     */
+    public interface Listener {
+        void onTopMatches(List<EmergencyMatcher.EmergencyMatch> topMatches, boolean complete);
+    }
+
+    /**
+     * Runs a task on the matcher's thread after a delay, e.g. Handler.postDelayed
+     */
+    public interface Scheduler {
+        void schedule(Runnable task, long delayMillis);
+    }
+
+    // One frame at 60 fps
+    public static final long DEFAULT_MIN_INTERVAL_MS = 16;
+
+    private final MatchingSession session;
+    private final Scheduler scheduler;
+    private final Listener listener;
+    private final long minIntervalMillis;
+    private final LongSupplier clock;
+
+    private long publishedChangeCount;
+    private boolean published;
+    private boolean pending;
+    private boolean complete;
+    private volatile boolean closed;
+    private long lastPublishMillis;
+    private long publishCount;
+
+    public StreamingMatcher(Volunteer volunteer, double minScore, int k, ScoreCache scoreCache,
+                            Scheduler scheduler, Listener listener) {
+        this(volunteer, minScore, k, scoreCache, scheduler, listener,
+                DEFAULT_MIN_INTERVAL_MS, System::currentTimeMillis);
+    }
+
+    StreamingMatcher(Volunteer volunteer, double minScore, int k, ScoreCache scoreCache,
+                     Scheduler scheduler, Listener listener, long minIntervalMillis,
+                     LongSupplier clock) {
+        this.session = new MatchingSession(volunteer, minScore, k, scoreCache);
+        this.scheduler = scheduler;
+        this.listener = listener;
+        this.minIntervalMillis = minIntervalMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Score one new or changed emergency
+     */
+    public void offer(EmergencyRequest emergency) {
+        if (closed) {
+            return;
+        }
+        session.put(emergency);
+        publishIfDue();
+    }
+
+    /**
+     * Score a page of emergencies, publishing at most once for the whole page
+     */
+    public void offerAll(Iterable<EmergencyRequest> emergencies) {
+        if (closed) {
+            return;
+        }
+        for (EmergencyRequest emergency : emergencies) {
+            session.put(emergency);
+        }
+        publishIfDue();
+    }
+
+    public void remove(String emergencyId) {
+        if (closed) {
+            return;
+        }
+        session.remove(emergencyId);
+        publishIfDue();
+    }
+
+    /**
+     * Mark the initial load as done and publish the current top K right away
+     */
+    public void finish() {
+        if (closed) {
+            return;
+        }
+        complete = true;
+        publish();
+    }
+
+    /**
+     * Stop publishing, from any thread; deferred publishes already scheduled do nothing
+     */
+    public void close() {
+        closed = true;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Number of times the listener has been called
+     */
+    public long getPublishCount() {
+        return publishCount;
+    }
+
+    /**
+     * Ranking behind the published top K, e.g. for its radius filter counters
+     */
+    public MatchingSession getSession() {
+        return session;
+    }
+
+    private void publishIfDue() {
+        if (!dirty()) {
+            return;
+        }
+        long wait = published ? lastPublishMillis + minIntervalMillis - clock.getAsLong() : 0;
+        if (wait <= 0) {
+            publish();
+        } else if (!pending) {
+            pending = true;
+            scheduler.schedule(this::publishDeferred, wait);
+        }
+    }
+
+    private void publishDeferred() {
+        pending = false;
+        if (!closed && dirty()) {
+            publish();
+        }
+    }
+
+    /**
+     * The session's top K changed since the last publish
+     */
+    private boolean dirty() {
+        return session.getVisibleChangeCount() != publishedChangeCount;
+    }
+
+    private void publish() {
+        publishedChangeCount = session.getVisibleChangeCount();
+        published = true;
+        lastPublishMillis = clock.getAsLong();
+        publishCount++;
+        List<EmergencyMatcher.EmergencyMatch> top = new ArrayList<>(session.visibleMatches());
+        listener.onTopMatches(Collections.unmodifiableList(top), complete);
+    }
+}
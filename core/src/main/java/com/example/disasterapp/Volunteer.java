@@ -0,0 +1,241 @@
+package com.example.disasterapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class Volunteer {
+    private String userId;
+    private String fullName;
+    private String email;
+    private String phoneNumber;
+    private String serviceArea;
+    private double radius; // in kilometers
+    private List<String> skills;
+    private List<String> availability;
+    private double latitude;
+    private double longitude;
+    private boolean isAvailable;
+    private long version; // edit count kept in memory, bumped when a scored field changes; no bean accessors, so never stored
+    private transient LocationKey serviceAreaKey; // tokenized service area, built on first score
+    private transient Derived<SkillSet> encodedSkills; // canonical skills, built on first score
+    private transient Derived<SkillRelevanceTable.Resolved> skillCategories; // per skill, under the last table scored with
+    private transient Derived<WeeklyWindows> parsedAvailability; // availability windows, built on first score
+
+    // Empty constructor for Firebase
+    public Volunteer() {
+        skills = new ArrayList<>();
+        availability = new ArrayList<>();
+        isAvailable = true;
+    }
+
+    public Volunteer(String userId, String fullName, String email, String phoneNumber,
+                     String serviceArea, double radius, List<String> skills,
+                     List<String> availability) {
+        this.userId = userId;
+        this.fullName = fullName;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+        this.serviceArea = serviceArea;
+        this.radius = radius;
+        this.skills = skills != null ? skills : new ArrayList<>();
+        this.availability = availability != null ? availability : new ArrayList<>();
+        this.isAvailable = true;
+    }
+
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public String getServiceArea() {
+        return serviceArea;
+    }
+
+    public void setServiceArea(String serviceArea) {
+        this.serviceArea = serviceArea;
+        this.serviceAreaKey = null;
+    }
+
+    LocationKey serviceAreaKey() {
+        LocationKey key = serviceAreaKey;
+        if (key == null) {
+            key = LocationKey.of(serviceArea);
+            serviceAreaKey = key;
+        }
+        return key;
+    }
+
+    /**
+     * Like EmergencyRequest.locateFromText, for a profile saved before service
+     * areas were geocoded
+     */
+    public boolean locateFromServiceArea() {
+        if (GeoUtils.hasCoordinates(latitude, longitude)) {
+            return true;
+        }
+        LocationKey key = serviceAreaKey();
+        if (!key.hasPlaceCoordinates()) {
+            return false;
+        }
+        latitude = key.getPlaceLatitude();
+        longitude = key.getPlaceLongitude();
+        return true;
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+
+    public void setRadius(double radius) {
+        this.radius = radius;
+    }
+
+    public List<String> getSkills() {
+        return skills;
+    }
+
+    public void setSkills(List<String> skills) {
+        this.skills = skills;
+        this.encodedSkills = null;
+        this.skillCategories = null;
+    }
+
+    /**
+     * Skills encoded against the canonical vocabulary. Editing the skills list
+     * in place must bump the version, like any other scored field.
+     */
+    SkillSet skillSet() {
+        Derived<SkillSet> encoded = encodedSkills;
+        if (encoded == null || encoded.source != skills || encoded.version != version) {
+            encoded = new Derived<>(skills, version, SkillVocabulary.get().encode(skills));
+            encodedSkills = encoded;
+        }
+        return encoded.value;
+    }
+
+    /**
+     * Relevance category of each skill under the given table, resolved once per
+     * skills list, version and rule set
+     */
+    int[] skillCategories(SkillRelevanceTable table) {
+        Derived<SkillRelevanceTable.Resolved> resolved = skillCategories;
+        if (resolved == null || resolved.source != skills || resolved.version != version
+                || resolved.value.table != table) {
+            resolved = new Derived<>(skills, version, table.resolveSkills(skills));
+            skillCategories = resolved;
+        }
+        return resolved.value.categories;
+    }
+
+    public List<String> getAvailability() {
+        return availability;
+    }
+
+    public void setAvailability(List<String> availability) {
+        this.availability = availability;
+        this.parsedAvailability = null;
+    }
+
+    /**
+     * Weekly windows behind the availability labels; in-place edits must bump
+     * the version, as with skills. Not a bean getter, so Firebase skips it.
+     */
+    public WeeklyWindows availabilityWindows() {
+        Derived<WeeklyWindows> parsed = parsedAvailability;
+        if (parsed == null || parsed.source != availability || parsed.version != version) {
+            parsed = new Derived<>(availability, version, WeeklyWindows.ofAvailability(availability));
+            parsedAvailability = parsed;
+        }
+        return parsed.value;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+
+    public boolean isAvailable() {
+        return isAvailable;
+    }
+
+    public void setAvailable(boolean available) {
+        isAvailable = available;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Volunteer withVersion(long version) {
+        this.version = version;
+        return this;
+    }
+
+    /**
+     * Whether every field match scores read is equal to the other's, so a
+     * score computed for one holds for the other
+     */
+    public boolean sameScoredFields(Volunteer other) {
+        return Objects.equals(serviceArea, other.serviceArea)
+                && radius == other.radius
+                && Objects.equals(skills, other.skills)
+                && Objects.equals(availability, other.availability)
+                && latitude == other.latitude
+                && longitude == other.longitude;
+    }
+
+    /**
+     * A value computed from one of the lists, valid while the list and version are unchanged
+     */
+    private static final class Derived<T> {
+        final List<String> source;
+        final long version;
+        final T value;
+
+        Derived(List<String> source, long version, T value) {
+            this.source = source;
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
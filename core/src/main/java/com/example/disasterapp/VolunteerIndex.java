@@ -0,0 +1,183 @@
+package com.example.disasterapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Available volunteers by location cell, for finding who to alert about a
+ * new emergency without scanning everyone.
+ *
+ * Each volunteer sits in the grid cell of their coordinates. Only the cells
+ * within the largest indexed radius of the emergency are read, and each
+ * volunteer found there must have the emergency inside their own radius.
+ * Volunteers without coordinates or radius can be reached anywhere, and an
+ * emergency without coordinates reaches everyone, the same as RadiusFilter
+ * in forward matching. The candidates are exactly the available volunteers
+ * whose RadiusFilter accepts the emergency.
+ *
+ * Skills are not used to narrow the set: a volunteer who covers none of the
+ * required skills still scores on urgency, distance and the rest, and can
+ * clear the threshold.
+ *
+ * Not thread-safe; keep it on one thread, e.g. the BackgroundPipeline worker.
+ */
+public final class VolunteerIndex {
+
+    private final double cellDegrees;
+    private final Map<String, Entry> byId = new HashMap<>();
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+    private final List<Entry> anywhere = new ArrayList<>();
+    private int size;
+    // Only grows; a removed far-reaching volunteer just widens later queries a little
+    private double maxRadiusKm;
+    private int nextSequence;
+
+    public VolunteerIndex() {
+        this(GeoGridIndex.DEFAULT_CELL_SIZE_KM);
+    }
+
+    public VolunteerIndex(double cellSizeKm) {
+        this.cellDegrees = cellSizeKm / GeoUtils.KM_PER_DEGREE_LAT;
+    }
+
+    public static VolunteerIndex build(List<Volunteer> volunteers) {
+        VolunteerIndex index = new VolunteerIndex();
+        for (Volunteer volunteer : volunteers) {
+            index.put(volunteer);
+        }
+        return index;
+    }
+
+    /**
+     * Add or replace a volunteer by userId. Unavailable volunteers are only removed.
+     */
+    public void put(Volunteer volunteer) {
+        remove(volunteer.getUserId());
+        if (!volunteer.isAvailable()) {
+            return;
+        }
+
+        Entry entry = new Entry(volunteer, nextSequence++, RadiusFilter.of(volunteer));
+        if (entry.filter.isEnabled()) {
+            entry.cell = cellKey(cellOf(volunteer.getLatitude()), cellOf(volunteer.getLongitude()));
+            maxRadiusKm = Math.max(maxRadiusKm, volunteer.getRadius());
+        }
+        if (volunteer.getUserId() != null) {
+            byId.put(volunteer.getUserId(), entry);
+        }
+        if (entry.cell == null) {
+            anywhere.add(entry);
+        } else {
+            List<Entry> cell = cells.get(entry.cell);
+            if (cell == null) {
+                cell = new ArrayList<>();
+                cells.put(entry.cell, cell);
+            }
+            cell.add(entry);
+        }
+        size++;
+    }
+
+    public boolean remove(String userId) {
+        Entry entry = userId != null ? byId.remove(userId) : null;
+        if (entry == null) {
+            return false;
+        }
+        List<Entry> bucket = entry.cell == null ? anywhere : cells.get(entry.cell);
+        bucket.remove(entry);
+        if (entry.cell != null && bucket.isEmpty()) {
+            cells.remove(entry.cell);
+        }
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Available volunteers whose radius reaches the emergency, in the order they were added
+     */
+    public List<Volunteer> candidatesFor(EmergencyRequest emergency) {
+        List<Entry> found = new ArrayList<>();
+        double latitude = emergency.getLatitude();
+        double longitude = emergency.getLongitude();
+        boolean located = GeoUtils.hasCoordinates(latitude, longitude);
+        if (located) {
+            collect(latitude, longitude, found);
+        } else {
+            collectAll(found);
+        }
+
+        Entry[] ordered = found.toArray(new Entry[0]);
+        Arrays.sort(ordered, (a, b) -> Integer.compare(a.sequence, b.sequence));
+        List<Volunteer> result = new ArrayList<>(ordered.length);
+        for (Entry entry : ordered) {
+            if (!located || entry.filter.accepts(latitude, longitude)) {
+                result.add(entry.volunteer);
+            }
+        }
+        return result;
+    }
+
+    private void collectAll(List<Entry> out) {
+        out.addAll(anywhere);
+        for (List<Entry> cell : cells.values()) {
+            out.addAll(cell);
+        }
+    }
+
+    /**
+     * Volunteers in cells close enough that their radius could reach the point
+     */
+    private void collect(double latitude, double longitude, List<Entry> out) {
+        double latSpan = maxRadiusKm / GeoUtils.KM_PER_DEGREE_LAT;
+        double cosLat = Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude) + latSpan)));
+        double lonSpan = maxRadiusKm / (GeoUtils.KM_PER_DEGREE_LAT * cosLat);
+        int minLat = cellOf(latitude - latSpan);
+        int maxLat = cellOf(latitude + latSpan);
+        int minLon = cellOf(longitude - lonSpan);
+        int maxLon = cellOf(longitude + lonSpan);
+
+        long cellCount = (long) (maxLat - minLat + 1) * (maxLon - minLon + 1);
+        if (lonSpan >= 180.0 || cellCount > cells.size()) {
+            collectAll(out); // RadiusFilter still drops whoever is out of reach
+            return;
+        }
+
+        out.addAll(anywhere);
+        for (int latCell = minLat; latCell <= maxLat; latCell++) {
+            for (int lonCell = minLon; lonCell <= maxLon; lonCell++) {
+                List<Entry> cell = cells.get(cellKey(latCell, lonCell));
+                if (cell != null) {
+                    out.addAll(cell);
+                }
+            }
+        }
+    }
+
+    private int cellOf(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xFFFFFFFFL);
+    }
+
+    private static final class Entry {
+        final Volunteer volunteer;
+        final int sequence;
+        final RadiusFilter filter;
+        Long cell; // null when reachable anywhere
+
+        Entry(Volunteer volunteer, int sequence, RadiusFilter filter) {
+            this.volunteer = volunteer;
+            this.sequence = sequence;
+            this.filter = filter;
+        }
+    }
+}
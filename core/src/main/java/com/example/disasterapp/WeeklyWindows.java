@@ -0,0 +1,241 @@
+package com.example.disasterapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recurring time windows within a week, as sorted, disjoint minute ranges.
+ *
+ * Minutes count from Monday 00:00, so a window running past Sunday midnight
+ * is stored as two ranges. Volunteers get theirs from the availability
+ * labels picked at signup; an emergency gets the EMERGENCY_WINDOW_MINUTES
+ * after its dateTime (or the whole day when only a date was entered).
+ */
+public final class WeeklyWindows {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+    static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    // How long an emergency is assumed to need volunteers after its dateTime
+    static final int EMERGENCY_WINDOW_MINUTES = 4 * 60;
+
+    static final WeeklyWindows EMPTY = new WeeklyWindows(new int[0], new int[0]);
+
+    private static final int WEEKDAYS = 0b0011111;
+    private static final int WEEKEND = 0b1100000;
+    private static final int EVERY_DAY = 0b1111111;
+
+    // Signup availability labels, lower-cased with everything but letters dropped
+    private static final Map<String, WeeklyWindows> LABELS = new HashMap<>();
+
+    static {
+        LABELS.put("weekdaymornings", daily(WEEKDAYS, 6, 12));
+        LABELS.put("weekdayafternoons", daily(WEEKDAYS, 12, 17));
+        LABELS.put("weekdayevenings", daily(WEEKDAYS, 17, 22));
+        LABELS.put("weekenddays", daily(WEEKEND, 6, 18));
+        LABELS.put("weekendevenings", daily(WEEKEND, 18, 22));
+        LABELS.put("overnight", daily(EVERY_DAY, 22, 30));
+        LABELS.put("oncall", daily(EVERY_DAY, 0, 24));
+    }
+
+    final int[] starts;
+    final int[] ends; // exclusive
+
+    private WeeklyWindows(int[] starts, int[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    /**
+     * Union of the windows behind each availability label; unknown labels are ignored
+     */
+    public static WeeklyWindows ofAvailability(List<String> labels) {
+        if (labels == null || labels.isEmpty()) {
+            return EMPTY;
+        }
+        List<int[]> ranges = new ArrayList<>();
+        for (String label : labels) {
+            WeeklyWindows windows = label != null ? LABELS.get(normalize(label)) : null;
+            if (windows != null) {
+                for (int i = 0; i < windows.starts.length; i++) {
+                    ranges.add(new int[]{windows.starts[i], windows.ends[i]});
+                }
+            }
+        }
+        return merge(ranges);
+    }
+
+    /**
+     * Window an emergency needs volunteers for, from a "d/M/yyyy H:m" dateTime.
+     * Empty if the date can't be read.
+     */
+    public static WeeklyWindows ofDateTime(String dateTime) {
+        int[] fields = dateTimeFields(dateTime);
+        if (fields == null) {
+            return EMPTY;
+        }
+        int dayStart = dayOfWeek(fields[2], fields[1], fields[0]) * MINUTES_PER_DAY;
+        if (fields.length < 5) {
+            return starting(dayStart, MINUTES_PER_DAY);
+        }
+        return starting(dayStart + fields[3] * 60 + fields[4], EMERGENCY_WINDOW_MINUTES);
+    }
+
+    /**
+     * {day, month, year} or {day, month, year, hour, minute} from a
+     * "d/M/yyyy H:m" dateTime, or null if it can't be read
+     */
+    static int[] dateTimeFields(String dateTime) {
+        if (dateTime == null) {
+            return null;
+        }
+        int[] fields = new int[5];
+        int count = 0;
+        int value = -1;
+        for (int i = 0; i <= dateTime.length() && count < fields.length; i++) {
+            char c = i < dateTime.length() ? dateTime.charAt(i) : ' ';
+            if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+                if (value > 9999) {
+                    return null;
+                }
+            } else if (value >= 0) {
+                fields[count++] = value;
+                value = -1;
+            }
+        }
+        if (count < 3) {
+            return null;
+        }
+
+        int day = fields[0];
+        int month = fields[1];
+        int year = fields[2];
+        if (month < 1 || month > 12 || day < 1 || day > 31 || year < 1900) {
+            return null;
+        }
+        if (count < 5) {
+            return new int[]{day, month, year};
+        }
+        if (fields[3] > 23 || fields[4] > 59) {
+            return null;
+        }
+        return fields;
+    }
+
+    /**
+     * A single window of the given length, wrapping past the end of the week
+     */
+    static WeeklyWindows starting(int minuteOfWeek, int length) {
+        int start = Math.floorMod(minuteOfWeek, MINUTES_PER_WEEK);
+        int end = start + Math.min(length, MINUTES_PER_WEEK);
+        if (end <= MINUTES_PER_WEEK) {
+            return new WeeklyWindows(new int[]{start}, new int[]{end});
+        }
+        return new WeeklyWindows(new int[]{0, start}, new int[]{end - MINUTES_PER_WEEK, MINUTES_PER_WEEK});
+    }
+
+    public boolean isEmpty() {
+        return starts.length == 0;
+    }
+
+    public int minutes() {
+        int total = 0;
+        for (int i = 0; i < starts.length; i++) {
+            total += ends[i] - starts[i];
+        }
+        return total;
+    }
+
+    /**
+     * Minutes shared by both sets of windows
+     */
+    public int overlapMinutes(WeeklyWindows other) {
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < starts.length && j < other.starts.length) {
+            int from = Math.max(starts[i], other.starts[j]);
+            int to = Math.min(ends[i], other.ends[j]);
+            if (from < to) {
+                total += to - from;
+            }
+            if (ends[i] < other.ends[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Fraction (0-1) of the needed windows that these windows cover; 1 if nothing is needed
+     */
+    public double coverageOf(WeeklyWindows needed) {
+        int neededMinutes = needed.minutes();
+        return neededMinutes == 0 ? 1.0 : (double) overlapMinutes(needed) / neededMinutes;
+    }
+
+    /**
+     * Same hours on each day in the mask (bit 0 is Monday); toHour may pass midnight
+     */
+    private static WeeklyWindows daily(int dayMask, int fromHour, int toHour) {
+        List<int[]> ranges = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            if ((dayMask & (1 << day)) != 0) {
+                WeeklyWindows window = starting(day * MINUTES_PER_DAY + fromHour * 60, (toHour - fromHour) * 60);
+                for (int i = 0; i < window.starts.length; i++) {
+                    ranges.add(new int[]{window.starts[i], window.ends[i]});
+                }
+            }
+        }
+        return merge(ranges);
+    }
+
+    private static WeeklyWindows merge(List<int[]> ranges) {
+        if (ranges.isEmpty()) {
+            return EMPTY;
+        }
+        ranges.sort((a, b) -> Integer.compare(a[0], b[0]));
+        int[] starts = new int[ranges.size()];
+        int[] ends = new int[ranges.size()];
+        int count = 0;
+        for (int[] range : ranges) {
+            if (count > 0 && range[0] <= ends[count - 1]) {
+                ends[count - 1] = Math.max(ends[count - 1], range[1]);
+            } else {
+                starts[count] = range[0];
+                ends[count] = range[1];
+                count++;
+            }
+        }
+        return new WeeklyWindows(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count));
+    }
+
+    private static String normalize(String label) {
+        StringBuilder builder = new StringBuilder(label.length());
+        for (int i = 0; i < label.length(); i++) {
+            char c = label.charAt(i);
+            if (Character.isLetter(c)) {
+                builder.append(Character.toLowerCase(c));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Day of the week, 0 for Monday, for a Gregorian date (Sakamoto's method)
+     */
+    static int dayOfWeek(int year, int month, int day) {
+        int[] offsets = {0, 3, 2, 5, 0, 3, 5, 1, 4, 6, 2, 4};
+        if (month < 3) {
+            year--;
+        }
+        int sundayBased = (year + year / 4 - year / 100 + year / 400 + offsets[month - 1] + day) % 7;
+        return (sundayBased + 6) % 7;
+    }
+}
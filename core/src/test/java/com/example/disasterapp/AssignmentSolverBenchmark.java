@@ -0,0 +1,49 @@
+package com.example.disasterapp;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Full and incremental solve times at dispatcher scale. Run main() from the IDE.
+ */
+public class AssignmentSolverBenchmark {
+
+    public static void main(String[] args) {
+        Random random = new Random(3);
+        List<Volunteer> volunteers = BatchScoringEngineBenchmark.randomVolunteers(random, 5000);
+        List<EmergencyRequest> emergencies = GeoGridIndexBenchmark.randomEmergencies(random, 2000);
+        for (EmergencyRequest emergency : emergencies) {
+            emergency.setVolunteers(String.valueOf(1 + random.nextInt(4)));
+        }
+        BatchScoringEngine.ScoreMatrix matrix = new BatchScoringEngine().score(volunteers, emergencies);
+
+        long start = System.nanoTime();
+        AssignmentSolver solver = new AssignmentSolver(matrix, AssignmentSolver.capacitiesOf(emergencies));
+        solver.solve();
+        double fullMs = (System.nanoTime() - start) / 1e6;
+        System.out.printf("full solve %dx%d: %.0f ms, %d bids, total %.1f%n", volunteers.size(),
+                emergencies.size(), fullMs, solver.getBidCount(), solver.totalScore());
+
+        float[] row = new float[emergencies.size()];
+        for (int e = 0; e < row.length; e++) {
+            row[e] = random.nextInt(101);
+        }
+        long bids = solver.getBidCount();
+        start = System.nanoTime();
+        solver.updateVolunteer(42, row);
+        solver.solve();
+        System.out.printf("volunteer update: %.1f ms, %d bids%n",
+                (System.nanoTime() - start) / 1e6, solver.getBidCount() - bids);
+
+        float[] column = new float[volunteers.size()];
+        for (int v = 0; v < column.length; v++) {
+            column[v] = random.nextInt(101);
+        }
+        bids = solver.getBidCount();
+        start = System.nanoTime();
+        solver.updateEmergency(7, column, 3);
+        solver.solve();
+        System.out.printf("emergency update: %.1f ms, %d bids%n",
+                (System.nanoTime() - start) / 1e6, solver.getBidCount() - bids);
+    }
+}
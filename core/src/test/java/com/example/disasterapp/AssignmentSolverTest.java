@@ -0,0 +1,147 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class AssignmentSolverTest {
+
+    private static final double EPSILON = 0.01;
+
+    @Test
+    public void solve_isNearOptimalAndRespectsCapacity() {
+        Random random = new Random(9);
+        for (int round = 0; round < 40; round++) {
+            int volunteers = 2 + random.nextInt(6);
+            int emergencies = 1 + random.nextInt(3);
+            BatchScoringEngine.ScoreMatrix matrix = randomMatrix(random, volunteers, emergencies);
+            int[] capacities = new int[emergencies];
+            for (int e = 0; e < emergencies; e++) {
+                capacities[e] = random.nextInt(3);
+            }
+
+            AssignmentSolver solver = new AssignmentSolver(matrix, capacities, EPSILON);
+            int[] assignment = solver.solve();
+
+            assertWithinCapacity(assignment, capacities);
+            double optimum = bruteForce(matrix, capacities, new int[emergencies], 0);
+            assertEquals(optimum, solver.totalScore(), tolerance(volunteers, capacities));
+        }
+    }
+
+    @Test
+    public void incrementalUpdates_matchFreshSolve() {
+        Random random = new Random(17);
+        for (int round = 0; round < 30; round++) {
+            int volunteers = 3 + random.nextInt(5);
+            int emergencies = 2 + random.nextInt(2);
+            BatchScoringEngine.ScoreMatrix matrix = randomMatrix(random, volunteers, emergencies);
+            int[] capacities = new int[emergencies];
+            for (int e = 0; e < emergencies; e++) {
+                capacities[e] = 1 + random.nextInt(2);
+            }
+
+            AssignmentSolver solver = new AssignmentSolver(matrix, capacities, EPSILON);
+            solver.solve();
+
+            float[] updated = matrix.toArray();
+            if (random.nextBoolean()) {
+                float[] row = new float[emergencies];
+                for (int e = 0; e < emergencies; e++) {
+                    row[e] = random.nextInt(101);
+                }
+                int v = random.nextInt(volunteers);
+                System.arraycopy(row, 0, updated, v * emergencies, emergencies);
+                solver.updateVolunteer(v, row);
+            } else {
+                int e = random.nextInt(emergencies);
+                float[] column = new float[volunteers];
+                for (int v = 0; v < volunteers; v++) {
+                    column[v] = random.nextInt(101);
+                    updated[v * emergencies + e] = column[v];
+                }
+                capacities[e] = random.nextInt(3);
+                solver.updateEmergency(e, column, capacities[e]);
+            }
+            int[] assignment = solver.solve();
+
+            assertWithinCapacity(assignment, capacities);
+            BatchScoringEngine.ScoreMatrix current =
+                    new BatchScoringEngine.ScoreMatrix(updated, volunteers, emergencies);
+            double optimum = bruteForce(current, capacities, new int[emergencies], 0);
+            assertEquals(optimum, solver.totalScore(), tolerance(volunteers, capacities));
+        }
+    }
+
+    @Test
+    public void updates_leaveTheCallersMatrixAlone() {
+        BatchScoringEngine.ScoreMatrix matrix = randomMatrix(new Random(3), 4, 2);
+        float[] before = matrix.toArray();
+
+        AssignmentSolver solver = new AssignmentSolver(matrix, new int[]{1, 1}, EPSILON);
+        solver.solve();
+        solver.updateVolunteer(0, new float[]{100, 100});
+        solver.updateEmergency(1, new float[]{0, 0, 0, 0}, 2);
+        solver.solve();
+
+        assertArrayEquals(before, matrix.toArray(), 0f);
+    }
+
+    @Test
+    public void capacityOf_readsRequestedVolunteers() {
+        EmergencyRequest request = new EmergencyRequest();
+        request.setVolunteers(" 4 ");
+        assertEquals(4, AssignmentSolver.capacityOf(request));
+        request.setVolunteers("a few");
+        assertEquals(1, AssignmentSolver.capacityOf(request));
+        request.setVolunteers(null);
+        assertEquals(1, AssignmentSolver.capacityOf(request));
+    }
+
+    /**
+     * Auction guarantee: within (bidders) * epsilon, one bidder per volunteer and slot
+     */
+    private static double tolerance(int volunteers, int[] capacities) {
+        int slots = 0;
+        for (int capacity : capacities) {
+            slots += capacity;
+        }
+        return (volunteers + slots) * EPSILON + 1e-6;
+    }
+
+    private static BatchScoringEngine.ScoreMatrix randomMatrix(Random random, int rows, int cols) {
+        float[] scores = new float[rows * cols];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = random.nextInt(101);
+        }
+        return new BatchScoringEngine.ScoreMatrix(scores, rows, cols);
+    }
+
+    private static void assertWithinCapacity(int[] assignment, int[] capacities) {
+        int[] used = new int[capacities.length];
+        for (int e : assignment) {
+            assertTrue(e >= AssignmentSolver.UNASSIGNED);
+            if (e >= 0) {
+                used[e]++;
+                assertTrue(used[e] <= capacities[e]);
+            }
+        }
+    }
+
+    private static double bruteForce(BatchScoringEngine.ScoreMatrix matrix, int[] capacities, int[] used, int v) {
+        if (v == matrix.getVolunteerCount()) {
+            return 0;
+        }
+        double best = bruteForce(matrix, capacities, used, v + 1);
+        for (int e = 0; e < capacities.length; e++) {
+            if (used[e] < capacities[e]) {
+                used[e]++;
+                best = Math.max(best, matrix.get(v, e) + bruteForce(matrix, capacities, used, v + 1));
+                used[e]--;
+            }
+        }
+        return best;
+    }
+}
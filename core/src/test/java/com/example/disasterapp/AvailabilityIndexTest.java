@@ -0,0 +1,126 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class AvailabilityIndexTest {
+
+    private static final int DAY = WeeklyWindows.MINUTES_PER_DAY;
+
+    @Test
+    public void dateTime_mapsOntoWeekFromMonday() {
+        // 5 March 2025 was a Wednesday
+        WeeklyWindows window = WeeklyWindows.ofDateTime("5/3/2025 9:7");
+        assertArrayEquals(new int[]{2 * DAY + 9 * 60 + 7}, window.starts);
+        assertEquals(WeeklyWindows.EMERGENCY_WINDOW_MINUTES, window.minutes());
+
+        // Sunday 23:15 runs on into Monday morning
+        WeeklyWindows late = WeeklyWindows.ofDateTime("9/3/2025 23:15");
+        assertArrayEquals(new int[]{0, 6 * DAY + 23 * 60 + 15}, late.starts);
+        assertEquals(WeeklyWindows.EMERGENCY_WINDOW_MINUTES, late.minutes());
+
+        assertEquals(DAY, WeeklyWindows.ofDateTime("12/3/2025").minutes());
+        assertTrue(WeeklyWindows.ofDateTime("").isEmpty());
+        assertTrue(WeeklyWindows.ofDateTime("soon").isEmpty());
+        assertTrue(WeeklyWindows.ofDateTime("5/13/2025 9:00").isEmpty());
+    }
+
+    @Test
+    public void availabilityScore_isShareOfEmergencyWindowCovered() {
+        WeeklyWindows mornings = WeeklyWindows.ofAvailability(Arrays.asList("Weekday Mornings"));
+        assertEquals(5 * 6 * 60, mornings.minutes());
+        assertEquals(7 * DAY, WeeklyWindows.ofAvailability(Arrays.asList("On-call")).minutes());
+        assertTrue(WeeklyWindows.ofAvailability(Arrays.asList("Whenever")).isEmpty());
+
+        // Wednesday 10:00-14:00 against mornings that end at noon
+        WeeklyWindows needed = WeeklyWindows.ofDateTime("5/3/2025 10:00");
+        assertEquals(50.0, EmergencyMatcher.calculateAvailabilityScore(mornings, needed), 1e-9);
+        WeeklyWindows both = WeeklyWindows.ofAvailability(Arrays.asList("weekday mornings", "Weekday Afternoons"));
+        assertEquals(100.0, EmergencyMatcher.calculateAvailabilityScore(both, needed), 1e-9);
+
+        // Overnight covers Sunday 23:15 to Monday 03:15 across the week boundary
+        WeeklyWindows overnight = WeeklyWindows.ofAvailability(Arrays.asList("Overnight"));
+        assertEquals(100.0, EmergencyMatcher.calculateAvailabilityScore(overnight,
+                WeeklyWindows.ofDateTime("9/3/2025 23:15")), 1e-9);
+
+        assertEquals(50.0, EmergencyMatcher.calculateAvailabilityScore(WeeklyWindows.EMPTY, needed), 0.0);
+        assertEquals(50.0, EmergencyMatcher.calculateAvailabilityScore(mornings, WeeklyWindows.EMPTY), 0.0);
+    }
+
+    @Test
+    public void overlapping_equalsLinearScan() {
+        Random random = new Random(21);
+        List<Volunteer> volunteers = BatchScoringEngineBenchmark.randomVolunteers(random, 400);
+        List<EmergencyRequest> emergencies = new ArrayList<>(GeoGridIndexBenchmark.randomEmergencies(random, 400));
+        emergencies.get(0).setDateTime(null);
+
+        AvailabilityIndex<Volunteer> volunteerIndex = AvailabilityIndex.ofVolunteers(volunteers);
+        AvailabilityIndex<EmergencyRequest> emergencyIndex = AvailabilityIndex.ofEmergencies(emergencies);
+        assertEquals(Collections.singletonList(emergencies.get(0)), emergencyIndex.getUnscheduled());
+
+        for (EmergencyRequest emergency : emergencies) {
+            List<Volunteer> expected = new ArrayList<>();
+            for (Volunteer volunteer : volunteers) {
+                if (volunteer.availabilityWindows().overlapMinutes(emergency.timeWindow()) > 0) {
+                    expected.add(volunteer);
+                }
+            }
+            assertEquals(expected, volunteerIndex.overlapping(emergency.timeWindow()));
+        }
+
+        for (Volunteer volunteer : volunteers) {
+            List<EmergencyRequest> expected = new ArrayList<>();
+            for (EmergencyRequest emergency : emergencies) {
+                if (volunteer.availabilityWindows().overlapMinutes(emergency.timeWindow()) > 0) {
+                    expected.add(emergency);
+                }
+            }
+            assertEquals(expected, emergencyIndex.overlapping(volunteer.availabilityWindows()));
+        }
+    }
+
+    @Test
+    public void availableFor_keepsOverlappingAndUnscheduledVolunteers() {
+        Random random = new Random(22);
+        List<Volunteer> volunteers = BatchScoringEngineBenchmark.randomVolunteers(random, 300);
+        volunteers.get(5).setAvailability(new ArrayList<>());
+        List<EmergencyRequest> emergencies = new ArrayList<>(GeoGridIndexBenchmark.randomEmergencies(random, 100));
+        emergencies.get(0).setDateTime("soon");
+
+        AvailabilityIndex<Volunteer> index = AvailabilityIndex.ofVolunteers(volunteers);
+        for (EmergencyRequest emergency : emergencies) {
+            WeeklyWindows needed = emergency.timeWindow();
+            List<Volunteer> expected = new ArrayList<>();
+            for (Volunteer volunteer : volunteers) {
+                WeeklyWindows free = volunteer.availabilityWindows();
+                if (needed.isEmpty() || free.isEmpty() || free.overlapMinutes(needed) > 0) {
+                    expected.add(volunteer);
+                }
+            }
+            assertEquals(expected, index.availableFor(needed));
+        }
+        assertEquals(volunteers, index.availableFor(emergencies.get(0).timeWindow()));
+        assertTrue(index.availableFor(emergencies.get(1).timeWindow()).contains(volunteers.get(5)));
+    }
+
+    @Test
+    public void availabilityEdits_invalidateParsedWindows() {
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Nairobi", "Medical");
+        assertTrue(volunteer.availabilityWindows().isEmpty());
+
+        volunteer.setAvailability(new ArrayList<>(Arrays.asList("Weekend Days")));
+        assertEquals(2 * 12 * 60, volunteer.availabilityWindows().minutes());
+
+        // In-place edits count once the version is bumped
+        volunteer.getAvailability().add("Weekend Evenings");
+        volunteer.withVersion(volunteer.version() + 1);
+        assertEquals(2 * 16 * 60, volunteer.availabilityWindows().minutes());
+    }
+}
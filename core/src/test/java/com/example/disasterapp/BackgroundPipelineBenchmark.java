@@ -0,0 +1,130 @@
+package com.example.disasterapp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Longest stall of the caller ("UI") thread when a 5k-emergency snapshot is
+ * parsed, matched and sorted inline versus through the BackgroundPipeline.
+ * A JVM proxy for dropped frames on a device, not a measurement of one.
+ * Run main() from the IDE; it is not part of the unit test suite.
+ */
+public class BackgroundPipelineBenchmark {
+
+    private static final double FRAME_MS = 1000.0 / 60;
+
+    public static void main(String[] args) throws Exception {
+        List<Map<String, Object>> snapshot = rawSnapshot(new Random(1), 5_000);
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Nairobi", "First Aid", "Swimming");
+
+        for (int i = 0; i < 5; i++) {
+            stallInline(volunteer, snapshot);
+            stallPipelined(volunteer, snapshot);
+        }
+
+        System.out.println("mode      longest_stall_ms  frames");
+        double inline = 0;
+        double pipelined = 0;
+        for (int run = 0; run < 10; run++) {
+            inline = Math.max(inline, stallInline(volunteer, snapshot));
+            pipelined = Math.max(pipelined, stallPipelined(volunteer, snapshot));
+        }
+        System.out.printf("inline    %16.2f  %6.1f%n", inline, inline / FRAME_MS);
+        System.out.printf("pipeline  %16.2f  %6.1f%n", pipelined, pipelined / FRAME_MS);
+    }
+
+    private static double stallInline(Volunteer volunteer, List<Map<String, Object>> snapshot) {
+        long start = System.nanoTime();
+        List<EmergencyMatcher.EmergencyMatch> matches = parseAndMatch(volunteer, snapshot);
+        show(matches);
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    /**
+     * The caller is blocked while submitting, and again while the result is shown
+     */
+    private static double stallPipelined(Volunteer volunteer, List<Map<String, Object>> snapshot)
+            throws InterruptedException {
+        LinkedBlockingQueue<Runnable> uiQueue = new LinkedBlockingQueue<>();
+        BackgroundPipeline pipeline = new BackgroundPipeline(uiQueue::add);
+        CountDownLatch shown = new CountDownLatch(1);
+        BackgroundPipeline.Channel<List<EmergencyMatcher.EmergencyMatch>> channel =
+                pipeline.channel(matches -> {
+                    show(matches);
+                    shown.countDown();
+                });
+
+        long start = System.nanoTime();
+        channel.submit(() -> parseAndMatch(volunteer, snapshot));
+        double stall = (System.nanoTime() - start) / 1e6;
+
+        while (shown.getCount() > 0) {
+            Runnable task = uiQueue.take();
+            long taskStart = System.nanoTime();
+            task.run();
+            stall = Math.max(stall, (System.nanoTime() - taskStart) / 1e6);
+        }
+        pipeline.shutdown();
+        return stall;
+    }
+
+    private static List<EmergencyMatcher.EmergencyMatch> parseAndMatch(
+            Volunteer volunteer, List<Map<String, Object>> snapshot) {
+        List<EmergencyRequest> emergencies = new ArrayList<>(snapshot.size());
+        for (Map<String, Object> child : snapshot) {
+            emergencies.add(parse(child));
+        }
+        return EmergencyMatcher.topMatches(volunteer, emergencies, 50, 35.0);
+    }
+
+    // Stands in for the adapter binding the visible rows
+    private static void show(List<EmergencyMatcher.EmergencyMatch> matches) {
+        StringBuilder rows = new StringBuilder();
+        for (EmergencyMatcher.EmergencyMatch match : matches) {
+            rows.append(match.getEmergency().getType()).append('\n');
+        }
+        if (rows.length() < 0) {
+            throw new AssertionError();
+        }
+    }
+
+    // Bean setters, as DataSnapshot.getValue(EmergencyRequest.class) would call them
+    private static EmergencyRequest parse(Map<String, Object> child) {
+        EmergencyRequest emergency = new EmergencyRequest();
+        emergency.setId((String) child.get("id"));
+        emergency.setType((String) child.get("type"));
+        emergency.setLocation((String) child.get("location"));
+        emergency.setUrgency((String) child.get("urgency"));
+        emergency.setDescription((String) child.get("description"));
+        emergency.setVolunteers((String) child.get("volunteers"));
+        emergency.setDateTime((String) child.get("dateTime"));
+        emergency.setRequiredSkills((String) child.get("requiredSkills"));
+        emergency.setLatitude((Double) child.get("latitude"));
+        emergency.setLongitude((Double) child.get("longitude"));
+        return emergency;
+    }
+
+    private static List<Map<String, Object>> rawSnapshot(Random random, int count) {
+        List<Map<String, Object>> children = new ArrayList<>(count);
+        for (EmergencyRequest emergency : GeoGridIndexBenchmark.randomEmergencies(random, count)) {
+            Map<String, Object> child = new HashMap<>();
+            child.put("id", emergency.getId());
+            child.put("type", emergency.getType());
+            child.put("location", emergency.getLocation());
+            child.put("urgency", emergency.getUrgency());
+            child.put("description", emergency.getDescription());
+            child.put("volunteers", emergency.getVolunteers());
+            child.put("dateTime", emergency.getDateTime());
+            child.put("requiredSkills", emergency.getRequiredSkills());
+            child.put("latitude", emergency.getLatitude());
+            child.put("longitude", emergency.getLongitude());
+            children.add(child);
+        }
+        return children;
+    }
+}
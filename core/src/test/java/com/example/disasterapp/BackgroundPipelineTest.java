@@ -0,0 +1,105 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class BackgroundPipelineTest {
+
+    // Stands in for the main looper: results wait here until the test drains them
+    private final ConcurrentLinkedQueue<Runnable> uiQueue = new ConcurrentLinkedQueue<>();
+    private final BackgroundPipeline pipeline = new BackgroundPipeline(uiQueue::add);
+
+    @Test
+    public void channel_skipsSupersededWork_andDeliversLatest() throws Exception {
+        List<Integer> delivered = new ArrayList<>();
+        AtomicInteger computed = new AtomicInteger();
+        BackgroundPipeline.Channel<Integer> channel = pipeline.channel(delivered::add);
+
+        CountDownLatch release = blockWorker();
+        for (int i = 1; i <= 5; i++) {
+            int value = i;
+            channel.submit(() -> {
+                computed.incrementAndGet();
+                return value;
+            });
+        }
+        release.countDown();
+        drainWorker();
+        drainUi();
+
+        assertEquals(1, computed.get());
+        assertEquals(List.of(5), delivered);
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void channel_deliversNothingAfterClose() throws Exception {
+        List<String> delivered = new ArrayList<>();
+        BackgroundPipeline.Channel<String> channel = pipeline.channel(delivered::add);
+
+        channel.submit(() -> "computed");
+        drainWorker();
+        // The result is already queued for the UI when the screen goes away
+        channel.close();
+        channel.submit(() -> "after close");
+        drainWorker();
+        drainUi();
+
+        assertTrue(delivered.isEmpty());
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void failingTask_doesNotStopTheWorker() throws Exception {
+        List<String> delivered = new ArrayList<>();
+        BackgroundPipeline.Channel<String> channel = pipeline.channel(delivered::add);
+
+        pipeline.execute(() -> {
+            throw new IllegalStateException("bad snapshot");
+        });
+        channel.submit(() -> {
+            throw new IllegalArgumentException("bad parse");
+        });
+        drainWorker();
+        channel.submit(() -> "ok");
+        drainWorker();
+        drainUi();
+
+        assertEquals(List.of("ok"), delivered);
+        pipeline.shutdown();
+    }
+
+    private CountDownLatch blockWorker() {
+        CountDownLatch release = new CountDownLatch(1);
+        pipeline.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        return release;
+    }
+
+    // Tasks run in order, so once a marker has run everything before it has too
+    private void drainWorker() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        pipeline.execute(done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    private void drainUi() {
+        Runnable task;
+        while ((task = uiQueue.poll()) != null) {
+            task.run();
+        }
+    }
+}
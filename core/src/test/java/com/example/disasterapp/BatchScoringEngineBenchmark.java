@@ -0,0 +1,82 @@
+package com.example.disasterapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Throughput of the fork/join score matrix against looping over
+ * matchVolunteerToEmergencies. Run main() from the IDE.
+ */
+public class BatchScoringEngineBenchmark {
+
+    private static final String[] SKILLS = {"First Aid", "Swimming", "Firefighting", "Search & Rescue",
+            "Construction", "Logistics", "Communication", "Cooking", "Nurse", "Boat Operation"};
+    private static final String[] AVAILABILITY = {"Weekday Mornings", "Weekday Afternoons",
+            "Weekday Evenings", "Weekend Days", "Weekend Evenings", "Overnight", "On-call"};
+
+    public static void main(String[] args) {
+        Random random = new Random(2);
+        int volunteerCount = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        List<Volunteer> volunteers = randomVolunteers(random, volunteerCount);
+        List<EmergencyRequest> emergencies = GeoGridIndexBenchmark.randomEmergencies(random, 2000);
+        BatchScoringEngine engine = new BatchScoringEngine();
+
+        // Warm up both paths on a slice
+        engine.score(volunteers.subList(0, 200), emergencies);
+        for (Volunteer volunteer : volunteers.subList(0, 20)) {
+            EmergencyMatcher.matchVolunteerToEmergencies(volunteer, emergencies);
+        }
+
+        long start = System.nanoTime();
+        engine.score(volunteers, emergencies);
+        double batchSeconds = (System.nanoTime() - start) / 1e9;
+
+        // The per-volunteer API is slow enough that a sample is extrapolated
+        int sample = Math.min(250, volunteers.size());
+        start = System.nanoTime();
+        for (Volunteer volunteer : volunteers.subList(0, sample)) {
+            EmergencyMatcher.matchVolunteerToEmergencies(volunteer, emergencies);
+        }
+        double loopSeconds = (System.nanoTime() - start) / 1e9 * volunteers.size() / sample;
+
+        double pairs = (double) volunteers.size() * emergencies.size();
+        System.out.printf("%d x %d pairs, %d cores%n", volunteers.size(), emergencies.size(),
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("batch matrix : %.2f s  %.1f M pairs/s%n", batchSeconds, pairs / batchSeconds / 1e6);
+        System.out.printf("api loop     : %.2f s  %.1f M pairs/s%n", loopSeconds, pairs / loopSeconds / 1e6);
+    }
+
+    /**
+     * Volunteers around Nairobi with one to three skills and zero to two
+     * availability labels; 10% have no coordinates
+     */
+    static List<Volunteer> randomVolunteers(Random random, int count) {
+        List<Volunteer> volunteers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<String> skills = new ArrayList<>();
+            int skillCount = 1 + random.nextInt(3);
+            for (int s = 0; s < skillCount; s++) {
+                skills.add(SKILLS[random.nextInt(SKILLS.length)]);
+            }
+            Volunteer volunteer = new Volunteer("v" + i, "Volunteer " + i, "v" + i + "@example.com",
+                    "0700000000", "Area " + random.nextInt(200), 1 + random.nextInt(30),
+                    skills, randomAvailability(random));
+            if (random.nextInt(10) != 0) {
+                volunteer.setLatitude(-2.2 + random.nextDouble() * 1.8);
+                volunteer.setLongitude(35.9 + random.nextDouble() * 1.8);
+            }
+            volunteers.add(volunteer);
+        }
+        return volunteers;
+    }
+
+    private static List<String> randomAvailability(Random random) {
+        List<String> labels = new ArrayList<>();
+        int labelCount = random.nextInt(3);
+        for (int a = 0; a < labelCount; a++) {
+            labels.add(AVAILABILITY[random.nextInt(AVAILABILITY.length)]);
+        }
+        return labels;
+    }
+}
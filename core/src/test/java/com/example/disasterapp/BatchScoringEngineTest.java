@@ -0,0 +1,61 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BatchScoringEngineTest {
+
+    @Test
+    public void matrix_equalsPerPairMatchScore() {
+        Random random = new Random(21);
+        List<Volunteer> volunteers = BatchScoringEngineBenchmark.randomVolunteers(random, 60);
+        List<EmergencyRequest> emergencies = GeoGridIndexBenchmark.randomEmergencies(random, 300);
+
+        BatchScoringEngine.ScoreMatrix matrix = new BatchScoringEngine().score(volunteers, emergencies);
+
+        for (int v = 0; v < volunteers.size(); v++) {
+            for (int e = 0; e < emergencies.size(); e++) {
+                float expected = (float) EmergencyMatcher.calculateMatchScore(
+                        volunteers.get(v), emergencies.get(e));
+                assertEquals(expected, matrix.get(v, e), 0.0f);
+            }
+        }
+    }
+
+    @Test
+    public void topViews_areBestFirstAndRespectThreshold() {
+        Random random = new Random(4);
+        List<Volunteer> volunteers = BatchScoringEngineBenchmark.randomVolunteers(random, 40);
+        List<EmergencyRequest> emergencies = GeoGridIndexBenchmark.randomEmergencies(random, 120);
+        BatchScoringEngine.ScoreMatrix matrix = new BatchScoringEngine().score(volunteers, emergencies);
+
+        int[] top = matrix.topEmergenciesFor(3, 10, 40f);
+        assertTrue(top.length <= 10);
+        for (int i = 0; i < top.length; i++) {
+            assertTrue(matrix.get(3, top[i]) >= 40f);
+            if (i > 0) {
+                assertTrue(matrix.get(3, top[i - 1]) >= matrix.get(3, top[i]));
+            }
+        }
+        // Nothing left out scores higher than the last one kept
+        if (top.length == 10) {
+            int kept = 0;
+            for (int e = 0; e < emergencies.size(); e++) {
+                if (matrix.get(3, e) > matrix.get(3, top[9])) {
+                    kept++;
+                }
+            }
+            assertTrue(kept <= 10);
+        }
+
+        int[] volunteersForFirst = matrix.topVolunteersFor(0, 5, 0f);
+        assertEquals(5, volunteersForFirst.length);
+        for (int v = 0; v < volunteers.size(); v++) {
+            assertTrue(matrix.get(v, 0) <= matrix.get(volunteersForFirst[0], 0));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class EmergencyMatcherTest {
+
+    private static final String[] TYPES = {"Fire", "Flood", "Earthquake", "Medical", "Rescue"};
+    private static final String[] URGENCIES = {"Low", "Medium", "High", "Critical"};
+    private static final String[] REQUIRED_SKILLS = {"", "", "First Aid, Medical", "Swimming",
+            "Construction; search and rescue", "Cooking"};
+    private static final String[] DATE_TIMES = {"5/3/2025 9:7", "8/3/2025 20:30", "9/3/2025 23:15",
+            "12/3/2025", ""};
+    private static final String[] LOCATIONS = {"Nairobi", "Nairobi CBD", "Mombasa", "Kisumu", "Nakuru Town"};
+
+    @Test
+    public void topMatches_equalsSortedAndFilteredPrefix() {
+        Volunteer volunteer = volunteer("Nairobi", "First Aid", "Swimming");
+        volunteer.setAvailability(Arrays.asList("Weekday Mornings", "Weekend Evenings"));
+        List<EmergencyRequest> emergencies = randomEmergencies(new Random(7), 500);
+
+        List<EmergencyMatcher.EmergencyMatch> expected = EmergencyMatcher.filterByMinimumScore(
+                EmergencyMatcher.matchVolunteerToEmergencies(volunteer, emergencies), 60.0);
+
+        for (int k : new int[]{1, 10, 50, expected.size(), expected.size() + 10}) {
+            List<EmergencyMatcher.EmergencyMatch> actual =
+                    EmergencyMatcher.topMatches(volunteer, emergencies, k, 60.0);
+
+            assertEquals(Math.min(k, expected.size()), actual.size());
+            for (int i = 0; i < actual.size(); i++) {
+                assertSame(expected.get(i).getEmergency(), actual.get(i).getEmergency());
+                assertEquals(expected.get(i).getScore(), actual.get(i).getScore(), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void topMatches_emptyWhenNothingClearsThreshold() {
+        Volunteer volunteer = volunteer("Nairobi", "Cooking");
+        List<EmergencyRequest> emergencies = randomEmergencies(new Random(3), 50);
+
+        assertTrue(EmergencyMatcher.topMatches(volunteer, emergencies, 10, 101.0).isEmpty());
+        assertTrue(EmergencyMatcher.topMatches(volunteer, emergencies, 0, 0.0).isEmpty());
+    }
+
+    @Test
+    public void distanceScore_fallsOffWithDistanceFromRadius() {
+        assertEquals(100.0, EmergencyMatcher.calculateDistanceScore(0, 10), 0.0);
+        assertEquals(80.0, EmergencyMatcher.calculateDistanceScore(5, 10), 1e-9);
+        assertEquals(60.0, EmergencyMatcher.calculateDistanceScore(10, 10), 1e-9);
+        assertEquals(30.0, EmergencyMatcher.calculateDistanceScore(20, 10), 1e-9);
+    }
+
+    @Test
+    public void staleEmergencies_sinkBelowFreshOnes() {
+        Volunteer volunteer = volunteer("Nairobi", "First Aid");
+        EmergencyRequest stale = new EmergencyRequest("stale", "Medical", "Nairobi", "Critical",
+                "", "3", "1/3/2025 9:0", "First Aid");
+        EmergencyRequest fresh = new EmergencyRequest("fresh", "Medical", "Nairobi", "High",
+                "", "3", "", "First Aid");
+        long now = EmergencyRequest.parseTimestamp("8/3/2025 9:0");
+        fresh.setTimestamp(now - 3_600_000L);
+
+        try {
+            EmergencyMatcher.clock = () -> now;
+            // A week old outweighs one urgency level
+            List<EmergencyMatcher.EmergencyMatch> top =
+                    EmergencyMatcher.topMatches(volunteer, Arrays.asList(stale, fresh), 2, 0.0);
+            assertSame(fresh, top.get(0).getEmergency());
+            assertSame(stale, top.get(1).getEmergency());
+        } finally {
+            EmergencyMatcher.clock = System::currentTimeMillis;
+        }
+    }
+
+    static Volunteer volunteer(String serviceArea, String... skills) {
+        return new Volunteer("v1", "Test Volunteer", "v1@example.com", "0700000000",
+                serviceArea, 10.0, new ArrayList<>(Arrays.asList(skills)), new ArrayList<>());
+    }
+
+    static List<EmergencyRequest> randomEmergencies(Random random, int count) {
+        List<EmergencyRequest> emergencies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            emergencies.add(new EmergencyRequest("e" + i,
+                    TYPES[random.nextInt(TYPES.length)],
+                    LOCATIONS[random.nextInt(LOCATIONS.length)],
+                    URGENCIES[random.nextInt(URGENCIES.length)],
+                    "Test emergency", "3", DATE_TIMES[random.nextInt(DATE_TIMES.length)],
+                    REQUIRED_SKILLS[random.nextInt(REQUIRED_SKILLS.length)]));
+        }
+        return emergencies;
+    }
+}
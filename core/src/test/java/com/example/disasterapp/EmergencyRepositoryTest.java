@@ -0,0 +1,224 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class EmergencyRepositoryTest {
+
+    private final List<EmergencyRequest> database =
+            EmergencyMatcherTest.randomEmergencies(new Random(21), 100);
+    private final FakeSource source = new FakeSource();
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final EmergencyRepository repository =
+            new EmergencyRepository(source, (task, delay) -> scheduled.add(task));
+
+    @Test
+    public void screens_shareOneSubscription() {
+        Recorder main = new Recorder();
+        Recorder matched = new Recorder();
+
+        repository.subscribe(main);
+        source.deliverAll();
+        // A second screen is served from memory, not a second download
+        repository.subscribe(matched);
+        assertEquals(1, repository.getAttachCount());
+        assertEquals(100, matched.changed);
+        assertEquals(100, matched.lastList.size());
+        assertSame(main.lastList, matched.lastList);
+
+        EmergencyRequest edited = database.get(7);
+        source.sink.onChildChanged(edited);
+        source.sink.onChildRemoved(database.get(8).getId());
+        assertEquals(99, main.lastList.size());
+        assertEquals(1, matched.removed);
+        assertNull(repository.get(database.get(8).getId()));
+
+        repository.unsubscribe(main);
+        repository.unsubscribe(matched);
+        assertTrue(repository.isAttached());
+        runScheduled();
+        assertFalse(repository.isAttached());
+        assertEquals(1, repository.getDetachCount());
+        assertEquals(0, repository.getDuplicateBytes());
+    }
+
+    @Test
+    public void switchingScreens_withinLinger_keepsTheSubscription() {
+        Recorder first = new Recorder();
+        repository.subscribe(first);
+        source.deliverAll();
+        long downloaded = repository.getDownloadedBytes();
+
+        for (int i = 0; i < 10; i++) {
+            Recorder next = new Recorder();
+            repository.unsubscribe(first);
+            repository.subscribe(next);
+            runScheduled();
+            first = next;
+        }
+
+        assertEquals(1, repository.getAttachCount());
+        assertEquals(0, repository.getDetachCount());
+        assertEquals(downloaded, repository.getDownloadedBytes());
+        assertEquals(0, repository.getDuplicateBytes());
+    }
+
+    @Test
+    public void reattach_countsDuplicatesAndDropsDeletedEmergencies() {
+        Recorder first = new Recorder();
+        repository.subscribe(first);
+        source.deliverAll();
+        long downloaded = repository.getDownloadedBytes();
+        repository.unsubscribe(first);
+        runScheduled();
+
+        // Deleted while nobody was listening
+        EmergencyRequest deleted = database.remove(0);
+        Recorder second = new Recorder();
+        repository.subscribe(second);
+        source.deliverAll();
+
+        assertEquals(2, repository.getAttachCount());
+        assertEquals(downloaded - EmergencyRepository.estimateBytes(deleted), repository.getDuplicateBytes());
+        assertEquals(99, second.lastList.size());
+        assertNull(repository.get(deleted.getId()));
+        assertEquals(1, second.removed);
+    }
+
+    @Test
+    public void subscriberNearAVolunteer_isReplayedOnlyWhatTheirRadiusReaches() {
+        database.clear();
+        database.addAll(GeoGridIndexBenchmark.randomEmergencies(new Random(22), 2000));
+        repository.subscribe(new Recorder());
+        source.deliverAll();
+
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Nairobi", "First Aid");
+        volunteer.setLatitude(-1.2864);
+        volunteer.setLongitude(36.8172);
+        volunteer.setRadius(8);
+        // Edited while held, moving it from far away into the volunteer's radius
+        EmergencyRequest moved = database.stream()
+                .filter(emergency -> emergency.getLatitude() < -1.9).findFirst().get();
+        EmergencyRequest edited = new EmergencyRequest(moved.getId(), moved.getType(), moved.getLocation(),
+                moved.getUrgency(), moved.getDescription(), moved.getVolunteers(), moved.getDateTime(), "");
+        edited.setLatitude(-1.29);
+        edited.setLongitude(36.82);
+        source.sink.onChildChanged(edited);
+
+        Recorder near = new Recorder();
+        repository.subscribe(near, volunteer);
+        List<EmergencyRequest> held = new ArrayList<>();
+        for (EmergencyRequest emergency : database) {
+            held.add(repository.get(emergency.getId()));
+        }
+        List<EmergencyRequest> inRange = RadiusFilter.of(volunteer).filter(held);
+        assertTrue(inRange.contains(edited));
+        assertTrue(near.replayed.containsAll(inRange));
+        assertEquals(1, near.replayed.stream().filter(e -> e.getId().equals(moved.getId())).count());
+        assertTrue(near.replayed.size() < database.size() / 4);
+        assertEquals(held.size(), near.lastList.size());
+    }
+
+    @Test
+    public void onlyScoredEdits_bumpTheVersion() {
+        repository.subscribe(new Recorder());
+        source.deliverAll();
+        EmergencyRequest held = database.get(3);
+        long version = held.version();
+
+        // Delivered again unchanged, or with only the description edited
+        EmergencyRequest same = copy(held);
+        same.setDescription("More detail");
+        source.sink.onChildChanged(same);
+        assertEquals(version, repository.get(held.getId()).version());
+
+        EmergencyRequest edited = copy(same);
+        edited.setUrgency("critical".equals(held.getUrgency()) ? "low" : "critical");
+        source.sink.onChildChanged(edited);
+        assertEquals(version + 1, repository.get(held.getId()).version());
+    }
+
+    @Test
+    public void callbacksFromAnEndedAttachment_areIgnored() {
+        Recorder observer = new Recorder();
+        EmergencyRepository eager = new EmergencyRepository(source, (task, delay) -> task.run(), 0);
+        eager.subscribe(observer);
+        EmergencyRepository.Sink oldSink = source.sink;
+        eager.unsubscribe(observer);
+
+        oldSink.onChildChanged(database.get(0));
+        oldSink.onLoaded();
+        assertEquals(0, observer.changed);
+        assertNull(eager.get(database.get(0).getId()));
+        assertEquals(1, eager.getDetachCount());
+    }
+
+    // A fresh object, as the database delivers on every change
+    private static EmergencyRequest copy(EmergencyRequest emergency) {
+        EmergencyRequest copy = new EmergencyRequest(emergency.getId(), emergency.getType(),
+                emergency.getLocation(), emergency.getUrgency(), emergency.getDescription(),
+                emergency.getVolunteers(), emergency.getDateTime(), emergency.getRequiredSkills());
+        copy.setLatitude(emergency.getLatitude());
+        copy.setLongitude(emergency.getLongitude());
+        return copy;
+    }
+
+    private void runScheduled() {
+        List<Runnable> tasks = new ArrayList<>(scheduled);
+        scheduled.clear();
+        for (Runnable task : tasks) {
+            task.run();
+        }
+    }
+
+    private final class FakeSource implements EmergencyRepository.Source {
+        EmergencyRepository.Sink sink;
+
+        @Override
+        public void attach(EmergencyRepository.Sink sink) {
+            assertNull(this.sink);
+            this.sink = sink;
+        }
+
+        @Override
+        public void detach() {
+            assertNotNull(sink);
+            sink = null;
+        }
+
+        void deliverAll() {
+            for (EmergencyRequest emergency : database) {
+                sink.onChildChanged(emergency);
+            }
+            sink.onLoaded();
+        }
+    }
+
+    private static final class Recorder implements EmergencyRepository.Observer {
+        int changed;
+        int removed;
+        final List<EmergencyRequest> replayed = new ArrayList<>();
+        List<EmergencyRequest> lastList;
+
+        @Override
+        public void onEmergencyChanged(EmergencyRequest emergency) {
+            changed++;
+            replayed.add(emergency);
+        }
+
+        @Override
+        public void onEmergencyRemoved(String emergencyId) {
+            removed++;
+        }
+
+        @Override
+        public void onEmergencies(List<EmergencyRequest> emergencies) {
+            lastList = emergencies;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.disasterapp;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares top-K from a List<EmergencyRequest> against the columnar snapshot,
+ * for scoring time and for retained bytes per emergency. The snapshot keeps
+ * the requests themselves, so its column is the extra memory on top of the list.
+ * Run main() from the IDE with a fixed heap (e.g. -Xmx2g); it is not part of
+ * the unit test suite. Memory figures are estimates from heap usage after GC.
+ */
+public class EmergencySnapshotBenchmark {
+
+    public static void main(String[] args) {
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Nairobi", "First Aid", "Swimming");
+        volunteer.setLatitude(-1.2864);
+        volunteer.setLongitude(36.8172);
+        volunteer.setRadius(8);
+
+        System.out.println("emergencies  list_ms  snapshot_ms  list_bytes/em  snapshot_extra_bytes/em");
+        for (int n : new int[]{10_000, 100_000, 500_000}) {
+            long base = usedHeap();
+            List<EmergencyRequest> emergencies = GeoGridIndexBenchmark.randomEmergencies(new Random(1), n);
+            // Build location keys up front so the list figure is the full object graph
+            for (EmergencyRequest emergency : emergencies) {
+                emergency.locationKey();
+            }
+            long withList = usedHeap();
+            EmergencySnapshot snapshot = EmergencySnapshot.of(emergencies);
+            long withSnapshot = usedHeap();
+
+            double listMs = time(() -> EmergencyMatcher.topMatches(volunteer, emergencies, 50, 35.0));
+            double snapshotMs = time(() -> EmergencyMatcher.topMatches(volunteer, snapshot, 50, 35.0));
+            System.out.printf("%11d  %7.2f  %11.2f  %13d  %23d%n", n, listMs, snapshotMs,
+                    (withList - base) / n, (withSnapshot - withList) / n);
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static double time(Runnable task) {
+        for (int i = 0; i < 5; i++) {
+            task.run();
+        }
+        int runs = 20;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            task.run();
+        }
+        return (System.nanoTime() - start) / 1e6 / runs;
+    }
+}
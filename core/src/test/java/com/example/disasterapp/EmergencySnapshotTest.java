@@ -0,0 +1,70 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class EmergencySnapshotTest {
+
+    @Test
+    public void snapshotTopMatches_equalListTopMatches() {
+        Random random = new Random(11);
+        List<EmergencyRequest> emergencies = new ArrayList<>(EmergencyMatcherTest.randomEmergencies(random, 300));
+        emergencies.addAll(GeoGridIndexBenchmark.randomEmergencies(random, 300));
+        emergencies.get(0).setType(null);
+        emergencies.get(1).setType("");
+        emergencies.get(2).setUrgency(null);
+        emergencies.get(3).setLocation(null);
+        EmergencySnapshot snapshot = EmergencySnapshot.of(emergencies);
+
+        Volunteer located = EmergencyMatcherTest.volunteer("Nairobi", "First Aid", "Swimming");
+        located.setLatitude(-1.2864);
+        located.setLongitude(36.8172);
+        located.setAvailability(Arrays.asList("Weekday Evenings", "Overnight"));
+        Volunteer[] volunteers = {
+                located,
+                EmergencyMatcherTest.volunteer("Westlands", "Firefighting"),
+                EmergencyMatcherTest.volunteer(null)
+        };
+
+        for (Volunteer volunteer : volunteers) {
+            for (int k : new int[]{1, 25, emergencies.size()}) {
+                List<EmergencyMatcher.EmergencyMatch> expected =
+                        EmergencyMatcher.topMatches(volunteer, emergencies, k, 30.0);
+                List<EmergencyMatcher.EmergencyMatch> actual =
+                        EmergencyMatcher.topMatches(volunteer, snapshot, k, 30.0);
+
+                assertEquals(expected.size(), actual.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertSame(expected.get(i).getEmergency(), actual.get(i).getEmergency());
+                    assertEquals(expected.get(i).getScore(), actual.get(i).getScore(), 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void snapshot_keepsRulesItWasBuiltWith() {
+        List<EmergencyRequest> emergencies = EmergencyMatcherTest.randomEmergencies(new Random(12), 50);
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Nairobi", "Medical");
+        EmergencySnapshot snapshot = EmergencySnapshot.of(emergencies);
+        List<EmergencyMatcher.EmergencyMatch> before = EmergencyMatcher.topMatches(volunteer, snapshot, 10, 0.0);
+
+        try {
+            ScoringRules.install(ScoringRules.parse("{\"weights\": {\"skill\": 0, \"urgency\": 1, "
+                    + "\"distance\": 0}, \"urgency\": {\"scores\": {}, \"default\": 1}, "
+                    + "\"skills\": {\"default\": 0, \"rules\": []}}"));
+            List<EmergencyMatcher.EmergencyMatch> after = EmergencyMatcher.topMatches(volunteer, snapshot, 10, 0.0);
+            for (int i = 0; i < before.size(); i++) {
+                assertEquals(before.get(i).getScore(), after.get(i).getScore(), 0.0);
+            }
+        } finally {
+            ScoringRules.install(null);
+        }
+    }
+}
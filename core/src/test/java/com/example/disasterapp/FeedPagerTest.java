@@ -0,0 +1,95 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class FeedPagerTest {
+
+    private final TreeSet<String> database = new TreeSet<>();
+    private final FeedPager<String> pager =
+            new FeedPager<>(10, Comparator.naturalOrder(), Function.identity());
+
+    @Test
+    public void olderPages_walkTheWholeFeedOnce() {
+        post(35);
+        pager.onNewestPage(newestPage());
+        assertEquals(10, pager.getItems().size());
+
+        int pages = 1;
+        String cursor;
+        while ((cursor = pager.beginOlderPage()) != null) {
+            assertNull(pager.beginOlderPage()); // one page in flight at a time
+            pager.onOlderPage(pageEndingAt(cursor));
+            pages++;
+        }
+        assertEquals(4, pages);
+        assertTrue(pager.isExhausted());
+        List<String> expected = new ArrayList<>(database.descendingSet());
+        assertEquals(expected, pager.getItems());
+    }
+
+    @Test
+    public void newPosts_keepItemsThatSlideOutOfTheLiveWindow() {
+        post(25);
+        pager.onNewestPage(newestPage());
+        pager.onOlderPage(pageEndingAt(pager.beginOlderPage()));
+
+        post(3);
+        database.remove(database.last()); // deleted while on screen
+        pager.onNewestPage(newestPage());
+
+        List<String> expected = new ArrayList<>(database.descendingSet()).subList(0, 22);
+        assertEquals(expected, pager.getItems());
+        assertFalse(pager.isExhausted());
+    }
+
+    @Test
+    public void shortFeed_isExhaustedByTheLivePage() {
+        post(4);
+        pager.onNewestPage(newestPage());
+        assertTrue(pager.isExhausted());
+        assertNull(pager.beginOlderPage());
+
+        database.remove("p0002");
+        pager.onNewestPage(newestPage());
+        assertEquals(Arrays.asList("p0003", "p0001", "p0000"), pager.getItems());
+    }
+
+    @Test
+    public void failedOlderPage_canBeRetried() {
+        post(15);
+        pager.onNewestPage(newestPage());
+        String cursor = pager.beginOlderPage();
+        pager.cancelOlderPage();
+        assertEquals(cursor, pager.beginOlderPage());
+    }
+
+    private void post(int count) {
+        for (int i = 0; i < count; i++) {
+            database.add(String.format("p%04d", database.size()));
+        }
+    }
+
+    // limitToLast(pageSize), in database order like a snapshot
+    private List<String> newestPage() {
+        List<String> all = new ArrayList<>(database);
+        return all.subList(Math.max(0, all.size() - 10), all.size());
+    }
+
+    // endAt(cursor).limitToLast(pageSize + 1), shuffled to show order does not matter
+    private List<String> pageEndingAt(String cursor) {
+        List<String> upTo = new ArrayList<>(database.headSet(cursor, true));
+        List<String> page = new ArrayList<>(upTo.subList(Math.max(0, upTo.size() - 11), upTo.size()));
+        Collections.reverse(page);
+        return page;
+    }
+}
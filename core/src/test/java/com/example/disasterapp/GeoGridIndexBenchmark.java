@@ -0,0 +1,65 @@
+package com.example.disasterapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares a full scan against grid-indexed candidate sets from 1k to 100k emergencies.
+ * Run main() from the IDE; it is not part of the unit test suite.
+ */
+public class GeoGridIndexBenchmark {
+
+    private static final String[] TYPES = {"Fire", "Flood", "Earthquake", "Medical", "Rescue"};
+    private static final String[] URGENCIES = {"Low", "Medium", "High", "Critical"};
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Nairobi", "First Aid", "Swimming");
+        volunteer.setLatitude(-1.2864);
+        volunteer.setLongitude(36.8172);
+        volunteer.setRadius(8);
+
+        System.out.println("emergencies  candidates  scan_ms  indexed_ms");
+        for (int n : new int[]{1_000, 10_000, 100_000}) {
+            List<EmergencyRequest> emergencies = randomEmergencies(random, n);
+            GeoGridIndex index = GeoGridIndex.build(emergencies, GeoGridIndex.DEFAULT_CELL_SIZE_KM);
+            int candidates = index.candidatesFor(volunteer).size();
+
+            double scanMs = time(() -> EmergencyMatcher.topMatches(volunteer, emergencies, 50, 35.0));
+            double indexedMs = time(() -> EmergencyMatcher.topMatches(volunteer, index, 50, 35.0));
+            System.out.printf("%11d  %10d  %7.2f  %10.3f%n", n, candidates, scanMs, indexedMs);
+        }
+    }
+
+    private static double time(Runnable task) {
+        for (int i = 0; i < 5; i++) {
+            task.run();
+        }
+        int runs = 20;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            task.run();
+        }
+        return (System.nanoTime() - start) / 1e6 / runs;
+    }
+
+    /**
+     * Emergencies spread over roughly 200 x 200 km around Nairobi; 5% have no coordinates
+     */
+    static List<EmergencyRequest> randomEmergencies(Random random, int count) {
+        List<EmergencyRequest> emergencies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            EmergencyRequest emergency = new EmergencyRequest("e" + i,
+                    TYPES[random.nextInt(TYPES.length)], "Area " + random.nextInt(200),
+                    URGENCIES[random.nextInt(URGENCIES.length)], "Synthetic", "2",
+                    (1 + random.nextInt(28)) + "/3/2025 " + random.nextInt(24) + ":" + random.nextInt(60), "");
+            if (random.nextInt(20) != 0) {
+                emergency.setLatitude(-2.2 + random.nextDouble() * 1.8);
+                emergency.setLongitude(35.9 + random.nextDouble() * 1.8);
+            }
+            emergencies.add(emergency);
+        }
+        return emergencies;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class GeoGridIndexTest {
+
+    @Test
+    public void candidates_containEveryEmergencyWithinRadius() {
+        Random random = new Random(5);
+        List<EmergencyRequest> emergencies = GeoGridIndexBenchmark.randomEmergencies(random, 5000);
+        GeoGridIndex index = GeoGridIndex.build(emergencies, 5.0);
+
+        for (int query = 0; query < 50; query++) {
+            double lat = -1.5 + random.nextDouble();
+            double lon = 36.5 + random.nextDouble();
+            double radius = 1 + random.nextInt(30);
+
+            Set<EmergencyRequest> candidates = new HashSet<>(index.candidates(lat, lon, radius));
+            for (EmergencyRequest emergency : emergencies) {
+                boolean located = GeoUtils.hasCoordinates(emergency.getLatitude(), emergency.getLongitude());
+                if (!located || GeoUtils.haversineKm(lat, lon,
+                        emergency.getLatitude(), emergency.getLongitude()) <= radius) {
+                    assertTrue(emergency.getId(), candidates.contains(emergency));
+                }
+            }
+            assertTrue(candidates.size() < emergencies.size());
+        }
+    }
+
+    @Test
+    public void remove_dropsFromCandidates() {
+        EmergencyRequest emergency = new EmergencyRequest("e1", "Fire", "Nairobi CBD", "High",
+                "Test", "2", "5/3/2025 9:7", "");
+        emergency.setLatitude(-1.2864);
+        emergency.setLongitude(36.8172);
+
+        GeoGridIndex index = new GeoGridIndex();
+        index.add(emergency);
+        assertEquals(1, index.candidates(-1.29, 36.82, 2).size());
+
+        assertTrue(index.remove(emergency));
+        assertEquals(0, index.size());
+        assertTrue(index.candidates(-1.29, 36.82, 2).isEmpty());
+    }
+
+    @Test
+    public void haversine_knownDistance() {
+        // Nairobi CBD to Mombasa is roughly 440 km
+        double km = GeoUtils.haversineKm(-1.2864, 36.8172, -4.0435, 39.6682);
+        assertEquals(440.0, km, 10.0);
+    }
+}
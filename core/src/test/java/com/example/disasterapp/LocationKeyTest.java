@@ -0,0 +1,93 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LocationKeyTest {
+
+    @Test
+    public void tokenizer_normalizesCaseAndPunctuation() {
+        assertTrue(LocationKey.of("Nairobi  CBD").sameTokens(LocationKey.of("nairobi, cbd")));
+        assertTrue(LocationKey.of("Murang'a").sameTokens(LocationKey.of("Muranga")));
+        assertTrue(LocationKey.of(null).isEmpty());
+        assertTrue(LocationKey.of(" - ").isEmpty());
+    }
+
+    @Test
+    public void gazetteer_resolvesMostSpecificPlace() {
+        assertEquals("Nairobi CBD", LocationKey.of("Nairobi CBD").getPlaceName());
+        assertEquals("Nairobi CBD", LocationKey.of("CBD").getPlaceName());
+        assertEquals("Westlands", LocationKey.of("Westlands, Nairobi").getPlaceName());
+        assertEquals("Kibera", LocationKey.of("Kibra").getPlaceName());
+        assertEquals("Muranga", LocationKey.of("Murang'a County").getPlaceName());
+        assertNull(LocationKey.of("Atlantis").getPlaceName());
+    }
+
+    @Test
+    public void gazetteer_geocodesResolvedPlace() {
+        LocationKey westlands = LocationKey.of("Near Westlands market");
+        assertTrue(westlands.hasPlaceCoordinates());
+        assertEquals(-1.27, westlands.getPlaceLatitude(), 0.01);
+        assertEquals(36.81, westlands.getPlaceLongitude(), 0.01);
+        // Places in the same town are a few km apart, other counties hundreds
+        LocationKey kibera = LocationKey.of("Kibra");
+        LocationKey mombasa = LocationKey.of("Mombasa");
+        assertTrue(GeoUtils.haversineKm(westlands.getPlaceLatitude(), westlands.getPlaceLongitude(),
+                kibera.getPlaceLatitude(), kibera.getPlaceLongitude()) < 10);
+        assertTrue(GeoUtils.haversineKm(westlands.getPlaceLatitude(), westlands.getPlaceLongitude(),
+                mombasa.getPlaceLatitude(), mombasa.getPlaceLongitude()) > 400);
+        assertFalse(LocationKey.of("Atlantis").hasPlaceCoordinates());
+    }
+
+    @Test
+    public void locationScore_keepsTextTiers() {
+        assertEquals(100.0, score("Nairobi", "NAIROBI"), 0.0);
+        assertEquals(80.0, score("Kisumu", "Kisumu Kondele"), 0.0);
+        assertEquals(65.0, score("Old Mill Road", "Mill Estate"), 0.0);
+        assertEquals(40.0, score("Nairobi", "Mombasa"), 0.0);
+        assertEquals(50.0, score(null, "Nairobi"), 0.0);
+    }
+
+    @Test
+    public void locationScore_usesHierarchy() {
+        assertEquals(100.0, score("CBD", "Nairobi CBD"), 0.0);
+        assertEquals(80.0, score("Nairobi", "Westlands"), 0.0);
+        assertEquals(80.0, score("Old Town", "Mombasa"), 0.0);
+        assertEquals(65.0, score("Westlands", "Kibera"), 0.0);
+        assertEquals(40.0, score("Westlands", "Nyali"), 0.0);
+    }
+
+    @Test
+    public void models_retokenizeAfterEdits() {
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Nairobi", "First Aid");
+        EmergencyRequest emergency = new EmergencyRequest("e1", "Fire", "Mombasa", "high",
+                "", "1", "", "");
+        assertEquals(40.0, EmergencyMatcher.calculateDistanceScore(volunteer, emergency), 0.0);
+
+        emergency.setLocation("Kilimani");
+        assertEquals(80.0, EmergencyMatcher.calculateDistanceScore(volunteer, emergency), 0.0);
+        volunteer.setServiceArea("Kilimani");
+        assertEquals(100.0, EmergencyMatcher.calculateDistanceScore(volunteer, emergency), 0.0);
+    }
+
+    @Test
+    public void tokenTable_staysBoundedAndKeepsComparing() {
+        LocationKey gazetteered = LocationKey.of("Kilimani");
+        for (int i = 0; i <= LocationKey.MAX_INTERNED_TOKENS; i++) {
+            LocationKey.of("street" + i);
+        }
+        assertEquals(LocationKey.MAX_INTERNED_TOKENS, LocationKey.internedTokenCount());
+
+        assertTrue(LocationKey.of("Zzyzx Lane").sameTokens(LocationKey.of("zzyzx lane")));
+        assertEquals(65.0, score("Zzyzx Lane", "Zzyzx Gardens"), 0.0);
+        assertEquals(40.0, score("Zzyzx Lane", "Qwerty Gardens"), 0.0);
+        assertTrue(LocationKey.of("Kilimani").sameTokens(gazetteered));
+        assertEquals("Kilimani", LocationKey.of("Kilimani").getPlaceName());
+        assertEquals(LocationKey.MAX_INTERNED_TOKENS, LocationKey.internedTokenCount());
+    }
+
+    private static double score(String area, String location) {
+        return EmergencyMatcher.calculateLocationScore(LocationKey.of(area), LocationKey.of(location));
+    }
+}
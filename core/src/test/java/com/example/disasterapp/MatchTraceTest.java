@@ -0,0 +1,76 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MatchTraceTest {
+
+    @Test
+    public void disabled_recordsNothing() {
+        MatchTrace.setEnabled(false);
+        MatchTrace.clear();
+
+        EmergencyMatcher.matchVolunteerToEmergencies(EmergencyMatcherTest.volunteer("Nairobi", "First Aid"),
+                EmergencyMatcherTest.randomEmergencies(new Random(1), 20));
+
+        assertEquals(0, MatchTrace.getRecordedCount());
+        assertEquals("", MatchTrace.dump());
+    }
+
+    @Test
+    public void enabled_keepsMostRecentBreakdowns() {
+        MatchTrace.clear();
+        MatchTrace.setEnabled(true);
+        try {
+            List<EmergencyRequest> emergencies =
+                    EmergencyMatcherTest.randomEmergencies(new Random(2), MatchTrace.CAPACITY + 10);
+            EmergencyMatcher.matchVolunteerToEmergencies(
+                    EmergencyMatcherTest.volunteer("Nairobi", "First Aid"), emergencies);
+
+            assertEquals(MatchTrace.CAPACITY + 10, MatchTrace.getRecordedCount());
+            String[] lines = MatchTrace.dump().split("\n");
+            assertEquals(MatchTrace.CAPACITY, lines.length);
+            String lastType = emergencies.get(emergencies.size() - 1).getType();
+            assertTrue(lines[lines.length - 1].startsWith("Emergency: " + lastType + " | Skills: "));
+        } finally {
+            MatchTrace.setEnabled(false);
+            MatchTrace.clear();
+        }
+    }
+
+    @Test
+    public void dumpToLog_writesOneDebugLinePerBreakdown() {
+        List<String> logged = new ArrayList<>();
+        MatcherLog.install(new MatcherLog() {
+            @Override
+            public void debug(String tag, String message) {
+                logged.add(message);
+            }
+
+            @Override
+            public void error(String tag, String message) {
+            }
+        });
+        MatchTrace.clear();
+        try {
+            MatchTrace.dumpToLog();
+            assertTrue(logged.isEmpty());
+
+            MatchTrace.setEnabled(true);
+            EmergencyMatcher.matchVolunteerToEmergencies(EmergencyMatcherTest.volunteer("Nairobi", "First Aid"),
+                    EmergencyMatcherTest.randomEmergencies(new Random(3), 5));
+            MatchTrace.dumpToLog();
+            assertEquals(5, logged.size());
+            assertEquals(MatchTrace.dump(), String.join("\n", logged) + "\n");
+        } finally {
+            MatcherLog.install(null);
+            MatchTrace.setEnabled(false);
+            MatchTrace.clear();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MatchingSessionTest {
+
+    private static final String[] TYPES = {"Fire", "Flood", "Earthquake", "Medical", "Rescue"};
+    private static final String[] URGENCIES = {"Low", "Medium", "High", "Critical"};
+    private static final String[] LOCATIONS = {"Nairobi", "Nairobi CBD", "Mombasa", "Kisumu"};
+
+    @Test
+    public void randomDeltas_matchFullRescoreAndCountVisibleChanges() {
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Nairobi", "First Aid", "Boat");
+        MatchingSession session = new MatchingSession(volunteer, 50.0, 20);
+
+        Random random = new Random(11);
+        Map<String, EmergencyRequest> live = new LinkedHashMap<>();
+        List<EmergencyMatcher.EmergencyMatch> visible = new ArrayList<>();
+        for (int step = 0; step < 3000; step++) {
+            long changes = session.getVisibleChangeCount();
+            String id = "e" + random.nextInt(80);
+            if (random.nextInt(5) == 0) {
+                live.remove(id);
+                session.remove(id);
+            } else {
+                EmergencyRequest emergency = randomEmergency(random, id);
+                if (!live.containsKey(id)) {
+                    live.put(id, emergency);
+                } else {
+                    live.replace(id, emergency);
+                }
+                session.put(emergency);
+            }
+
+            List<EmergencyMatcher.EmergencyMatch> expected = EmergencyMatcher.filterByMinimumScore(
+                    EmergencyMatcher.matchVolunteerToEmergencies(volunteer, new ArrayList<>(live.values())),
+                    50.0);
+            assertEquals(expected.size(), session.size());
+            assertEquals(Math.min(expected.size(), 20), session.visibleSize());
+            for (int i = 0; i < session.size(); i++) {
+                assertEquals(expected.get(i).getScore(), session.get(i).getScore(), 0.0);
+            }
+
+            // Counted exactly when the visible matches are no longer the same objects
+            List<EmergencyMatcher.EmergencyMatch> now = new ArrayList<>(session.visibleMatches());
+            assertEquals(!sameMatches(visible, now), session.getVisibleChangeCount() != changes);
+            visible = now;
+        }
+    }
+
+    private static boolean sameMatches(List<EmergencyMatcher.EmergencyMatch> a,
+                                       List<EmergencyMatcher.EmergencyMatch> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static EmergencyRequest randomEmergency(Random random, String id) {
+        return new EmergencyRequest(id,
+                TYPES[random.nextInt(TYPES.length)],
+                LOCATIONS[random.nextInt(LOCATIONS.length)],
+                URGENCIES[random.nextInt(URGENCIES.length)],
+                "Test emergency", "2", "5/3/2025 9:7", "");
+    }
+}
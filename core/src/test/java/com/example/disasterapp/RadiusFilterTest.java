@@ -0,0 +1,106 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RadiusFilterTest {
+
+    @Test
+    public void filter_keepsExactlyEmergenciesWithinRadius() {
+        Random random = new Random(16);
+        List<EmergencyRequest> emergencies = GeoGridIndexBenchmark.randomEmergencies(random, 5000);
+
+        for (int query = 0; query < 50; query++) {
+            double lat = -2.2 + random.nextDouble() * 1.8;
+            double lon = 35.9 + random.nextDouble() * 1.8;
+            double radius = 1 + random.nextInt(40);
+            RadiusFilter filter = new RadiusFilter(lat, lon, radius);
+
+            List<EmergencyRequest> expected = new ArrayList<>();
+            for (EmergencyRequest emergency : emergencies) {
+                if (!GeoUtils.hasCoordinates(emergency.getLatitude(), emergency.getLongitude())
+                        || GeoUtils.haversineKm(lat, lon, emergency.getLatitude(), emergency.getLongitude()) <= radius) {
+                    expected.add(emergency);
+                }
+            }
+            assertEquals(expected, filter.filter(emergencies));
+
+            assertEquals(emergencies.size(), filter.getCheckedCount());
+            assertEquals(expected.size(), filter.getPassedCount());
+            assertEquals(emergencies.size() - expected.size(),
+                    filter.getBoxRejectedCount() + filter.getDistanceRejectedCount());
+            // The box does most of the rejecting
+            assertTrue(filter.getBoxRejectedCount() > filter.getDistanceRejectedCount());
+        }
+    }
+
+    @Test
+    public void unlocatedVolunteer_passesEverything() {
+        List<EmergencyRequest> emergencies = GeoGridIndexBenchmark.randomEmergencies(new Random(3), 100);
+        RadiusFilter filter = RadiusFilter.of(EmergencyMatcherTest.volunteer("Nairobi", "Medical"));
+
+        assertFalse(filter.isEnabled());
+        assertSame(emergencies, filter.filter(emergencies));
+        assertEquals(0, filter.getCheckedCount());
+    }
+
+    @Test
+    public void recordsWithoutCoordinates_arePlacedByTheirText() {
+        // Saved before locations were geocoded: only text on both sides
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Westlands", "First Aid");
+        assertTrue(volunteer.locateFromServiceArea());
+        EmergencyRequest near = new EmergencyRequest("e1", "Fire", "Kilimani", "High", "", "1", "", "");
+        EmergencyRequest far = new EmergencyRequest("e2", "Fire", "Mombasa Old Town", "High", "", "1", "", "");
+        EmergencyRequest unknown = new EmergencyRequest("e3", "Fire", "Behind the mill", "High", "", "1", "", "");
+        List<EmergencyRequest> emergencies = new ArrayList<>();
+        for (EmergencyRequest emergency : new EmergencyRequest[]{near, far, unknown}) {
+            emergency.locateFromText();
+            emergencies.add(emergency);
+        }
+
+        RadiusFilter filter = RadiusFilter.of(volunteer);
+        assertTrue(filter.isEnabled());
+        List<EmergencyRequest> passed = filter.filter(emergencies);
+        assertTrue(passed.contains(near));
+        assertFalse(passed.contains(far));
+        assertTrue(passed.contains(unknown));
+        assertEquals(1, filter.getBoxRejectedCount());
+        assertEquals(1, filter.getUnlocatedCount());
+    }
+
+    @Test
+    public void matchers_skipOutOfRadiusEmergencies() {
+        Random random = new Random(4);
+        List<EmergencyRequest> emergencies = GeoGridIndexBenchmark.randomEmergencies(random, 2000);
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Nairobi", "First Aid");
+        volunteer.setLatitude(-1.2864);
+        volunteer.setLongitude(36.8172);
+
+        RadiusFilter filter = RadiusFilter.of(volunteer);
+        List<EmergencyRequest> inRange = filter.filter(emergencies);
+        List<EmergencyMatcher.EmergencyMatch> expected = EmergencyMatcher.filterByMinimumScore(
+                EmergencyMatcher.matchVolunteerToEmergencies(volunteer, inRange), 0.0);
+
+        List<EmergencyMatcher.EmergencyMatch> ranked =
+                EmergencyMatcher.matchVolunteerToEmergencies(volunteer, emergencies);
+        List<EmergencyMatcher.EmergencyMatch> fromList =
+                EmergencyMatcher.topMatches(volunteer, emergencies, emergencies.size(), 0.0);
+        List<EmergencyMatcher.EmergencyMatch> fromSnapshot = EmergencyMatcher.topMatches(
+                volunteer, EmergencySnapshot.of(emergencies), emergencies.size(), 0.0);
+
+        assertTrue(inRange.size() < emergencies.size() / 10);
+        assertEquals(inRange.size(), ranked.size());
+        assertEquals(expected.size(), fromList.size());
+        assertEquals(expected.size(), fromSnapshot.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i).getEmergency(), ranked.get(i).getEmergency());
+            assertSame(expected.get(i).getEmergency(), fromList.get(i).getEmergency());
+            assertSame(expected.get(i).getEmergency(), fromSnapshot.get(i).getEmergency());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ScoreCacheTest {
+
+    @Test
+    public void repeatLookups_hitAndMatchFreshScores() {
+        ScoreCache cache = new ScoreCache();
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Nairobi", "First Aid", "Driving");
+        List<EmergencyRequest> emergencies = EmergencyMatcherTest.randomEmergencies(new Random(4), 200);
+
+        for (int pass = 0; pass < 3; pass++) {
+            for (EmergencyRequest emergency : emergencies) {
+                assertEquals(EmergencyMatcher.calculateMatchScore(volunteer, emergency),
+                        cache.score(volunteer, emergency), 0.0);
+            }
+        }
+
+        assertEquals(200, cache.getMissCount());
+        assertEquals(400, cache.getHitCount());
+        assertEquals(2.0 / 3.0, cache.getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void cachedScores_ageWithTheClock() {
+        ScoreCache cache = new ScoreCache();
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Nairobi", "First Aid", "Driving");
+        List<EmergencyRequest> emergencies = EmergencyMatcherTest.randomEmergencies(new Random(20), 50);
+        long[] now = {EmergencyRequest.parseTimestamp("5/3/2025 0:0")};
+
+        try {
+            EmergencyMatcher.clock = () -> now[0];
+            for (int day = 0; day < 5; day++) {
+                for (EmergencyRequest emergency : emergencies) {
+                    assertEquals(EmergencyMatcher.calculateMatchScore(volunteer, emergency),
+                            cache.score(volunteer, emergency), 0.0);
+                }
+                now[0] += 24 * 3_600_000L;
+            }
+        } finally {
+            EmergencyMatcher.clock = System::currentTimeMillis;
+        }
+
+        // Only the first pass scored; later ones just re-aged the cached scores
+        assertEquals(50, cache.getMissCount());
+        assertEquals(200, cache.getHitCount());
+    }
+
+    @Test
+    public void versionBumps_rescoreOnlyWhatChanged() {
+        ScoreCache cache = new ScoreCache();
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Nairobi", "First Aid");
+        List<EmergencyRequest> emergencies = EmergencyMatcherTest.randomEmergencies(new Random(5), 20);
+        for (EmergencyRequest emergency : emergencies) {
+            cache.score(volunteer, emergency);
+        }
+        cache.resetStats();
+
+        EmergencyRequest edited = emergencies.get(3);
+        edited.setUrgency("critical");
+        edited.withVersion(edited.version() + 1);
+        for (EmergencyRequest emergency : emergencies) {
+            cache.score(volunteer, emergency);
+        }
+        assertEquals(1, cache.getMissCount());
+        assertEquals(EmergencyMatcher.calculateMatchScore(volunteer, edited),
+                cache.score(volunteer, edited), 0.0);
+
+        // A profile edit invalidates every score for that volunteer
+        volunteer.getSkills().add("Medical");
+        volunteer.withVersion(volunteer.version() + 1);
+        cache.resetStats();
+        for (EmergencyRequest emergency : emergencies) {
+            assertEquals(EmergencyMatcher.calculateMatchScore(volunteer, emergency),
+                    cache.score(volunteer, emergency), 0.0);
+        }
+        assertEquals(20, cache.getMissCount());
+        assertEquals(20, cache.size());
+    }
+
+    @Test
+    public void boundedSize_evictsLeastRecentlyUsed() {
+        ScoreCache cache = new ScoreCache(10);
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Nairobi", "First Aid");
+        List<EmergencyRequest> emergencies = EmergencyMatcherTest.randomEmergencies(new Random(6), 11);
+
+        for (int i = 0; i < 10; i++) {
+            cache.score(volunteer, emergencies.get(i));
+        }
+        cache.score(volunteer, emergencies.get(0)); // e0 is now most recent
+        cache.score(volunteer, emergencies.get(10)); // evicts e1
+        assertEquals(10, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+
+        cache.resetStats();
+        cache.score(volunteer, emergencies.get(0));
+        assertEquals(1, cache.getHitCount());
+        cache.score(volunteer, emergencies.get(1));
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void invalidateEmergency_dropsOnlyThatEmergency() {
+        ScoreCache cache = new ScoreCache();
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Nairobi", "First Aid");
+        List<EmergencyRequest> emergencies = EmergencyMatcherTest.randomEmergencies(new Random(7), 5);
+        for (EmergencyRequest emergency : emergencies) {
+            cache.score(volunteer, emergency);
+        }
+
+        cache.invalidateEmergency("e2");
+        assertEquals(4, cache.size());
+        cache.invalidateVolunteer(volunteer.getUserId());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void invalidateEmergency_tracksEvictedAndInvalidatedEntries() {
+        ScoreCache cache = new ScoreCache(12);
+        Volunteer first = EmergencyMatcherTest.volunteer("Nairobi", "First Aid");
+        first.setUserId("v1");
+        Volunteer second = EmergencyMatcherTest.volunteer("Mombasa", "Driving");
+        second.setUserId("v2");
+        List<EmergencyRequest> emergencies = EmergencyMatcherTest.randomEmergencies(new Random(8), 8);
+        for (EmergencyRequest emergency : emergencies) {
+            cache.score(first, emergency);
+            cache.score(second, emergency);
+        }
+        // The four oldest pairs, e0 and e1 for both volunteers, were evicted
+        assertEquals(4, cache.getEvictionCount());
+
+        cache.invalidateEmergency("e0");
+        assertEquals(12, cache.size());
+        cache.invalidateVolunteer("v1");
+        assertEquals(6, cache.size());
+        cache.invalidateEmergency("e5");
+        assertEquals(5, cache.size());
+
+        cache.score(first, emergencies.get(0));
+        cache.invalidateEmergency("e0");
+        assertEquals(5, cache.size());
+        cache.clear();
+        cache.score(second, emergencies.get(5));
+        cache.invalidateEmergency("e5");
+        assertEquals(0, cache.size());
+    }
+}
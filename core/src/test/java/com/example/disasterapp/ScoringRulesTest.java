@@ -0,0 +1,141 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ScoringRulesTest {
+
+    private static final String FIRE_ONLY = "{"
+            + "\"version\": 7,"
+            + "\"weights\": {\"skill\": 1, \"urgency\": 0, \"distance\": 0},"
+            + "\"urgency\": {\"scores\": {\"Critical\": 100}, \"default\": 10},"
+            + "\"skills\": {\"default\": 5, \"rules\": ["
+            + "  {\"types\": [\"fire\", \"wildfire\"], \"skills\": [\"fire\"], \"score\": 95},"
+            + "  {\"skills\": [\"driv\"], \"score\": 40}"
+            + "]}}";
+
+    @Test
+    public void defaults_matchBundledWeightsAndUrgency() {
+        ScoringRules rules = ScoringRules.defaults();
+        assertEquals((100.0 * 40 + 85.0 * 35 + 40.0 * 25 + 50.0 * 20 + 70.0 * 15) / 135,
+                rules.weightedScore(100.0, 85.0, 40.0, 50.0, 70.0), 1e-12);
+
+        assertEquals(100.0, rules.urgencyScore("CRITICAL"), 0.0);
+        assertEquals(85.0, rules.urgencyScore("high"), 0.0);
+        assertEquals(60.0, rules.urgencyScore("Moderate"), 0.0);
+        assertEquals(35.0, rules.urgencyScore("low"), 0.0);
+        assertEquals(50.0, rules.urgencyScore("unknown"), 0.0);
+        assertEquals(50.0, rules.urgencyScore(null), 0.0);
+    }
+
+    @Test
+    public void parsedRules_compileIntoEvaluator() {
+        ScoringRules rules = ScoringRules.parse(FIRE_ONLY);
+        SkillRelevanceTable table = rules.getSkillTable();
+
+        assertEquals(7, rules.getVersion());
+        assertEquals(95.0, table.score(table.skillCategory("Firefighting"), table.typeCategory("Wildfire")), 0.0);
+        assertEquals(40.0, table.score(table.skillCategory("Driving"), table.typeCategory("Wildfire")), 0.0);
+        assertEquals(40.0, table.score(table.skillCategory("Driving"), table.typeCategory("Flood")), 0.0);
+        assertEquals(5.0, table.score(table.skillCategory("Cooking"), table.typeCategory("Fire")), 0.0);
+        // "fire" and "wildfire" only ever appear together, so they share a group
+        assertEquals(2, table.getTypeCategoryCount());
+        assertEquals(100.0, rules.urgencyScore("critical"), 0.0);
+        // No availability or recency weight given, so neither counts
+        assertEquals(95.0, rules.weightedScore(95.0, 100.0, 0.0, 0.0, 0.0), 0.0);
+    }
+
+    @Test
+    public void cachedCategories_followEditsAndRuleSet() {
+        ScoringRules fireOnly = ScoringRules.parse(FIRE_ONLY);
+        ScoringRules defaults = ScoringRules.defaults();
+        Volunteer volunteer = new Volunteer("v1", "Volunteer", "v@example.com", "0700000000",
+                "Nairobi", 10, new ArrayList<>(Arrays.asList("Firefighting")), new ArrayList<>());
+        EmergencyRequest emergency = new EmergencyRequest("e1", "Wildfire", "Nairobi", "High",
+                "", "1", "5/3/2025 9:7", "");
+
+        assertEquals(95.0, EmergencyMatcher.calculateSkillScore(fireOnly, volunteer, emergency), 0.0);
+        // Another rule set resolves the same records again
+        assertEquals(100.0, EmergencyMatcher.calculateSkillScore(defaults, volunteer, emergency), 0.0);
+
+        emergency.setType("Flood");
+        assertEquals(5.0, EmergencyMatcher.calculateSkillScore(fireOnly, volunteer, emergency), 0.0);
+        volunteer.setSkills(new ArrayList<>(Arrays.asList("Driving")));
+        assertEquals(40.0, EmergencyMatcher.calculateSkillScore(fireOnly, volunteer, emergency), 0.0);
+        emergency.setType(null);
+        assertEquals(50.0, EmergencyMatcher.calculateSkillScore(fireOnly, volunteer, emergency), 0.0);
+    }
+
+    @Test
+    public void recency_halvesEachHalfLife() {
+        ScoringRules rules = ScoringRules.defaults();
+        long hour = 3_600_000L;
+        long then = EmergencyRequest.parseTimestamp("5/3/2025 9:7");
+
+        assertEquals(50.0, rules.recencyScore(0, then), 0.0);
+        assertEquals(100.0, rules.recencyScore(then, then - hour), 0.0);
+        assertEquals(100.0, rules.recencyScore(then, then), 0.0);
+        assertEquals(50.0, rules.recencyScore(then, then + 48 * hour), 1e-9);
+        assertEquals(25.0, rules.recencyScore(then, then + 96 * hour), 1e-9);
+
+        // Legacy records are read from dateTime once; a stored timestamp wins
+        EmergencyRequest emergency = new EmergencyRequest("e", "Fire", "Nairobi", "High", "", "2",
+                "5/3/2025 9:7", "");
+        assertEquals(then, emergency.timestampMillis());
+        assertEquals(then + 7 * 60_000L, EmergencyRequest.parseTimestamp("5/3/2025 9:14"));
+        emergency.setTimestamp(then + hour);
+        assertEquals(then + hour, emergency.timestampMillis());
+        assertEquals(0, EmergencyRequest.parseTimestamp("soon"));
+    }
+
+    @Test
+    public void install_swapsRulesForNewScoresOnly() {
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Nairobi", "Firefighting");
+        List<EmergencyRequest> emergencies = EmergencyMatcherTest.randomEmergencies(new Random(8), 50);
+        ScoreCache cache = new ScoreCache();
+        ScoringRules custom = ScoringRules.parse(FIRE_ONLY);
+
+        try {
+            double before = cache.score(volunteer, emergencies.get(0));
+            ScoringRules.install(custom);
+            for (EmergencyRequest emergency : emergencies) {
+                assertEquals(EmergencyMatcher.calculateMatchScore(custom, volunteer, emergency),
+                        cache.score(volunteer, emergency), 0.0);
+            }
+            assertEquals(0, cache.getHitCount());
+
+            ScoringRules.install(null);
+            assertSame(ScoringRules.defaults(), ScoringRules.active());
+            assertEquals(before, cache.score(volunteer, emergencies.get(0)), 0.0);
+        } finally {
+            ScoringRules.install(null);
+        }
+    }
+
+    @Test
+    public void malformedRules_areRejected() {
+        String[] bad = {
+                "",
+                "[]",
+                "{\"weights\": {\"skill\": 1}}",
+                FIRE_ONLY.replace("\"score\": 95", "\"score\": 150"),
+                FIRE_ONLY.replace("\"skills\": [\"driv\"]", "\"skills\": []"),
+                FIRE_ONLY.replace("\"skill\": 1", "\"skill\": -1"),
+                FIRE_ONLY + "}"
+        };
+        for (String json : bad) {
+            try {
+                ScoringRules.parse(json);
+                fail("Accepted: " + json);
+            } catch (IllegalArgumentException expected) {
+                // rejected as it should be
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the table compiled from the bundled default rules scores every
+ * pair exactly like the original hard-coded contains() rules below.
+ */
+public class SkillRelevanceTableTest {
+
+    private static final String[] TYPES = {
+            "Fire", "Flood", "Earthquake", "Medical", "Rescue", "", "Other",
+            "Water Rescue", "Building Collapse", "Missing Person", "Food Shortage",
+            "Health Emergency", "Road Accident", "Displaced Families", "Shelter",
+            "Forest FIRE", "Flood and medical injury", "Search and rescue"
+    };
+
+    private static final String[] SKILLS = {
+            "First Aid", "Medical", "Nurse", "Doctor", "CPR", "Firefighting", "Fire Safety",
+            "Swimming", "Boat Operation", "Search & Rescue", "Construction", "Engineer",
+            "Logistics", "Distribution", "Coordination", "Communication", "Emergency Response",
+            "Community Outreach", "Volunteer", "Cooking", "", "Health worker", "Water Safety",
+            "Rescue diver", "Emergency medical technician", "Crisis communication and coordination"
+    };
+
+    private static final String[] FRAGMENTS = {
+            "medical", "health", "injury", "accident", "fire", "firefight", "flood", "water",
+            "search", "rescue", "missing", "earthquake", "building", "collapse", "food",
+            "shelter", "displaced", "first aid", "nurse", "doctor", "cpr", "emergency", "swim",
+            "boat", "construction", "engineer", "logistics", "distribution", "coordination",
+            "response", "communication", "volunteer", "community", "driver", "x"
+    };
+
+    private final SkillRelevanceTable table = ScoringRules.defaults().getSkillTable();
+
+    @Test
+    public void knownPairs_matchReferenceRules() {
+        for (String type : TYPES) {
+            int typeCategory = table.typeCategory(type);
+            for (String skill : SKILLS) {
+                assertParity(skill, type, typeCategory);
+            }
+        }
+    }
+
+    @Test
+    public void randomKeywordMixes_matchReferenceRules() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            String type = randomText(random);
+            String skill = randomText(random);
+            assertParity(skill, type, table.typeCategory(type));
+        }
+    }
+
+    @Test
+    public void sameSkillKeywords_shareCategory() {
+        assertEquals(table.skillCategory("Nurse"), table.skillCategory("Doctor"));
+        assertEquals(table.typeCategory("Flood"), table.typeCategory("water"));
+    }
+
+    private void assertParity(String skill, String type, int typeCategory) {
+        double expected = referenceScore(skill.toLowerCase(), type.toLowerCase());
+        double actual = table.score(table.skillCategory(skill), typeCategory);
+        assertEquals("skill=" + skill + " type=" + type, expected, actual, 0.0);
+    }
+
+    /**
+     * The skill relevance rules as they were hard-coded in EmergencyMatcher
+     */
+    static double referenceScore(String skill, String emergencyType) {
+        // Medical emergencies
+        if (emergencyType.contains("medical") || emergencyType.contains("health") ||
+                emergencyType.contains("injury") || emergencyType.contains("accident")) {
+            if (skill.contains("medical") || skill.contains("first aid") ||
+                    skill.contains("nurse") || skill.contains("doctor") ||
+                    skill.contains("health")) {
+                return 100.0;
+            }
+            if (skill.contains("cpr") || skill.contains("emergency")) {
+                return 90.0;
+            }
+        }
+
+        // Fire emergencies
+        if (emergencyType.contains("fire")) {
+            if (skill.contains("fire") || skill.contains("firefight")) {
+                return 100.0;
+            }
+            if (skill.contains("rescue") || skill.contains("emergency")) {
+                return 70.0;
+            }
+        }
+
+        // Flood emergencies
+        if (emergencyType.contains("flood") || emergencyType.contains("water")) {
+            if (skill.contains("water") || skill.contains("swim") ||
+                    skill.contains("rescue") || skill.contains("boat")) {
+                return 100.0;
+            }
+        }
+
+        // Search and rescue
+        if (emergencyType.contains("search") || emergencyType.contains("rescue") ||
+                emergencyType.contains("missing")) {
+            if (skill.contains("search") || skill.contains("rescue")) {
+                return 100.0;
+            }
+        }
+
+        // Earthquake/Building collapse
+        if (emergencyType.contains("earthquake") || emergencyType.contains("building") ||
+                emergencyType.contains("collapse")) {
+            if (skill.contains("rescue") || skill.contains("construction") ||
+                    skill.contains("engineer")) {
+                return 100.0;
+            }
+        }
+
+        // Food/Shelter assistance
+        if (emergencyType.contains("food") || emergencyType.contains("shelter") ||
+                emergencyType.contains("displaced")) {
+            if (skill.contains("logistics") || skill.contains("distribution") ||
+                    skill.contains("coordination")) {
+                return 90.0;
+            }
+        }
+
+        if (skill.contains("emergency") || skill.contains("response") ||
+                skill.contains("first aid")) {
+            return 70.0;
+        }
+        if (skill.contains("communication") || skill.contains("coordination")) {
+            return 60.0;
+        }
+        if (skill.contains("volunteer") || skill.contains("community")) {
+            return 50.0;
+        }
+        return 30.0;
+    }
+
+    private static String randomText(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int words = random.nextInt(4);
+        for (int i = 0; i < words; i++) {
+            String fragment = FRAGMENTS[random.nextInt(FRAGMENTS.length)];
+            builder.append(random.nextBoolean() ? fragment.toUpperCase() : fragment);
+            builder.append(random.nextInt(3) == 0 ? "" : " ");
+        }
+        return builder.toString();
+    }
+}
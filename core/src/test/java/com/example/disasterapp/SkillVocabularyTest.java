@@ -0,0 +1,97 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SkillVocabularyTest {
+
+    private final SkillVocabulary vocabulary = SkillVocabulary.get();
+
+    @Test
+    public void encode_mapsFreeTextOntoCanonicalSkills() {
+        SkillSet required = vocabulary.encode("First Aid, Construction, Medical, etc.");
+        assertEquals(3, required.size());
+        assertTrue(vocabulary.encode("").isEmpty());
+        assertTrue(vocabulary.encode("Juggling").isEmpty());
+
+        // Every signup button maps onto at least one canonical skill
+        for (String skill : new String[]{"Medical", "Search & Rescue", "Food Distribution",
+                "Shelter Management", "Transportation", "Communication", "Technical Support"}) {
+            assertFalse(skill, vocabulary.encode(skill).isEmpty());
+        }
+    }
+
+    @Test
+    public void encode_matchesWholeWordsOnly() {
+        int technical = id("Technical Support");
+        int shelter = id("Shelter Management");
+        int searchRescue = id("Search & Rescue");
+        int waterRescue = id("Water Rescue");
+
+        assertFalse(vocabulary.encode("flood victims in the district").contains(technical));
+        assertFalse(vocabulary.encode("conflict eviction").contains(technical));
+        assertTrue(vocabulary.encode("ICT, radio").contains(technical));
+        assertFalse(vocabulary.encode("awareness campaign").contains(shelter));
+        assertTrue(vocabulary.encode("camp management").contains(shelter));
+
+        SkillSet water = vocabulary.encode("Water Rescue");
+        assertTrue(water.contains(waterRescue));
+        assertFalse(water.contains(searchRescue));
+        // Prefix keywords still reach inflected words
+        assertTrue(vocabulary.encode("rescuers and divers").contains(searchRescue));
+        assertTrue(vocabulary.encode("rescuers and divers").contains(waterRescue));
+        assertEquals(1, vocabulary.encode("Driving").size());
+    }
+
+    @Test
+    public void coverage_isFractionOfRequiredSkills() {
+        SkillSet volunteer = vocabulary.encode(Arrays.asList("Medical", "Transportation"));
+        assertEquals(1.0, volunteer.coverageOf(vocabulary.encode("medical")), 0.0);
+        assertEquals(0.5, volunteer.coverageOf(vocabulary.encode("Medical, construction")), 0.0);
+        assertEquals(0.0, volunteer.coverageOf(vocabulary.encode("Cooking")), 0.0);
+        assertEquals(1.0, volunteer.coverageOf(SkillSet.EMPTY), 0.0);
+    }
+
+    @Test
+    public void skillScore_usesRequiredSkillsBeforeType() {
+        Volunteer medic = EmergencyMatcherTest.volunteer("Nairobi", "Medical");
+        EmergencyRequest fire = new EmergencyRequest("e1", "Fire", "Nairobi", "High", "", "2", "", "");
+        ScoringRules rules = ScoringRules.defaults();
+
+        // Type rules only: a medic is a weak fit for a fire
+        assertEquals(30.0, EmergencyMatcher.calculateSkillScore(rules, medic, fire), 0.0);
+
+        fire.setRequiredSkills("First aid, medical");
+        assertEquals(65.0, EmergencyMatcher.calculateSkillScore(rules, medic, fire), 0.0);
+        fire.setRequiredSkills("Medical");
+        assertEquals(100.0, EmergencyMatcher.calculateSkillScore(rules, medic, fire), 0.0);
+    }
+
+    @Test
+    public void largeVocabulary_spillsIntoOverflow() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            lines.add("skill" + i + "x | ");
+        }
+        SkillVocabulary large = SkillVocabulary.parse(lines);
+
+        SkillSet required = large.encode("skill3x skill65x skill69x");
+        assertEquals(3, required.size());
+        assertTrue(required.contains(65));
+        assertEquals(2.0 / 3.0, large.encode("skill65x skill3x").coverageOf(required), 1e-12);
+    }
+
+    private int id(String name) {
+        for (int i = 0; i < vocabulary.size(); i++) {
+            if (vocabulary.name(i).equals(name)) {
+                return i;
+            }
+        }
+        throw new AssertionError("No skill " + name);
+    }
+}
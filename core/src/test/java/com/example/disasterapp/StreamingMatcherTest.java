@@ -0,0 +1,101 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class StreamingMatcherTest {
+
+    private long now;
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final List<Long> delays = new ArrayList<>();
+    private final List<List<EmergencyMatcher.EmergencyMatch>> published = new ArrayList<>();
+    private boolean lastComplete;
+
+    private StreamingMatcher matcher(Volunteer volunteer, int k) {
+        return new StreamingMatcher(volunteer, 35.0, k, null,
+                (task, delay) -> {
+                    scheduled.add(task);
+                    delays.add(delay);
+                },
+                (top, complete) -> {
+                    published.add(top);
+                    lastComplete = complete;
+                },
+                16, () -> now);
+    }
+
+    @Test
+    public void firstMatch_isPublishedImmediately_thenRateLimited() {
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Nairobi", "First Aid", "Swimming");
+        List<EmergencyRequest> emergencies = EmergencyMatcherTest.randomEmergencies(new Random(17), 200);
+        StreamingMatcher matcher = matcher(volunteer, 10);
+
+        int offered = 0;
+        while (published.isEmpty()) {
+            matcher.offer(emergencies.get(offered++));
+        }
+        assertFalse(lastComplete);
+
+        // A burst within the same frame is coalesced into one deferred publish
+        for (int i = offered; i < emergencies.size(); i++) {
+            now++;
+            matcher.offer(emergencies.get(i));
+            if (now % 16 == 0 && !scheduled.isEmpty()) {
+                runScheduled();
+            }
+        }
+        assertTrue(published.size() <= 2 + emergencies.size() / 16);
+        for (long delay : delays) {
+            assertTrue(delay > 0 && delay <= 16);
+        }
+
+        runScheduled();
+        matcher.finish();
+        assertTrue(lastComplete);
+        List<EmergencyMatcher.EmergencyMatch> expected = EmergencyMatcher.topMatches(volunteer, emergencies, 10, 35.0);
+        List<EmergencyMatcher.EmergencyMatch> last = published.get(published.size() - 1);
+        assertEquals(expected.size(), last.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i).getEmergency(), last.get(i).getEmergency());
+        }
+    }
+
+    @Test
+    public void finish_publishesEvenWithoutMatches() {
+        StreamingMatcher matcher = matcher(EmergencyMatcherTest.volunteer("Nairobi", "Cooking"), 10);
+        matcher.finish();
+
+        assertEquals(1, published.size());
+        assertTrue(published.get(0).isEmpty());
+        assertTrue(lastComplete);
+    }
+
+    @Test
+    public void close_dropsPendingPublishes() {
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Nairobi", "First Aid");
+        List<EmergencyRequest> emergencies = EmergencyMatcherTest.randomEmergencies(new Random(18), 100);
+        StreamingMatcher matcher = matcher(volunteer, 50);
+
+        matcher.offerAll(emergencies.subList(0, 50));
+        assertEquals(1, matcher.getPublishCount());
+        matcher.offerAll(emergencies.subList(50, 100));
+        assertEquals(1, scheduled.size());
+
+        matcher.close();
+        runScheduled();
+        assertEquals(1, matcher.getPublishCount());
+    }
+
+    private void runScheduled() {
+        List<Runnable> tasks = new ArrayList<>(scheduled);
+        scheduled.clear();
+        for (Runnable task : tasks) {
+            task.run();
+        }
+    }
+}
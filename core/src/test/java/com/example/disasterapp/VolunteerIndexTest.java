@@ -0,0 +1,136 @@
+package com.example.disasterapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class VolunteerIndexTest {
+
+    private static final String[] SKILLS = {"First Aid", "Medical", "Swimming", "Construction",
+            "Search and Rescue", "Cooking", "Driving", "Counseling"};
+    private static final String[] REQUIRED_SKILLS = {"", "First Aid, Medical", "Swimming",
+            "Construction; search and rescue", "Cooking"};
+
+    @Test
+    public void topVolunteers_matchesFullScan() {
+        Random random = new Random(19);
+        List<Volunteer> volunteers = randomVolunteers(random, 3000);
+        VolunteerIndex index = VolunteerIndex.build(volunteers);
+        List<EmergencyRequest> emergencies = GeoGridIndexBenchmark.randomEmergencies(random, 200);
+
+        for (EmergencyRequest emergency : emergencies) {
+            emergency.setRequiredSkills(REQUIRED_SKILLS[random.nextInt(REQUIRED_SKILLS.length)]);
+
+            List<EmergencyMatcher.VolunteerMatch> expected = fullScan(volunteers, emergency, 20, 35.0);
+            List<EmergencyMatcher.VolunteerMatch> actual = EmergencyMatcher.topVolunteers(emergency, index, 20, 35.0);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertSame(expected.get(i).getVolunteer(), actual.get(i).getVolunteer());
+                assertEquals(expected.get(i).getScore(), actual.get(i).getScore(), 1e-9);
+            }
+            // A located emergency only has the volunteers around it scored
+            if (GeoUtils.hasCoordinates(emergency.getLatitude(), emergency.getLongitude())) {
+                assertTrue(index.candidatesFor(emergency).size() < volunteers.size() / 10);
+            }
+        }
+    }
+
+    @Test
+    public void requiredSkills_doNotNarrowTheCandidates() {
+        VolunteerIndex index = new VolunteerIndex();
+        Volunteer swimmer = located("a", 10, "Swimming");
+        Volunteer cook = located("b", 10, "Cooking");
+        index.put(swimmer);
+        index.put(cook);
+
+        // The cook covers none of the skills but can still score above the alert threshold
+        EmergencyRequest flood = emergencyAt(-1.29, 36.82, "Swimming, first aid");
+        flood.setUrgency("Critical");
+        assertEquals(Arrays.asList(swimmer, cook), index.candidatesFor(flood));
+        assertTrue(EmergencyMatcher.calculateMatchScore(cook, flood) >= 50.0);
+    }
+
+    @Test
+    public void put_replacesAndDropsUnavailable() {
+        VolunteerIndex index = new VolunteerIndex();
+        Volunteer volunteer = located("a", 5, "Swimming");
+        index.put(volunteer);
+        EmergencyRequest far = emergencyAt(-1.5, 36.82, "Swimming");
+        assertTrue(index.candidatesFor(far).isEmpty());
+
+        // Widening the radius takes effect on the next put
+        volunteer.setRadius(40);
+        index.put(volunteer);
+        assertEquals(1, index.size());
+        assertEquals(Arrays.asList(volunteer), index.candidatesFor(far));
+
+        volunteer.setAvailable(false);
+        index.put(volunteer);
+        assertEquals(0, index.size());
+        assertTrue(index.candidatesFor(far).isEmpty());
+        assertFalse(index.remove("a"));
+    }
+
+    /**
+     * Every available volunteer scored with calculateMatchScore; out-of-radius
+     * pairs are left out, as forward matching leaves them out
+     */
+    private static List<EmergencyMatcher.VolunteerMatch> fullScan(
+            List<Volunteer> volunteers, EmergencyRequest emergency, int n, double minScore) {
+        List<EmergencyMatcher.VolunteerMatch> matches = new ArrayList<>();
+        for (Volunteer volunteer : volunteers) {
+            if (!volunteer.isAvailable() || !RadiusFilter.of(volunteer).accepts(emergency)) {
+                continue;
+            }
+            double score = EmergencyMatcher.calculateMatchScore(volunteer, emergency);
+            if (score >= minScore) {
+                matches.add(new EmergencyMatcher.VolunteerMatch(volunteer, score));
+            }
+        }
+        // Stable, so ties keep input order like the index
+        matches.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+        return matches.subList(0, Math.min(n, matches.size()));
+    }
+
+    private static List<Volunteer> randomVolunteers(Random random, int count) {
+        List<Volunteer> volunteers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<String> skills = new ArrayList<>();
+            for (int s = random.nextInt(3); s >= 0; s--) {
+                skills.add(SKILLS[random.nextInt(SKILLS.length)]);
+            }
+            Volunteer volunteer = new Volunteer("v" + i, "Volunteer " + i, "", "", "Area " + random.nextInt(200),
+                    2 + random.nextInt(20), skills, new ArrayList<>());
+            // A few never shared a location, and a few are off duty
+            if (random.nextInt(50) != 0) {
+                volunteer.setLatitude(-2.2 + random.nextDouble() * 1.8);
+                volunteer.setLongitude(35.9 + random.nextDouble() * 1.8);
+            }
+            volunteer.setAvailable(random.nextInt(10) != 0);
+            volunteers.add(volunteer);
+        }
+        return volunteers;
+    }
+
+    private static Volunteer located(String userId, double radius, String... skills) {
+        Volunteer volunteer = EmergencyMatcherTest.volunteer("Nairobi", skills);
+        volunteer.setUserId(userId);
+        volunteer.setLatitude(-1.2864);
+        volunteer.setLongitude(36.8172);
+        volunteer.setRadius(radius);
+        return volunteer;
+    }
+
+    private static EmergencyRequest emergencyAt(double latitude, double longitude, String requiredSkills) {
+        EmergencyRequest emergency = new EmergencyRequest("e", "Flood", "Nairobi", "High",
+                "", "2", "5/3/2025 9:0", requiredSkills);
+        emergency.setLatitude(latitude);
+        emergency.setLongitude(longitude);
+        return emergency;
+    }
+}